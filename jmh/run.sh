@@ -0,0 +1,42 @@
+#!/bin/sh
+# Compiles the application and the JMH benchmarks with javac and runs them.
+#
+# The JMH jars are not part of the repository: put jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3 in jmh/lib
+# (or set JMH_LIB to the directory holding them). Any argument is passed to JMH, for example a benchmark name filter:
+#
+#   jmh/run.sh                           Run every benchmark.
+#   jmh/run.sh QueueJmhBenchmark -p size=10000
+#   jmh/run.sh compare <old.csv> <new.csv>
+#
+# The results of each run are written to jmh/results/<date>-<time>.csv, and the gc profiler adds the allocation rate of each benchmark.
+set -e
+
+JMH_DIR=$(cd "$(dirname "$0")" && pwd)
+ROOT_DIR=$(dirname "$JMH_DIR")
+JMH_LIB=${JMH_LIB:-$JMH_DIR/lib}
+OUT_DIR=$JMH_DIR/out
+RESULTS_DIR=$JMH_DIR/results
+
+if [ "$1" = "compare" ]; then
+    shift
+    if [ ! -f "$OUT_DIR/benchmark/JmhResultComparison.class" ]; then
+        mkdir -p "$OUT_DIR"
+        javac -d "$OUT_DIR" "$JMH_DIR/src/benchmark/JmhResultComparison.java"
+    fi
+    java -cp "$OUT_DIR" benchmark.JmhResultComparison "$@"
+    exit
+fi
+
+CLASSPATH=$(find "$JMH_LIB" -name '*.jar' | tr '\n' ':')
+if [ -z "$CLASSPATH" ]; then
+    echo "No JMH jar found in $JMH_LIB."
+    exit 1
+fi
+
+# The JMH annotation processor generates the benchmark harness while compiling.
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR" "$RESULTS_DIR"
+javac -encoding UTF-8 -cp "$CLASSPATH" -processorpath "$CLASSPATH" -d "$OUT_DIR" \
+    $(find "$ROOT_DIR/src" "$JMH_DIR/src" -name '*.java')
+
+java -cp "$OUT_DIR:$CLASSPATH" org.openjdk.jmh.Main -prof gc -rf csv -rff "$RESULTS_DIR/$(date +%Y%m%d-%H%M%S).csv" "$@"
@@ -0,0 +1,88 @@
+package benchmark;
+
+import datastructures.queue.PriorityQueue;
+import matching.GreedyAssignmentEngine;
+import model.Course;
+import model.Department;
+import model.Professor;
+import model.ProfessorSelection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the end-to-end assignment latency at several department sizes: building the priority queue of the professors
+ * and assigning the courses of each dequeued professor, as Main.assignCoursesToProfessors does, and the same with the batch order.
+ * The selections are in memory, so the score is the matching itself; see ParserJmhBenchmark for the cost of reading the files.
+ * <p>
+ * The department is generated once per trial. Before each invocation the number of groups of every course is restored and the
+ * assigned courses are cleared, which is linear and much cheaper than the assignment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AssignmentJmhBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int professors; // Number of professors (the department has half as many courses).
+
+    private Department department; // The generated department.
+    private HashMap<Integer, ProfessorSelection> selections; // Selection of each professor.
+    private Course[] courses; // The courses of the department.
+    private int[] initialGroups; // Number of groups of each course before the assignment.
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(this.professors);
+        this.department = AssignmentEngineBenchmark.generateDepartment(this.professors, this.professors / 2, random);
+        this.selections = AssignmentEngineBenchmark.generateSelections(this.department, random);
+
+        this.courses = this.department.getCourseMap().values().toArray(new Course[0]);
+        this.initialGroups = new int[this.courses.length];
+        for (int i = 0; i < this.courses.length; i++) {
+            this.initialGroups[i] = this.courses[i].getNumOfGroups();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        for (int i = 0; i < this.courses.length; i++) {
+            this.courses[i].setNumOfGroups(this.initialGroups[i]);
+        }
+        for (Professor professor : this.department.getListOfProfs()) {
+            professor.setListOfAffectedCourses(null);
+        }
+    }
+
+    @Benchmark
+    public Department priorityQueue() {
+        PriorityQueue<Professor> professorPriorityQueue = new PriorityQueue<>(this.department.getListOfProfs());
+        while (!professorPriorityQueue.isEmpty()) {
+            GreedyAssignmentEngine.assignCoursesToProfessor(professorPriorityQueue.dequeue(), this.department, this.selections::get);
+        }
+        return this.department;
+    }
+
+    @Benchmark
+    public Department batch() {
+        new GreedyAssignmentEngine().assignCourses(this.department.getListOfProfs(), this.department, this.selections::get);
+        return this.department;
+    }
+}
@@ -0,0 +1,127 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Compares two JMH result files written in CSV format (see jmh/run.sh) and prints, for each benchmark and parameters found in both,
+ * the old score, the new score and the change. The change is shown as an improvement (+) or a regression (-): a higher score is better
+ * for throughput, a lower score is better for times and for the secondary results of the profilers (such as the allocation rate).
+ * <p>
+ * Run with: {@code java -cp <classes> benchmark.JmhResultComparison <old.csv> <new.csv>}
+ */
+public class JmhResultComparison {
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length != 2) {
+            System.out.println("Usage: java benchmark.JmhResultComparison <old.csv> <new.csv>");
+            return;
+        }
+
+        LinkedHashMap<String, String[]> oldResults = readResults(Path.of(args[0]));
+        LinkedHashMap<String, String[]> newResults = readResults(Path.of(args[1]));
+
+        System.out.printf("%-80s %14s %14s %-12s %10s%n", "benchmark", "old", "new", "unit", "change");
+
+        oldResults.forEach((key, oldResult) -> {
+            String[] newResult = newResults.get(key);
+            if (newResult == null) {
+                return;
+            }
+
+            double oldScore = Double.parseDouble(oldResult[1]);
+            double newScore = Double.parseDouble(newResult[1]);
+            boolean higherIsBetter = oldResult[0].equals("thrpt") && !key.contains(":");
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            if (!higherIsBetter) {
+                change = -change;
+            }
+
+            System.out.printf("%-80s %14.3f %14.3f %-12s %+9.1f%%%n", key, oldScore, newScore, oldResult[2], change);
+        });
+    }
+
+    /**
+     * Reads a JMH result file in CSV format.
+     *
+     * @param path The path of the file.
+     * @return The mode, score and unit of each result, keyed by benchmark name and parameters.
+     * @throws IOException If the file cannot be read.
+     */
+    private static LinkedHashMap<String, String[]> readResults(Path path) throws IOException {
+
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        LinkedHashMap<String, String[]> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+
+        List<String> header = splitCsvLine(lines.get(0));
+        int benchmarkColumn = header.indexOf("Benchmark");
+        int modeColumn = header.indexOf("Mode");
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> fields = splitCsvLine(line);
+            if (fields.size() != header.size()) {
+                continue;
+            }
+
+            // The parameters columns are named "Param: name".
+            StringBuilder key = new StringBuilder(fields.get(benchmarkColumn));
+            for (int column = 0; column < header.size(); column++) {
+                if (header.get(column).startsWith("Param: ") && !fields.get(column).isEmpty()) {
+                    key.append(' ').append(header.get(column).substring("Param: ".length())).append('=').append(fields.get(column));
+                }
+            }
+
+            results.put(key.toString(), new String[]{fields.get(modeColumn), fields.get(scoreColumn), fields.get(unitColumn)});
+        }
+
+        return results;
+    }
+
+    /**
+     * Splits a line of a CSV file into its fields, removing the quotes around them.
+     *
+     * @param line The line to be split.
+     * @return The fields of the line.
+     */
+    private static List<String> splitCsvLine(String line) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (character == '"') {
+                // Two quotes inside a quoted field are one quote.
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                }
+                else {
+                    quoted = !quoted;
+                }
+            }
+            else if (character == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else {
+                field.append(character);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+}
@@ -0,0 +1,99 @@
+package benchmark;
+
+import io.MappedTextParser;
+import io.TextSelectionSource;
+import model.Course;
+import model.Professor;
+import model.ProfessorSelection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.DatasetGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the parsers of the text formats: Professors.txt, Courses.txt and the selection files.
+ * The files are generated in a temporary directory before the trial with the DatasetGenerator, in the formats of the Text_files directory.
+ * The score is the time to parse one whole file (one selection file for selectionFile); divide by the number of lines for a per-line cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserJmhBenchmark {
+
+    @Param({"1000", "100000"})
+    public int professors; // Number of professors (the department has half as many courses).
+
+    private Path directory; // Temporary directory holding the generated files.
+    private String professorsPath; // Path of the generated Professors.txt.
+    private String coursesPath; // Path of the generated Courses.txt.
+    private File[] selectionFiles; // Generated selection files.
+    private int[] selectionIds; // Professor ID of each selection file.
+    private int nextSelection; // Index of the next selection file to parse.
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+
+        this.directory = Files.createTempDirectory("pcap-jmh");
+        new DatasetGenerator(this.professors, this.professors / 2, 40, 1.0, this.professors).write(this.directory);
+        this.professorsPath = this.directory.resolve("Professors.txt").toString();
+        this.coursesPath = this.directory.resolve("Courses.txt").toString();
+
+        // A sample of the selection files is enough, they are parsed one at a time (a few professors have no file).
+        ArrayList<File> files = new ArrayList<>();
+        ArrayList<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < this.professors && files.size() < 1000; i++) {
+            File file = TextSelectionSource.getSelectionFile(this.directory.toString(), DatasetGenerator.professorId(i));
+            if (file.exists()) {
+                files.add(file);
+                ids.add(DatasetGenerator.professorId(i));
+            }
+        }
+        this.selectionFiles = files.toArray(new File[0]);
+        this.selectionIds = ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (File file : this.directory.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(this.directory);
+    }
+
+    @Benchmark
+    public ArrayList<Professor> professorsFile() throws Exception {
+        return MappedTextParser.parseProfessors(this.professorsPath);
+    }
+
+    @Benchmark
+    public ArrayList<Course> coursesFile() throws Exception {
+        return MappedTextParser.parseCourses(this.coursesPath);
+    }
+
+    @Benchmark
+    public ProfessorSelection selectionFile() {
+        int index = this.nextSelection;
+        this.nextSelection = (index + 1) % this.selectionFiles.length;
+        return TextSelectionSource.readSelectionFile(this.selectionFiles[index], this.selectionIds[index]);
+    }
+}
@@ -0,0 +1,95 @@
+package benchmark;
+
+import datastructures.queue.CircularQueueArray;
+import datastructures.queue.ConcurrentRingBuffer;
+import datastructures.queue.IndexedPriorityQueue;
+import datastructures.queue.PriorityQueue;
+import datastructures.queue.QueueLinkedList;
+import model.Professor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the queues holding professors. Each operation dequeues an element and enqueues it again, so the queue keeps the
+ * same size: for the FIFO queues the element goes to the rear, for the priority queues the top professor sifts up the whole heap again.
+ * Run with the gc profiler (see jmh/run.sh), it also reports the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueJmhBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size; // Number of professors in each queue.
+
+    private PriorityQueue<Professor> priorityQueue; // Heap-backed priority queue.
+    private IndexedPriorityQueue<Professor> indexedPriorityQueue; // Priority queue indexed by professor ID.
+    private QueueLinkedList<Professor> queueLinkedList; // FIFO queue on a linked list.
+    private CircularQueueArray<Professor> circularQueueArray; // FIFO queue on a circular array (never full, see setup).
+    private ConcurrentRingBuffer<Professor> ringBuffer; // Bounded lock-free FIFO queue.
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Professor> professors = PriorityQueueBuildBenchmark.generateProfessors(this.size, new Random(this.size));
+
+        this.priorityQueue = new PriorityQueue<>(professors);
+        this.indexedPriorityQueue = new IndexedPriorityQueue<>(professors, Professor::getId);
+        this.queueLinkedList = new QueueLinkedList<>(professors);
+        // The list constructor doubles the capacity, so enqueuing after a dequeue never resizes (nor prints "Queue is full.").
+        this.circularQueueArray = new CircularQueueArray<>(professors);
+        this.ringBuffer = new ConcurrentRingBuffer<>(this.size);
+        professors.forEach(this.ringBuffer::offer);
+    }
+
+    @Benchmark
+    public Professor priorityQueue() {
+        Professor professor = this.priorityQueue.dequeue();
+        this.priorityQueue.enqueue(professor);
+        return professor;
+    }
+
+    @Benchmark
+    public Professor indexedPriorityQueue() {
+        Professor professor = this.indexedPriorityQueue.dequeue();
+        this.indexedPriorityQueue.enqueue(professor);
+        return professor;
+    }
+
+    @Benchmark
+    public Professor queueLinkedList() {
+        Professor professor = this.queueLinkedList.dequeue();
+        this.queueLinkedList.enqueue(professor);
+        return professor;
+    }
+
+    @Benchmark
+    public Professor circularQueueArray() {
+        Professor professor = this.circularQueueArray.dequeue();
+        this.circularQueueArray.enqueue(professor);
+        return professor;
+    }
+
+    @Benchmark
+    public Professor ringBuffer() {
+        Professor professor = this.ringBuffer.poll();
+        this.ringBuffer.offer(professor);
+        return professor;
+    }
+}
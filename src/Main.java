@@ -1,151 +1,403 @@
 // Importing user defined classes.
+import app.WatchModeDaemon;
+import io.AssignmentReportWriter;
+import io.BinarySelectionFile;
+import io.DepartmentSnapshotFile;
+import io.MappedTextParser;
+import io.MeasuredSelectionSource;
+import io.PrefetchedSelectionSource;
+import io.SelectionSource;
+import io.TextSelectionSource;
+import matching.AssignmentEngine;
+import matching.GreedyAssignmentEngine;
+import matching.MinCostFlowAssignmentEngine;
+import matching.ParallelComponentAssignmentEngine;
+import matching.SpeculativeAssignmentEngine;
+import metrics.Phase;
+import metrics.PipelineMetrics;
 import model.Course;
 import model.Department;
 import model.Professor;
+import model.ProfessorSelection;
 import datastructures.queue.PriorityQueue;
 
 // Importing necessary packages and classes.
 import java.util.ArrayList;
-import java.util.Scanner;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
 import java.io.File;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class Main {
 
+    /**
+     * Command line option to order the professors once with a radix sort instead of using the priority queue.
+     */
+    private static final String BATCH_OPTION = "--batch";
+
+    /**
+     * Command line option to load the department from its binary snapshot when it is up to date, and to write the snapshot otherwise.
+     */
+    private static final String SNAPSHOT_OPTION = "--snapshot";
+
+    /**
+     * Command line option to assign the courses with the min-cost flow engine instead of the greedy algorithm.
+     */
+    private static final String MIN_COST_FLOW_OPTION = "--min-cost-flow";
+
+    /**
+     * Command line option to run the greedy algorithm in parallel on the independent discipline components of the department.
+     */
+    private static final String PARALLEL_OPTION = "--parallel";
+
+    /**
+     * Command line option to run the greedy algorithm with several threads that process the professors speculatively.
+     */
+    private static final String SPECULATIVE_OPTION = "--speculative";
+
+    /**
+     * Command line option to keep running and recompute the assignment each time the text files change.
+     */
+    private static final String WATCH_OPTION = "--watch";
+
+    /**
+     * Quiet delay, in milliseconds, before the changes collected in watch mode are processed.
+     */
+    private static final long WATCH_DEBOUNCE_MILLIS = 300;
+
+    /**
+     * Command line option to collect the pipeline metrics (phase latencies and counters) and write them in JSON at the end of the run.
+     */
+    private static final String METRICS_OPTION = "--metrics";
+
+    /**
+     * File the pipeline metrics are written to.
+     */
+    private static final String METRICS_FILE = "./metrics.json";
+
+    /**
+     * Command line option to stream the assignment to a CSV report instead of printing every professor.
+     */
+    private static final String REPORT_CSV_OPTION = "--report-csv";
+
+    /**
+     * Command line option to stream the assignment to a JSON lines report instead of printing every professor.
+     */
+    private static final String REPORT_JSON_OPTION = "--report-json";
+
+    /**
+     * File the CSV report is written to.
+     */
+    private static final String REPORT_CSV_FILE = "./assignments.csv";
+
+    /**
+     * File the JSON lines report is written to.
+     */
+    private static final String REPORT_JSON_FILE = "./assignments.jsonl";
+
+    /**
+     * Directory containing the input text files.
+     */
+    private static final String TEXT_FILES_DIRECTORY = "./Text_files";
+
     public static void main(String[] args) {
 
+        // The source of the selections, closed at the end (it may hold the consolidated selections file open).
+        SelectionSource loadedSelectionSource = null;
+
         try {
 
+            // In batch mode every professor is processed exactly once, so the priority queue is not needed.
+            boolean batchMode = Arrays.asList(args).contains(BATCH_OPTION);
+            boolean snapshotMode = Arrays.asList(args).contains(SNAPSHOT_OPTION);
+            boolean minCostFlowMode = Arrays.asList(args).contains(MIN_COST_FLOW_OPTION);
+            boolean parallelMode = Arrays.asList(args).contains(PARALLEL_OPTION);
+            boolean speculativeMode = Arrays.asList(args).contains(SPECULATIVE_OPTION);
+            boolean metricsMode = Arrays.asList(args).contains(METRICS_OPTION);
+
+            // With a report, the department and the professors are streamed to the report file instead of being printed with toString.
+            AssignmentReportWriter.Format reportFormat = null;
+            if (Arrays.asList(args).contains(REPORT_CSV_OPTION)) {
+                reportFormat = AssignmentReportWriter.Format.CSV;
+            }
+            else if (Arrays.asList(args).contains(REPORT_JSON_OPTION)) {
+                reportFormat = AssignmentReportWriter.Format.JSON_LINES;
+            }
+
+            // The metrics cost nothing measurable unless they are enabled.
+            PipelineMetrics.setEnabled(metricsMode);
+
             System.out.println("\nJava Project.");
-            ArrayList<Professor> professorArrayList = extractProfessors();
 
-            System.out.println("Priority Queue for Professor.");
-            PriorityQueue<Professor> profProcessingQueue = new PriorityQueue<>(professorArrayList);
+            // In watch mode the department stays in memory and the assignment is recomputed after each change of the text files.
+            if (Arrays.asList(args).contains(WATCH_OPTION)) {
+
+                // The daemon always uses the incremental greedy algorithm and the text files, the other modes would be silently ignored.
+                for (String option : new String[]{BATCH_OPTION, SNAPSHOT_OPTION, MIN_COST_FLOW_OPTION, PARALLEL_OPTION, SPECULATIVE_OPTION}) {
+                    if (Arrays.asList(args).contains(option)) {
+                        System.out.println(WATCH_OPTION + " cannot be combined with " + option + ".");
+                        throw new RuntimeException(WATCH_OPTION + " cannot be combined with " + option + ".");
+                    }
+                }
+
+                String reportFile = reportFormat == AssignmentReportWriter.Format.CSV ? REPORT_CSV_FILE : REPORT_JSON_FILE;
+                new WatchModeDaemon(TEXT_FILES_DIRECTORY, WATCH_DEBOUNCE_MILLIS, reportFormat, reportFormat == null ? null : reportFile).run();
+                return;
+            }
+
+            // In snapshot mode, load the department and the selections from the snapshot if it is up to date with the text files.
+            // The text files are fingerprinted before they are read, in case a new snapshot must be written from them.
+            Map<String, long[]> snapshotSources = snapshotMode ? DepartmentSnapshotFile.fingerprintSources(TEXT_FILES_DIRECTORY) : null;
+            DepartmentSnapshotFile snapshot = snapshotMode ? loadDepartmentSnapshot() : null;
+
+            ArrayList<Professor> professorArrayList = snapshot != null ? snapshot.getDepartment().getListOfProfs() : extractProfessors();
 
-            profProcessingQueue.displayAllElement(); // Test Code.
+            // Open the consolidated selections file, or start reading all the selection files in the background.
+            loadedSelectionSource = snapshot != null ? snapshot : openSelectionSource(professorArrayList);
+
+            // The selections read for the matching are measured (the ones read to write the snapshot are not).
+            SelectionSource selectionSource = MeasuredSelectionSource.measure(loadedSelectionSource);
+
+            // Only the default engine processes the professors through the priority queue, the other engines take the list.
+            PriorityQueue<Professor> profProcessingQueue = null;
+            if (!batchMode && !minCostFlowMode && !parallelMode && !speculativeMode) {
+                System.out.println("Priority Queue for Professor.");
+                long queueBuildStart = PipelineMetrics.start();
+                profProcessingQueue = new PriorityQueue<>(professorArrayList);
+                PipelineMetrics.stop(Phase.QUEUE_BUILD, queueBuildStart);
+
+                // With a report, only the size of the queue is printed.
+                if (reportFormat == null) {
+                    profProcessingQueue.displayAllElement(); // Test Code.
+                }
+                else {
+                    System.out.println("Professors in the queue = " + profProcessingQueue.getSize());
+                }
+            }
 
             System.out.println("\n\nCS Department.");
-            Department csDepartment = new Department(professorArrayList);
+            Department csDepartment;
+            if (snapshot != null) {
+                csDepartment = snapshot.getDepartment();
+            }
+            else {
+                csDepartment = new Department(professorArrayList);
 
-            extractCourses(csDepartment);
+                extractCourses(csDepartment);
 
-            System.out.println(csDepartment);
+                // Save the freshly loaded department, before any course is assigned, so the next launch can skip the text files.
+                if (snapshotMode) {
+                    saveDepartmentSnapshot(csDepartment, loadedSelectionSource, snapshotSources);
+                }
+            }
+
+            if (reportFormat == null) {
+                System.out.println(csDepartment);
 
-            System.out.println("\nCS Department Courses: ");
-            for (String i : csDepartment.getCourseMap().keySet()) {
-                System.out.print("Course ID = " + i + "; Course = " + csDepartment.getCourseMap().get(i));
+                System.out.println("\nCS Department Courses: ");
+                for (String i : csDepartment.getCourseMap().keySet()) {
+                    System.out.print("Course ID = " + i + "; Course = " + csDepartment.getCourseMap().get(i));
+                }
+                System.out.println();
+            }
+            else {
+                System.out.println("Professors = " + csDepartment.getListOfProfs().size() + "; Courses = " + csDepartment.getCourseCatalog().getSize());
             }
-            System.out.println();
 
-            assignCoursesToProfessors(profProcessingQueue, csDepartment);
+            if (minCostFlowMode) {
+                // The min-cost flow engine looks at all the selections together, so the processing order does not matter.
+                AssignmentEngine assignmentEngine = new MinCostFlowAssignmentEngine();
+                assignmentEngine.assignCourses(professorArrayList, csDepartment, selectionSource);
+            }
+            else if (parallelMode) {
+                // Same result as the greedy algorithm, the independent components run at the same time.
+                AssignmentEngine assignmentEngine = new ParallelComponentAssignmentEngine();
+                assignmentEngine.assignCourses(professorArrayList, csDepartment, selectionSource);
+            }
+            else if (speculativeMode) {
+                // Same result as the greedy algorithm, the professors are committed in priority order.
+                AssignmentEngine assignmentEngine = new SpeculativeAssignmentEngine();
+                assignmentEngine.assignCourses(professorArrayList, csDepartment, selectionSource);
+            }
+            else if (batchMode) {
+                assignCoursesToProfessorsInBatch(professorArrayList, csDepartment, selectionSource);
+            }
+            else {
+                assignCoursesToProfessors(profProcessingQueue, csDepartment, selectionSource);
+            }
 
             System.out.println();
 
-            professorArrayList.forEach(professor -> {
-                System.out.println(professor.toString());
-                System.out.println();
-            });
+            long reportStart = PipelineMetrics.start();
+            if (reportFormat == null) {
+                professorArrayList.forEach(professor -> {
+                    System.out.println(professor.toString());
+                    System.out.println();
+                });
+            }
+            else {
+                String reportFile = reportFormat == AssignmentReportWriter.Format.CSV ? REPORT_CSV_FILE : REPORT_JSON_FILE;
+                writeAssignmentReport(professorArrayList, reportFormat, reportFile);
+            }
+            PipelineMetrics.stop(Phase.REPORT_OUTPUT, reportStart);
+
+            if (metricsMode) {
+                PipelineMetrics.writeJson(Path.of(METRICS_FILE));
+                System.out.println("Pipeline metrics written to " + METRICS_FILE);
+            }
 
         }
         catch (Exception exception) {
             System.out.println("Error = " + exception.getMessage());
             System.out.println("Error track = " + Arrays.toString(exception.getStackTrace()));
         }
+        finally {
+            closeSelectionSource(loadedSelectionSource);
+        }
     }
 
     /**
      * Extracts the list of professors and their information from a text file and returns an ArrayList of Professor objects.
+     * The file is parsed through a memory-mapped buffer (see MappedTextParser).
      *
      * @return An ArrayList containing the extracted professor objects.
      * @throws RuntimeException If there is an error while reading the file or parsing the professor data.
      */
     public static ArrayList<Professor> extractProfessors() {
 
-        // Initialize an ArrayList to store Professor objects extracted from the text file.
-        ArrayList<Professor> professorArrayList = new ArrayList<>();
-
-        // Open the Professors.txt file for reading using a Scanner (try-with-resources ensures the Scanner is closed after use).
-        try (Scanner professorScanner = new Scanner(new File("./Text_files/Professors.txt"))) {
-
-            String[] professorDetailArray; // Declare an array to store the details of each professor.
-            Professor professor; // Declare a variable(reference) to hold each Professor object.
-
-            // Loop through each line in the Professors.txt file.
-            while (professorScanner.hasNextLine()) {
-
-                // Split the current line into an array of strings using ":" as the delimiter.
-                professorDetailArray = professorScanner.nextLine().split(":");
-
-                // Check if the array contains all required fields for a professor.
-                if (professorDetailArray.length == 5) {
-
-                    // Create a new Professor object using the parsed details from the professorDetailArray array.
-                    // Parse and set the professor's ID. Set the professor's name. Parse and set the professor's seniority level. Parse and set the hiring date in the format dd-MM-yyyy. Create a HashSet of disciplines the professor is qualified to teach by splitting the string into an array of strings using "," as the delimiter and converting that array into a HashSet using Arrays.asList() method.
-                    professor = new Professor(Integer.parseInt(professorDetailArray[0].trim()), professorDetailArray[1].trim(), Double.parseDouble(professorDetailArray[2].trim()), LocalDate.parse(professorDetailArray[3].trim(), DateTimeFormatter.ofPattern("d-M-yyyy")), new HashSet<>(Arrays.asList(professorDetailArray[4].trim().split(","))));
-
-                    // Add the created Professor object to the professorArrayList ArrayList.
-                    professorArrayList.add(professor);
-                }
-
-                else {
-                    // Print a message indicating an invalid line format if the array does not contain all required fields.
-                    System.out.println("Invalid line format: " + Arrays.toString(professorDetailArray));
-                }
-            }
-
-            // Scanner is automatically closed due to try-with-resources.
+        try {
+            // Parse each line of the Professors.txt file into a Professor object.
+            return MappedTextParser.parseProfessors(TEXT_FILES_DIRECTORY + "/Professors.txt");
 
         } catch (Exception exception) {
             // If an error occurs during file processing, throw a RuntimeException with the error message.
             throw new RuntimeException(exception.getMessage());
-            // throw new RuntimeException("Error = " + error.getMessage());
         }
-
-        // Return the ArrayList containing extracted Professor objects.
-        return professorArrayList;
     }
 
     /**
      * Extracts the list of courses from a file and populates the course map of the specified department.
+     * The file is parsed through a memory-mapped buffer (see MappedTextParser).
      *
      * @param department The department object where the extracted courses will be added.
      * @throws RuntimeException If there is an error while reading the file or parsing the course data.
      */
     public static void extractCourses(Department department) {
 
-        // Open the Courses.txt file for reading using a Scanner (try-with-resources ensures the Scanner is closed after use).
-        try(Scanner courseScanner = new Scanner(new File("./Text_files/Courses.txt")))  {
+        try {
+            // Parse each line of the Courses.txt file and add the course to the department course map with key as CourseId and value as the course object.
+            for (Course course : MappedTextParser.parseCourses(TEXT_FILES_DIRECTORY + "/Courses.txt")) {
+                department.addCourse(course);
+            }
+
+        } catch (Exception exception) {
+            // Catch any exceptions that occur during the process.
+            // If an exception occurs throw a RuntimeException.
+            throw new RuntimeException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Opens the source of the professors' selections.
+     * If the consolidated selections file is up to date with the selection text files, the selections are read from it (one open instead of one per professor).
+     * Otherwise, all the selection text files are read in the background, so they are in memory when the matching starts.
+     *
+     * @param professors The professors whose selections are needed.
+     * @return The source of the selections (to be closed with closeSelectionSource).
+     * @throws IOException If the consolidated selections file cannot be read.
+     */
+    public static SelectionSource openSelectionSource(List<Professor> professors) throws IOException {
 
-            String[] courseDetailArray; // Declare an array to store the details of each course.
-            Course course; // Declare a variable(reference) to hold each Course object.
+        String consolidatedFile = TEXT_FILES_DIRECTORY + "/" + BinarySelectionFile.DEFAULT_FILE_NAME;
+        BinarySelectionFile binarySelectionFile = BinarySelectionFile.openIfUpToDate(consolidatedFile, TEXT_FILES_DIRECTORY);
+        if (binarySelectionFile != null) {
+            return binarySelectionFile;
+        }
 
-            // Loop through each line in the Courses.txt file.
-            while (courseScanner.hasNextLine()) {
+        // A consolidated selections file older than the selection text files is ignored, so the edited selections are used.
+        if (new File(consolidatedFile).exists()) {
+            System.out.println("Consolidated selections file is stale, the selection text files are read instead.");
+        }
 
-                // Split the current line into an array of strings using ":" as the delimiter.
-                courseDetailArray = courseScanner.nextLine().split(":");
+        return new PrefetchedSelectionSource(TEXT_FILES_DIRECTORY, professors);
+    }
 
-                // Check if the array contains all required fields for a course.
-                if (courseDetailArray.length == 5) {
+    /**
+     * Closes a source of selections if it holds a resource (the consolidated selections file).
+     * A failure to close is only reported, the assignment is already done.
+     *
+     * @param selectionSource The source of the selections, or null if none was opened.
+     */
+    public static void closeSelectionSource(SelectionSource selectionSource) {
+
+        if (selectionSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) selectionSource).close();
+            } catch (Exception exception) {
+                System.out.println("Selections not closed: " + exception.getMessage());
+            }
+        }
+    }
 
-                    // Create a new Courses object using the parsed details from the courseDetailArray array.
-                    course = new Course(courseDetailArray[0].trim(), courseDetailArray[1].trim(), courseDetailArray[2].trim(), Integer.parseInt(courseDetailArray[3].trim()), Integer.parseInt(courseDetailArray[4].trim()));
+    /**
+     * Loads the department snapshot from the text files directory.
+     *
+     * @return The loaded snapshot, or null if it does not exist, is stale or cannot be read (the text files are used instead).
+     */
+    public static DepartmentSnapshotFile loadDepartmentSnapshot() {
 
-                    // Add the created course object to the department course map with key as CourseId and value as created course object.
-                    department.getCourseMap().put(course.getId(), course);
-                }
-                else {
-                    System.out.println("Invalid line format: " + Arrays.toString(courseDetailArray));
+        try {
+            return DepartmentSnapshotFile.load(TEXT_FILES_DIRECTORY + "/" + DepartmentSnapshotFile.DEFAULT_FILE_NAME, TEXT_FILES_DIRECTORY);
+        } catch (Exception exception) {
+            // A damaged snapshot is ignored, it is rewritten from the text files.
+            System.out.println("Snapshot not loaded: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Saves a snapshot of a freshly loaded department and of the selections of its professors into the text files directory.
+     * If a selection cannot be read, no snapshot is written (the error is reported again during the matching).
+     *
+     * @param department      The loaded department, before any course is assigned.
+     * @param selectionSource The source providing the selection of each professor.
+     * @param sources         The fingerprints of the text files, taken before the department and the selections were read from them.
+     */
+    public static void saveDepartmentSnapshot(Department department, SelectionSource selectionSource, Map<String, long[]> sources) {
+
+        try {
+            ArrayList<ProfessorSelection> selections = new ArrayList<>();
+            for (Professor professor : department.getListOfProfs()) {
+                ProfessorSelection selection = selectionSource.getSelection(professor.getId());
+                if (selection != null) {
+                    selections.add(selection);
                 }
             }
 
-            // Scanner is automatically closed due to try-with-resources.
+            DepartmentSnapshotFile.write(department, selections, sources, TEXT_FILES_DIRECTORY + "/" + DepartmentSnapshotFile.DEFAULT_FILE_NAME);
+
+        } catch (Exception exception) {
+            System.out.println("Snapshot not written: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Streams the assignment of every professor to a report file (see AssignmentReportWriter).
+     *
+     * @param professors The professors, after the matching.
+     * @param format     The format of the report.
+     * @param reportFile The path of the report file.
+     * @throws RuntimeException If the report cannot be written.
+     */
+    public static void writeAssignmentReport(List<Professor> professors, AssignmentReportWriter.Format format, String reportFile) {
+
+        try (AssignmentReportWriter reportWriter = AssignmentReportWriter.open(Path.of(reportFile), format)) {
+            reportWriter.writeProfessors(professors);
+            System.out.println("Assignment report written to " + reportFile + " (" + reportWriter.getRecordCount() + " records).");
 
         } catch (Exception exception) {
-            // Catch any exceptions that occur during the process.
             // If an exception occurs throw a RuntimeException.
             throw new RuntimeException(exception.getMessage());
         }
@@ -155,18 +407,31 @@ public class Main {
 
     /**
      * Assigns courses to professors based on courses availability and their priority, preferences, and availability.
+     * The selection file of each professor is read when the professor is dequeued.
      *
      * @param professorPriorityQueue The priority queue containing professors to be matched with courses.
      * @param department             The department containing courses and professors.
      * @throws RuntimeException If there is an error while matching courses to professors.
      */
     public static void assignCoursesToProfessors(PriorityQueue<Professor> professorPriorityQueue, Department department) {
+        assignCoursesToProfessors(professorPriorityQueue, department, new TextSelectionSource(TEXT_FILES_DIRECTORY));
+    }
+
+    /**
+     * Assigns courses to professors based on courses availability and their priority, preferences, and availability.
+     *
+     * @param professorPriorityQueue The priority queue containing professors to be matched with courses.
+     * @param department             The department containing courses and professors.
+     * @param selectionSource        The source providing the selection of each professor.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    public static void assignCoursesToProfessors(PriorityQueue<Professor> professorPriorityQueue, Department department, SelectionSource selectionSource) {
         while (!professorPriorityQueue.isEmpty()) {
 
             Professor professor = professorPriorityQueue.dequeue();
 
             try {
-                assignCoursesToProfessor(professor, department);
+                assignCoursesToProfessor(professor, department, selectionSource);
             } catch (Exception exception) {
                 // Catch any exceptions that occur during the process.
                 System.out.println("Error: " + exception.getMessage());
@@ -175,97 +440,41 @@ public class Main {
         }
     }
 
+    /**
+     * Assigns courses to professors in batch mode: the professors are ordered once by priority with a radix sort on their packed priority keys,
+     * and then processed in that order. The result is the same as assignCoursesToProfessors, without building a priority queue.
+     *
+     * @param professors      The professors to be matched with courses.
+     * @param department      The department containing courses and professors.
+     * @param selectionSource The source providing the selection of each professor.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    public static void assignCoursesToProfessorsInBatch(List<Professor> professors, Department department, SelectionSource selectionSource) {
+        new GreedyAssignmentEngine().assignCourses(professors, department, selectionSource);
+    }
+
     /**
      * Assigns courses to a specific professor based on courses availability and their preferences and availability.
+     * The selection file of the professor is read from the text files directory.
      *
      * @param professor  The professor object to be matched with courses.
      * @param department The department object containing the courses and professors.
      * @throws RuntimeException If there is an error while matching courses to the professor.
      */
     public static void assignCoursesToProfessor(Professor professor, Department department) {
+        assignCoursesToProfessor(professor, department, new TextSelectionSource(TEXT_FILES_DIRECTORY));
+    }
 
-        // Create a File object representing the professor's selection file.
-        File profFile = new File("./Text_files/" + professor.getId() + "_select.txt");
-        if (!profFile.exists()) {
-
-            // If the file does not exist, print a message and return.
-            System.out.println("Professor file not found for ID: " + professor.getId() + ". Name = " + professor.getName());
-            return;
-            // throw new RuntimeException("Professor file not found for ID: " + professor.getId());
-        }
-
-        // Use try-with-resources to automatically close the Scanner after use.
-        try (Scanner professorFileScanner = new Scanner(profFile)) {
-
-            // Initialize the list of affected courses for the professor.
-            professor.setListOfAffectedCourses(new ArrayList<>());
-
-            // Read and parse the maximum requested hours from the file.
-            int maxRequestedHours = Integer.parseInt(professorFileScanner.nextLine());
-
-            // Iterate through each remaining line in the file.
-            while (professorFileScanner.hasNextLine()) {
-
-                // Split the line by comma and parse it to get the course ID and requested number of groups for that course.
-                String[] selection = professorFileScanner.nextLine().split(",");
-
-                String courseId = selection[0].trim();
-                int requestedNumberOfGroups = Integer.parseInt(selection[1].trim());
-
-                // Limit the maximum number of hours to 30 if it exceeds.
-                if (maxRequestedHours >= 30) {
-                    maxRequestedHours = 30;
-                }
-
-                // Retrieve the course object from the department's course map using the course ID.
-                Course course = department.getCourseMap().get(courseId);
-
-                // Check if the course is not null, has available groups, and the professor is qualified to teach it.
-                if (course != null && course.getNumOfGroups() > 0 && professor.getSetOfDisciplines().contains(course.getDiscipline())) {
-
-                    // Calculate the number of hours per week for the course.
-                    int courseNumberOfHoursPerWeek = getWeeklyHours(course.getNumberOfHours());
-
-                    // Number of groups that professor can teach according to requestedNumberOfGroups and remaining number of hours. (maxRequestedHours).
-                    int groupsCanRequested = (int) Math.min(requestedNumberOfGroups, maxRequestedHours/ courseNumberOfHoursPerWeek);
-
-                    // Number of groups can assign on the based of the number of groups available in the department and number of groups professor can teach. (groupsCanRequested)
-                    int numberOfAssignedGroups = Math.min(course.getNumOfGroups(), groupsCanRequested);
-
-                    // If there are groups to assign, update the course and professor information.
-                    if (numberOfAssignedGroups > 0) {
-
-                        // Create a new Course object representing the assigned course using copy constructor.
-                        Course assignedCourse = new Course(course);
-
-                        // Setting the number of groups as numberOfAssignedGroups.
-                        assignedCourse.setNumOfGroups(numberOfAssignedGroups);
-
-                        // Add the assigned course to the list of affected courses for the professor.
-                        professor.getListOfAffectedCourses().add(assignedCourse);
-
-                        // Update the remaining requested hours for the professor.
-                        maxRequestedHours = maxRequestedHours - (numberOfAssignedGroups * courseNumberOfHoursPerWeek);
-
-                        // Update the number of available groups for the course in the department.
-                        course.setNumOfGroups(course.getNumOfGroups() - numberOfAssignedGroups);
-                    }
-                }
-            }
-
-            // If the professor has no affected courses, set the list to null.
-            if (professor.getListOfAffectedCourses().isEmpty()) {
-                professor.setListOfAffectedCourses(null);
-            }
-
-            // Scanner is automatically closed due to try-with-resources.
-
-        } catch (Exception exception) {
-            // Catch any exceptions that occur during the process.
-            // If an exception occurs throw a RuntimeException.
-            System.out.println("Error: " + exception.getMessage());
-            throw new RuntimeException(exception.getMessage());
-        }
+    /**
+     * Assigns courses to a specific professor based on courses availability and their preferences and availability.
+     *
+     * @param professor       The professor object to be matched with courses.
+     * @param department      The department object containing the courses and professors.
+     * @param selectionSource The source providing the selection of the professor.
+     * @throws RuntimeException If there is an error while matching courses to the professor.
+     */
+    public static void assignCoursesToProfessor(Professor professor, Department department, SelectionSource selectionSource) {
+        GreedyAssignmentEngine.assignCoursesToProfessor(professor, department, selectionSource);
     }
 
     /**
@@ -275,15 +484,7 @@ public class Main {
      * @return The number of hours per week for the given course.
      */
     public static int getWeeklyHours(int totalHours) {
-
-        // Using switch statement to determine the number of hours per week based on the total hours for the course.
-        return switch (totalHours) {
-            case 45 -> 3; // If total hours is 45, return 3 hours per week.
-            case 60 -> 4; // If total hours is 60, return 4 hours per week.
-            case 75 -> 5; // If total hours is 75, return 5 hours per week.
-            case 90 -> 6; // If total hours is 90, return 6 hours per week.
-            default -> 0; // For any other value, return 0.
-        };
+        return Course.getWeeklyHours(totalHours);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,352 @@
+package app;
+
+import io.AssignmentReportWriter;
+import io.BinarySelectionFile;
+import io.MappedTextParser;
+import io.MeasuredSelectionSource;
+import io.PrefetchedSelectionSource;
+import io.SelectionSource;
+import io.TextSelectionSource;
+import matching.IncrementalAssignment;
+import metrics.Phase;
+import metrics.PipelineMetrics;
+import model.Course;
+import model.Department;
+import model.Professor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WatchModeDaemon keeps the department in memory and recomputes the assignment each time the text files change,
+ * so editing a file does not require starting the JVM and parsing every file again.
+ * <p>
+ * The text files directory is watched with a WatchService. Bursts of edits are debounced: the changes are collected until no file has
+ * changed for the debounce delay, and then processed together.
+ * <ul>
+ *     <li>If Professors.txt or Courses.txt changed, everything is loaded and assigned again. The selections recorded by the previous
+ *     assignment are reused, only the changed selection files (and the ones of new professors) are read.</li>
+ *     <li>If only selection files changed, the assignment is updated incrementally from each changed professor (see IncrementalAssignment).</li>
+ * </ul>
+ * The daemon runs until its thread is interrupted. An error is printed and the next change reloads everything, reading every selection file.
+ * <p>
+ * When the pipeline metrics are enabled, they can be queried while the daemon runs by typing {@code metrics} on the standard input
+ * (the JSON document is printed), and cleared by typing {@code reset}.
+ */
+public class WatchModeDaemon {
+
+    private static final String PROFESSORS_FILE = "Professors.txt"; // Name of the professors file.
+    private static final String COURSES_FILE = "Courses.txt"; // Name of the courses file.
+    private static final String SELECTION_SUFFIX = "_select.txt"; // Suffix of the selection files.
+
+    private final String directory; // The text files directory.
+    private final long debounceMillis; // Quiet delay before processing the collected changes.
+    private final AssignmentReportWriter.Format reportFormat; // Format of the report written after each assignment, or null to print the professors.
+    private final String reportFile; // File the report is written to (only used with a report format).
+
+    private Department department; // The department kept in memory.
+    private IncrementalAssignment incrementalAssignment; // The assignment of the department, updated incrementally.
+    private SelectionSource currentSource; // Selections read in the background during a full load, then read from their files.
+
+    /**
+     * Constructs a daemon watching a text files directory.
+     *
+     * @param directory      The text files directory.
+     * @param debounceMillis The quiet delay, in milliseconds, before processing the collected changes.
+     */
+    public WatchModeDaemon(String directory, long debounceMillis) {
+        this(directory, debounceMillis, null, null);
+    }
+
+    /**
+     * Constructs a daemon watching a text files directory, which writes a report of the assignment instead of printing the professors.
+     *
+     * @param directory      The text files directory.
+     * @param debounceMillis The quiet delay, in milliseconds, before processing the collected changes.
+     * @param reportFormat   The format of the report, or null to print the professors.
+     * @param reportFile     The file the report is rewritten to after each assignment (only used with a report format).
+     * @throws NullPointerException If a report format is given without a report file.
+     */
+    public WatchModeDaemon(String directory, long debounceMillis, AssignmentReportWriter.Format reportFormat, String reportFile) {
+
+        if (reportFormat != null && reportFile == null) {
+            System.out.println("Report file cannot be null.");
+            throw new NullPointerException("Report file cannot be null.");
+        }
+
+        this.directory = directory;
+        this.debounceMillis = debounceMillis;
+        this.reportFormat = reportFormat;
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * Loads and assigns the department, then watches the directory and recomputes the assignment after each burst of changes.
+     *
+     * @throws IOException          If the directory cannot be watched.
+     * @throws InterruptedException If the thread is interrupted, which stops the daemon.
+     */
+    public void run() throws IOException, InterruptedException {
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+
+            Path directoryPath = new File(this.directory).toPath();
+            directoryPath.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+
+            // After an error or lost events, the recorded selections cannot be trusted and every file is read again.
+            boolean reloadFromFiles = !reloadAll(null);
+            System.out.println("Watching " + this.directory + " for changes.");
+
+            if (PipelineMetrics.isEnabled()) {
+                startMetricsConsole();
+            }
+
+            while (true) {
+
+                // Wait for the first change, then collect the following ones until the directory is quiet.
+                LinkedHashSet<String> changedFiles = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    reloadFromFiles |= collectChanges(key, changedFiles);
+                    key = watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS);
+                }
+
+                if (reloadFromFiles) {
+                    reloadFromFiles = !reloadAll(null);
+                }
+                else if (changedFiles.contains(PROFESSORS_FILE) || changedFiles.contains(COURSES_FILE)) {
+                    reloadFromFiles = !reloadAll(changedFiles);
+                }
+                else {
+                    reloadFromFiles = !updateSelections(changedFiles);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the names of the files changed in the events of a key, and resets the key.
+     *
+     * @param key          The key with pending events.
+     * @param changedFiles The names of the changed files.
+     * @return true if events were lost (everything must be loaded again), false otherwise.
+     */
+    private static boolean collectChanges(WatchKey key, LinkedHashSet<String> changedFiles) {
+
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            }
+            else {
+                changedFiles.add(event.context().toString());
+            }
+        }
+        key.reset();
+
+        return overflow;
+    }
+
+    /**
+     * Loads the professors, courses and selections and assigns every professor, then prints the result.
+     *
+     * @param changedFiles The names of the files changed since the current assignment, whose recorded selections are reused for the other
+     *                     professors; or null to read every selection.
+     * @return true if the department was loaded and assigned, false if an error occurred.
+     */
+    private boolean reloadAll(LinkedHashSet<String> changedFiles) {
+
+        try {
+            long start = System.nanoTime();
+
+            ArrayList<Professor> professors = MappedTextParser.parseProfessors(this.directory + "/" + PROFESSORS_FILE);
+            Department loadedDepartment = new Department(professors);
+            for (Course course : MappedTextParser.parseCourses(this.directory + "/" + COURSES_FILE)) {
+                loadedDepartment.addCourse(course);
+            }
+
+            // For the full run, reuse the selections of the current assignment for the professors whose selection file did not change.
+            // Without them, read the consolidated selections file if it is up to date, otherwise all the selection files in the background.
+            // The following updates read the changed selection files.
+            BinarySelectionFile binarySelectionFile = null;
+            if (changedFiles == null || this.incrementalAssignment == null) {
+                binarySelectionFile = BinarySelectionFile.openIfUpToDate(this.directory + "/" + BinarySelectionFile.DEFAULT_FILE_NAME, this.directory);
+            }
+            try {
+                if (binarySelectionFile == null && changedFiles != null && this.incrementalAssignment != null) {
+                    this.currentSource = recordedSelectionSource(this.incrementalAssignment, changedFiles);
+                }
+                else {
+                    this.currentSource = binarySelectionFile != null ? binarySelectionFile : new PrefetchedSelectionSource(this.directory, professors);
+                }
+                this.department = loadedDepartment;
+                this.incrementalAssignment = new IncrementalAssignment(professors, loadedDepartment,
+                        MeasuredSelectionSource.measure(professorId -> this.currentSource.getSelection(professorId)));
+                this.incrementalAssignment.assignAll();
+            } finally {
+                this.currentSource = new TextSelectionSource(this.directory);
+                if (binarySelectionFile != null) {
+                    binarySelectionFile.close();
+                }
+            }
+
+            printProfessors();
+            System.out.printf("Loaded and assigned %d professors and %d courses in %.1f ms.%n", professors.size(),
+                    loadedDepartment.getCourseCatalog().getSize(), (System.nanoTime() - start) / 1_000_000.0);
+            return true;
+
+        } catch (Exception exception) {
+            System.out.println("Error = " + exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Creates a source returning the selections recorded by an assignment, except for the professors whose selection file changed and the
+     * professors unknown to the assignment, whose selection file is read.
+     *
+     * @param assignment   The assignment whose selections are reused.
+     * @param changedFiles The names of the changed files.
+     * @return The source of the selections.
+     */
+    private SelectionSource recordedSelectionSource(IncrementalAssignment assignment, LinkedHashSet<String> changedFiles) {
+
+        HashSet<Integer> changedProfessorIds = new HashSet<>();
+        for (String fileName : changedFiles) {
+            int professorId = professorIdOf(fileName);
+            if (professorId >= 0) {
+                changedProfessorIds.add(professorId);
+            }
+        }
+
+        TextSelectionSource textSelectionSource = new TextSelectionSource(this.directory);
+        return professorId -> assignment.hasProfessor(professorId) && !changedProfessorIds.contains(professorId)
+                ? assignment.getSelection(professorId) : textSelectionSource.getSelection(professorId);
+    }
+
+    /**
+     * Retrieves the professor ID of a selection file name ({@code {professor_id}_select.txt}).
+     *
+     * @param fileName The name of the file.
+     * @return The professor ID, or -1 if the file is not the selection file of a professor.
+     */
+    private static int professorIdOf(String fileName) {
+
+        if (!fileName.endsWith(SELECTION_SUFFIX)) {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(fileName.substring(0, fileName.length() - SELECTION_SUFFIX.length()));
+        } catch (NumberFormatException exception) {
+            return -1; // Not the selection file of a professor.
+        }
+    }
+
+    /**
+     * Updates the assignment after selection files changed.
+     *
+     * @param changedFiles The names of the changed files.
+     * @return true if the assignment was updated, false if an error occurred.
+     */
+    private boolean updateSelections(LinkedHashSet<String> changedFiles) {
+
+        try {
+            long start = System.nanoTime();
+            int updated = 0;
+            int replayed = 0;
+
+            for (String fileName : changedFiles) {
+                int professorId = professorIdOf(fileName);
+                if (professorId < 0) {
+                    continue;
+                }
+
+                if (!this.incrementalAssignment.hasProfessor(professorId)) {
+                    System.out.println("Ignoring selection file of unknown professor: " + fileName);
+                    continue;
+                }
+
+                replayed += this.incrementalAssignment.update(professorId);
+                updated++;
+            }
+
+            if (updated > 0) {
+                printProfessors();
+                System.out.printf("Updated %d selection(s), %d professor(s) processed again in %.1f ms.%n", updated, replayed,
+                        (System.nanoTime() - start) / 1_000_000.0);
+            }
+            return true;
+
+        } catch (Exception exception) {
+            System.out.println("Error = " + exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Prints every professor with their assigned courses, as the main application does.
+     * With a report format, the report file is rewritten instead (see AssignmentReportWriter).
+     *
+     * @throws IOException If the report file cannot be written.
+     */
+    private void printProfessors() throws IOException {
+        long start = PipelineMetrics.start();
+        if (this.reportFormat == null) {
+            System.out.println();
+            this.department.getListOfProfs().forEach(professor -> {
+                System.out.println(professor.toString());
+                System.out.println();
+            });
+        }
+        else {
+            try (AssignmentReportWriter reportWriter = AssignmentReportWriter.open(Path.of(this.reportFile), this.reportFormat)) {
+                reportWriter.writeProfessors(this.department.getListOfProfs());
+                System.out.println("Assignment report written to " + this.reportFile + " (" + reportWriter.getRecordCount() + " records).");
+            }
+        }
+        PipelineMetrics.stop(Phase.REPORT_OUTPUT, start);
+    }
+
+    /**
+     * Starts a background thread reading commands on the standard input: {@code metrics} prints the pipeline metrics in JSON,
+     * {@code reset} clears them. The thread stops at the end of the standard input.
+     */
+    private static void startMetricsConsole() {
+
+        Thread console = new Thread(() -> {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                String command;
+                while ((command = reader.readLine()) != null) {
+                    if (command.trim().equals("metrics")) {
+                        System.out.print(PipelineMetrics.toJson());
+                    }
+                    else if (command.trim().equals("reset")) {
+                        PipelineMetrics.reset();
+                        System.out.println("Metrics cleared.");
+                    }
+                }
+            } catch (IOException exception) {
+                System.out.println("Error = " + exception.getMessage());
+            }
+        }, "metrics-console");
+
+        // The console does not keep the JVM running.
+        console.setDaemon(true);
+        console.start();
+    }
+}
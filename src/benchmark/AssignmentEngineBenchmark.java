@@ -0,0 +1,202 @@
+package benchmark;
+
+import io.SelectionSource;
+import matching.AssignmentEngine;
+import matching.GreedyAssignmentEngine;
+import matching.MinCostFlowAssignmentEngine;
+import matching.ParallelComponentAssignmentEngine;
+import matching.SpeculativeAssignmentEngine;
+import model.Assignment;
+import model.Course;
+import model.CourseSelection;
+import model.Department;
+import model.Professor;
+import model.ProfessorSelection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark comparing the assignment engines on a generated department, whose professors belong to independent faculties.
+ * For each engine it prints the running time, the number of groups assigned and the average rank of the assigned courses in the
+ * selections (0 is the first choice), and it checks that no professor exceeds their hours and no course exceeds its groups.
+ * The parallel and speculative engines must also produce exactly the same assignment as the greedy engine.
+ * <p>
+ * Run with: {@code java -cp <classes> benchmark.AssignmentEngineBenchmark [professors] [courses]}
+ */
+public class AssignmentEngineBenchmark {
+
+    private static final int FACULTY_COUNT = 8; // Number of faculties, a professor only has disciplines of one faculty.
+    private static final int DISCIPLINES_PER_FACULTY = 5; // Number of different disciplines of each faculty.
+    private static final int[] TOTAL_HOURS = {45, 60, 75, 90}; // Possible total numbers of hours of a course.
+    private static final long SEED = 42; // Seed of the generated department, so both engines get the same input.
+
+    public static void main(String[] args) {
+
+        int professorCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int courseCount = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+
+        System.out.printf("%-14s %-12s %-16s %-12s%n", "engine", "time(ms)", "assigned groups", "average rank");
+
+        List<String> greedyAssignment = run("greedy", new GreedyAssignmentEngine(), professorCount, courseCount);
+        List<String> parallelAssignment = run("parallel", new ParallelComponentAssignmentEngine(), professorCount, courseCount);
+        List<String> speculativeAssignment = run("speculative", new SpeculativeAssignmentEngine(), professorCount, courseCount);
+        run("min-cost flow", new MinCostFlowAssignmentEngine(), professorCount, courseCount);
+
+        if (!greedyAssignment.equals(parallelAssignment)) {
+            throw new RuntimeException("The parallel engine must produce the same assignment as the greedy engine.");
+        }
+        if (!greedyAssignment.equals(speculativeAssignment)) {
+            throw new RuntimeException("The speculative engine must produce the same assignment as the greedy engine.");
+        }
+    }
+
+    /**
+     * Generates a department, runs an engine on it and prints the results.
+     *
+     * @param name           The name of the engine.
+     * @param engine         The engine to be measured.
+     * @param professorCount The number of professors.
+     * @param courseCount    The number of courses.
+     * @return The description of every professor after the assignment.
+     */
+    private static List<String> run(String name, AssignmentEngine engine, int professorCount, int courseCount) {
+
+        Random random = new Random(SEED);
+        Department department = generateDepartment(professorCount, courseCount, random);
+        HashMap<Integer, ProfessorSelection> selections = generateSelections(department, random);
+        SelectionSource selectionSource = selections::get;
+
+        HashMap<String, Integer> initialGroups = new HashMap<>();
+        department.getCourseMap().values().forEach(course -> initialGroups.put(course.getId(), course.getNumOfGroups()));
+
+        long start = System.nanoTime();
+        engine.assignCourses(department.getListOfProfs(), department, selectionSource);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Check the constraints and compute the quality of the assignment.
+        long assignedGroups = 0;
+        long rankSum = 0;
+        HashMap<String, Integer> groupsPerCourse = new HashMap<>();
+        for (Professor professor : department.getListOfProfs()) {
+            if (professor.getListOfAffectedCourses() == null) {
+                continue;
+            }
+
+            List<CourseSelection> courseSelections = selections.get(professor.getId()).getCourseSelections();
+            int hours = 0;
+            for (Assignment assignment : professor.getListOfAffectedCourses()) {
+                if (!professor.isQualifiedFor(assignment.getCourse())) {
+                    throw new RuntimeException("Professor " + professor.getId() + " is not qualified for " + assignment.getCourseId() + ".");
+                }
+                hours += assignment.getNumOfGroups() * Course.getWeeklyHours(assignment.getCourse().getNumberOfHours());
+                groupsPerCourse.merge(assignment.getCourseId(), assignment.getNumOfGroups(), Integer::sum);
+                assignedGroups += assignment.getNumOfGroups();
+
+                for (int rank = 0; rank < courseSelections.size(); rank++) {
+                    if (courseSelections.get(rank).getCourseId().equals(assignment.getCourseId())) {
+                        rankSum += (long) rank * assignment.getNumOfGroups();
+                        break;
+                    }
+                }
+            }
+            if (hours > Math.min(MinCostFlowAssignmentEngine.MAX_HOURS, selections.get(professor.getId()).getMaxRequestedHours())) {
+                throw new RuntimeException("Professor " + professor.getId() + " has too many hours.");
+            }
+        }
+        groupsPerCourse.forEach((courseId, groups) -> {
+            if (groups + department.getCourseMap().get(courseId).getNumOfGroups() != initialGroups.get(courseId)) {
+                throw new RuntimeException("The groups of course " + courseId + " do not add up.");
+            }
+        });
+
+        System.out.printf("%-14s %-12.1f %-16d %-12.3f%n", name, millis, assignedGroups, assignedGroups == 0 ? 0 : rankSum / (double) assignedGroups);
+
+        List<String> assignment = new ArrayList<>();
+        department.getListOfProfs().forEach(professor -> assignment.add(professor.toString()));
+        return assignment;
+    }
+
+    /**
+     * Generates a department with random professors and courses.
+     *
+     * @param professorCount The number of professors.
+     * @param courseCount    The number of courses.
+     * @param random         The random number generator to be used.
+     * @return The generated department.
+     */
+    static Department generateDepartment(int professorCount, int courseCount, Random random) {
+
+        ArrayList<Professor> professors = new ArrayList<>(professorCount);
+        LocalDate firstHiringDate = LocalDate.of(1980, 1, 1);
+        for (int i = 0; i < professorCount; i++) {
+            HashSet<String> disciplines = new HashSet<>();
+            int faculty = random.nextInt(FACULTY_COUNT);
+            int disciplineCount = 2 + random.nextInt(3);
+            while (disciplines.size() < disciplineCount) {
+                disciplines.add("IN" + (faculty * DISCIPLINES_PER_FACULTY + random.nextInt(DISCIPLINES_PER_FACULTY)));
+            }
+            double seniorityLevel = (1 + random.nextInt(6000)) / 100.0;
+            professors.add(new Professor(i + 1, "Professor " + (i + 1), seniorityLevel, firstHiringDate.plusDays(random.nextInt(16_000)), disciplines));
+        }
+
+        Department department = new Department(professors);
+        for (int i = 0; i < courseCount; i++) {
+            department.addCourse(new Course("C" + i, "Course " + i, "IN" + random.nextInt(FACULTY_COUNT * DISCIPLINES_PER_FACULTY),
+                    TOTAL_HOURS[random.nextInt(TOTAL_HOURS.length)], 1 + random.nextInt(6)));
+        }
+
+        return department;
+    }
+
+    /**
+     * Generates a selection for every professor: mostly courses of their disciplines, and a few other courses.
+     *
+     * @param department The department.
+     * @param random     The random number generator to be used.
+     * @return The selection of each professor, keyed by professor ID.
+     */
+    static HashMap<Integer, ProfessorSelection> generateSelections(Department department, Random random) {
+
+        HashMap<Integer, ProfessorSelection> selections = new HashMap<>();
+        for (Professor professor : department.getListOfProfs()) {
+            selections.put(professor.getId(), generateSelection(professor, department, random));
+        }
+
+        return selections;
+    }
+
+    /**
+     * Generates the selection of one professor: mostly courses of their disciplines, and a few other courses.
+     *
+     * @param professor  The professor.
+     * @param department The department.
+     * @param random     The random number generator to be used.
+     * @return The generated selection.
+     */
+    static ProfessorSelection generateSelection(Professor professor, Department department, Random random) {
+
+        int courseCount = department.getCourseMap().size();
+        ArrayList<String> disciplines = new ArrayList<>(professor.getSetOfDisciplines());
+        ArrayList<CourseSelection> courseSelections = new ArrayList<>();
+        int lineCount = 6 + random.nextInt(7);
+
+        for (int line = 0; line < lineCount; line++) {
+            String courseId = "C" + random.nextInt(courseCount);
+            if (random.nextInt(5) != 0) {
+                // Pick a course of one of the professor's disciplines.
+                List<Course> candidates = department.getOpenCoursesForDiscipline(disciplines.get(random.nextInt(disciplines.size())));
+                if (!candidates.isEmpty()) {
+                    courseId = candidates.get(random.nextInt(candidates.size())).getId();
+                }
+            }
+            courseSelections.add(new CourseSelection(courseId, 1 + random.nextInt(3)));
+        }
+
+        return new ProfessorSelection(professor.getId(), 10 + random.nextInt(31), courseSelections);
+    }
+}
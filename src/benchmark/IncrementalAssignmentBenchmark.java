@@ -0,0 +1,87 @@
+package benchmark;
+
+import matching.GreedyAssignmentEngine;
+import matching.IncrementalAssignment;
+import model.Course;
+import model.Department;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark measuring the update of an incremental assignment after the selection of one professor changed, compared with a full run.
+ * The selection of a professor at different positions of the priority order (from the bottom to the top) is replaced by a new one,
+ * and after each update the assignment is checked to be identical to a full greedy run on the same selections.
+ * <p>
+ * Run with: {@code java -cp <classes> benchmark.IncrementalAssignmentBenchmark [professors] [courses]}
+ */
+public class IncrementalAssignmentBenchmark {
+
+    private static final double[] CHANGED_POSITIONS = {0.999, 0.99, 0.9, 0.5, 0.0}; // Positions of the changed professors, as a fraction of the priority order.
+    private static final long SEED = 7; // Seed of the generated department.
+
+    public static void main(String[] args) {
+
+        int professorCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int courseCount = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+
+        Department department = AssignmentEngineBenchmark.generateDepartment(professorCount, courseCount, new Random(SEED));
+        HashMap<Integer, ProfessorSelection> selections = AssignmentEngineBenchmark.generateSelections(department, new Random(SEED));
+
+        IncrementalAssignment incrementalAssignment = new IncrementalAssignment(department.getListOfProfs(), department, selections::get);
+        long start = System.nanoTime();
+        incrementalAssignment.assignAll();
+        System.out.printf("Full run: %.1f ms%n%n", (System.nanoTime() - start) / 1_000_000.0);
+
+        System.out.printf("%-18s %-14s %-12s%n", "changed position", "replayed", "update(ms)");
+
+        ArrayList<Professor> orderedProfessors = ProfessorPriorityKey.sortByPriority(department.getListOfProfs());
+        Random random = new Random(SEED + 1);
+
+        for (double fraction : CHANGED_POSITIONS) {
+            int position = (int) (fraction * (orderedProfessors.size() - 1));
+            Professor professor = orderedProfessors.get(position);
+            selections.put(professor.getId(), AssignmentEngineBenchmark.generateSelection(professor, department, random));
+
+            start = System.nanoTime();
+            int replayed = incrementalAssignment.update(professor.getId());
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+            System.out.printf("%-18d %-14d %-12.3f%n", position, replayed, millis);
+
+            checkSameAsFullRun(department, selections, professorCount, courseCount);
+        }
+    }
+
+    /**
+     * Checks that the incremental assignment is identical to a full greedy run on a new copy of the department.
+     *
+     * @param department     The department of the incremental assignment.
+     * @param selections     The current selections.
+     * @param professorCount The number of professors.
+     * @param courseCount    The number of courses.
+     */
+    private static void checkSameAsFullRun(Department department, HashMap<Integer, ProfessorSelection> selections, int professorCount, int courseCount) {
+
+        Department fullRunDepartment = AssignmentEngineBenchmark.generateDepartment(professorCount, courseCount, new Random(SEED));
+        new GreedyAssignmentEngine().assignCourses(fullRunDepartment.getListOfProfs(), fullRunDepartment, selections::get);
+
+        List<Professor> professors = department.getListOfProfs();
+        List<Professor> fullRunProfessors = fullRunDepartment.getListOfProfs();
+        for (int i = 0; i < professors.size(); i++) {
+            if (!professors.get(i).toString().equals(fullRunProfessors.get(i).toString())) {
+                throw new RuntimeException("Professor " + professors.get(i).getId() + " differs from the full run.");
+            }
+        }
+        for (Course course : fullRunDepartment.getCourseMap().values()) {
+            if (department.getCourseMap().get(course.getId()).getNumOfGroups() != course.getNumOfGroups()) {
+                throw new RuntimeException("Course " + course.getId() + " differs from the full run.");
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package benchmark;
+
+import matching.MinCostFlowAssignmentEngine;
+import model.Assignment;
+import model.Course;
+import model.CourseSelection;
+import model.Department;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Check of the min-cost flow engine against a brute force search on small generated departments (up to 3 professors and 3 courses).
+ * The brute force tries every assignment and keeps the one covering the most groups, then the one with the lowest preference cost
+ * (rank of the course in the selection times the weight of the professor, as in MinCostFlowAssignmentEngine).
+ * <ul>
+ *     <li>When every course has the same weekly hours and every professor a multiple of them, the relaxation of the engine has whole groups,
+ *     so the engine must find exactly the optimum (groups and preference cost).</li>
+ *     <li>With mixed weekly hours, the rounding may lose groups: the engine must never cover more groups than the optimum, and the number
+ *     of departments where it reaches the optimum is printed.</li>
+ *     <li>One professor with 6 hours selecting a 6 hours course of 1 group first and a 3 hours course of 2 groups second must get the
+ *     2 groups of the second course.</li>
+ * </ul>
+ * Run with: {@code java -cp <classes> benchmark.MinCostFlowCheck [departments]}
+ */
+public class MinCostFlowCheck {
+
+    private static final int PRIORITY_BUCKETS = 10; // Number of different professor weights (as in MinCostFlowAssignmentEngine).
+    private static final int MAX_HOURS = MinCostFlowAssignmentEngine.MAX_HOURS; // Maximum number of hours per week of a professor.
+    private static final int[] TOTAL_HOURS = {45, 60, 75, 90}; // Possible total numbers of hours of a course.
+    private static final long SEED = 7; // Seed of the generated departments.
+
+    public static void main(String[] args) {
+
+        int departmentCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+
+        checkSmallerCourseFirst();
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < departmentCount; i++) {
+            long[] engine = new long[2];
+            long[] optimum = new long[2];
+            run(random, true, engine, optimum);
+            if (engine[0] != optimum[0] || engine[1] != optimum[1]) {
+                throw new RuntimeException("Department " + i + " with whole groups: the engine covers " + engine[0] + " groups with cost " + engine[1]
+                        + ", the optimum is " + optimum[0] + " groups with cost " + optimum[1] + ".");
+            }
+        }
+        System.out.println("Whole groups: the engine found the optimum of " + departmentCount + " departments.");
+
+        int optimumCount = 0;
+        for (int i = 0; i < departmentCount; i++) {
+            long[] engine = new long[2];
+            long[] optimum = new long[2];
+            run(random, false, engine, optimum);
+            if (engine[0] > optimum[0]) {
+                throw new RuntimeException("Department " + i + ": the engine covers " + engine[0] + " groups, more than the optimum " + optimum[0] + ".");
+            }
+            if (engine[0] == optimum[0]) {
+                optimumCount++;
+            }
+        }
+        System.out.println("Mixed weekly hours: the engine covered the maximum number of groups in " + optimumCount + " of " + departmentCount + " departments.");
+    }
+
+    /**
+     * Checks the department where the first choice of the professor takes all their hours with 1 group, and the second one fits 2 groups.
+     *
+     * @throws RuntimeException If the engine does not assign the 2 groups of the second course.
+     */
+    private static void checkSmallerCourseFirst() {
+
+        ArrayList<Professor> professors = new ArrayList<>();
+        professors.add(new Professor(1, "Professor 1", 10.0, LocalDate.of(2000, 1, 1), new HashSet<>(List.of("IN1"))));
+        Department department = new Department(professors);
+        department.addCourse(new Course("X", "Course X", "IN1", 90, 1));
+        department.addCourse(new Course("Y", "Course Y", "IN1", 45, 2));
+
+        ArrayList<CourseSelection> courseSelections = new ArrayList<>();
+        courseSelections.add(new CourseSelection("X", 1));
+        courseSelections.add(new CourseSelection("Y", 2));
+        ProfessorSelection selection = new ProfessorSelection(1, 6, courseSelections);
+
+        new MinCostFlowAssignmentEngine().assignCourses(professors, department, professorId -> selection);
+
+        ArrayList<Assignment> listOfAffectedCourses = professors.get(0).getListOfAffectedCourses();
+        if (listOfAffectedCourses == null || listOfAffectedCourses.size() != 1 || !listOfAffectedCourses.get(0).getCourseId().equals("Y")
+                || listOfAffectedCourses.get(0).getNumOfGroups() != 2) {
+            throw new RuntimeException("The engine must assign the 2 groups of Y, it assigned " + listOfAffectedCourses + ".");
+        }
+        System.out.println("Smaller course first: the engine assigned the 2 groups of the second course.");
+    }
+
+    /**
+     * Generates a small department, runs the engine on it and searches the optimum.
+     *
+     * @param random      The random generator.
+     * @param wholeGroups Whether every course has 4 weekly hours and every professor a multiple of 4 hours.
+     * @param engine      Receives the groups covered by the engine and their preference cost.
+     * @param optimum     Receives the maximum number of groups and the lowest preference cost covering them.
+     */
+    private static void run(Random random, boolean wholeGroups, long[] engine, long[] optimum) {
+
+        int professorCount = 1 + random.nextInt(3);
+        int courseCount = 1 + random.nextInt(3);
+
+        ArrayList<Professor> professors = new ArrayList<>();
+        for (int p = 0; p < professorCount; p++) {
+            professors.add(new Professor(p + 1, "Professor " + (p + 1), 1.0 + p, LocalDate.of(2000, 1, 1), new HashSet<>(List.of("IN1"))));
+        }
+        Department department = new Department(professors);
+        int[] groups = new int[courseCount];
+        int[] weeklyHours = new int[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            int totalHours = wholeGroups ? 60 : TOTAL_HOURS[random.nextInt(TOTAL_HOURS.length)];
+            groups[c] = 1 + random.nextInt(3);
+            weeklyHours[c] = Course.getWeeklyHours(totalHours);
+            department.addCourse(new Course("C" + c, "Course " + c, "IN1", totalHours, groups[c]));
+        }
+
+        // Each professor selects some of the courses in a random order.
+        HashMap<Integer, ProfessorSelection> selections = new HashMap<>();
+        for (Professor professor : professors) {
+            ArrayList<Integer> courses = new ArrayList<>();
+            for (int c = 0; c < courseCount; c++) {
+                courses.add(c);
+            }
+            Collections.shuffle(courses, random);
+
+            ArrayList<CourseSelection> courseSelections = new ArrayList<>();
+            for (int c : courses.subList(0, 1 + random.nextInt(courseCount))) {
+                courseSelections.add(new CourseSelection("C" + c, 1 + random.nextInt(3)));
+            }
+            int maxRequestedHours = wholeGroups ? 4 * (1 + random.nextInt(7)) : 3 + random.nextInt(28);
+            selections.put(professor.getId(), new ProfessorSelection(professor.getId(), maxRequestedHours, courseSelections));
+        }
+
+        // The brute force uses the priority order of the engine for the weights.
+        ArrayList<Professor> orderedProfessors = ProfessorPriorityKey.sortByPriority(professors);
+        new MinCostFlowAssignmentEngine().assignCourses(professors, department, selections::get);
+
+        for (int p = 0; p < professorCount; p++) {
+            Professor professor = orderedProfessors.get(p);
+            if (professor.getListOfAffectedCourses() != null) {
+                for (Assignment assignment : professor.getListOfAffectedCourses()) {
+                    engine[0] += assignment.getNumOfGroups();
+                    engine[1] += assignment.getNumOfGroups() * rank(selections.get(professor.getId()), assignment.getCourseId()) * weight(p, professorCount);
+                }
+            }
+        }
+
+        // Flatten the requests: professor position, course, rank and requested groups of each one.
+        ArrayList<int[]> requests = new ArrayList<>();
+        int[] hours = new int[professorCount];
+        for (int p = 0; p < professorCount; p++) {
+            ProfessorSelection selection = selections.get(orderedProfessors.get(p).getId());
+            hours[p] = Math.min(selection.getMaxRequestedHours(), MAX_HOURS);
+            for (int rank = 0; rank < selection.getCourseSelections().size(); rank++) {
+                CourseSelection courseSelection = selection.getCourseSelections().get(rank);
+                requests.add(new int[]{p, Integer.parseInt(courseSelection.getCourseId().substring(1)), rank, courseSelection.getRequestedNumberOfGroups()});
+            }
+        }
+
+        optimum[0] = -1;
+        search(requests, 0, hours, groups, weeklyHours, professorCount, 0, 0, optimum);
+    }
+
+    /**
+     * Tries every number of groups for each request from an index onward, and keeps the best assignment.
+     *
+     * @param requests       The requests: professor position, course, rank and requested groups.
+     * @param index          The index of the next request.
+     * @param hours          The remaining hours of each professor.
+     * @param groups         The remaining groups of each course.
+     * @param weeklyHours    The weekly hours of each course.
+     * @param professorCount The number of professors.
+     * @param coveredGroups  The groups covered by the previous requests.
+     * @param cost           The preference cost of the previous requests.
+     * @param optimum        The best number of groups and preference cost found so far.
+     */
+    private static void search(ArrayList<int[]> requests, int index, int[] hours, int[] groups, int[] weeklyHours, int professorCount,
+                               long coveredGroups, long cost, long[] optimum) {
+
+        if (index == requests.size()) {
+            if (coveredGroups > optimum[0] || (coveredGroups == optimum[0] && cost < optimum[1])) {
+                optimum[0] = coveredGroups;
+                optimum[1] = cost;
+            }
+            return;
+        }
+
+        int[] request = requests.get(index);
+        int p = request[0];
+        int c = request[1];
+        int maxGroups = Math.min(request[3], Math.min(groups[c], hours[p] / weeklyHours[c]));
+        for (int taken = 0; taken <= maxGroups; taken++) {
+            hours[p] -= taken * weeklyHours[c];
+            groups[c] -= taken;
+            search(requests, index + 1, hours, groups, weeklyHours, professorCount, coveredGroups + taken,
+                    cost + (long) taken * request[2] * weight(p, professorCount), optimum);
+            hours[p] += taken * weeklyHours[c];
+            groups[c] += taken;
+        }
+    }
+
+    /**
+     * Retrieves the rank of a course in a selection.
+     *
+     * @param selection The selection.
+     * @param courseId  The ID of the course.
+     * @return The position of the first selection of the course (0 is the first choice).
+     */
+    private static int rank(ProfessorSelection selection, String courseId) {
+        for (int rank = 0; rank < selection.getCourseSelections().size(); rank++) {
+            if (selection.getCourseSelections().get(rank).getCourseId().equals(courseId)) {
+                return rank;
+            }
+        }
+        throw new RuntimeException("Course " + courseId + " is not selected.");
+    }
+
+    /**
+     * Computes the weight of a professor in the preference cost, as MinCostFlowAssignmentEngine does.
+     *
+     * @param position       The position of the professor in the priority order.
+     * @param professorCount The number of professors.
+     * @return The weight, from PRIORITY_BUCKETS for the first professors down to 1.
+     */
+    private static long weight(int position, int professorCount) {
+        return PRIORITY_BUCKETS - (long) position * PRIORITY_BUCKETS / professorCount;
+    }
+}
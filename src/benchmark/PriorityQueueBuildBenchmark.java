@@ -0,0 +1,167 @@
+package benchmark;
+
+import datastructures.queue.PriorityQueue;
+import model.Professor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark comparing the two ways of building a PriorityQueue of professors:
+ * the bulk construction from a list (bottom-up heap construction in O(n)) and enqueuing the professors one by one (O(n log n)),
+ * which is how the list constructor used to build the queue.
+ * <p>
+ * Only the construction is timed: each measured round builds the queue several times in a row, and the dequeue order of both queues
+ * is checked once, outside the measurement. The professors are given in random order and in increasing priority order; in random order
+ * an enqueue only moves an element up a few levels on average, so the difference shows mostly on the increasing order, where each
+ * enqueue moves the new element up to the root.
+ * <p>
+ * Run with: {@code java -cp <classes> benchmark.PriorityQueueBuildBenchmark [sizes...]}
+ */
+public class PriorityQueueBuildBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {1_000, 100_000, 1_000_000}; // Number of professors of each run.
+    private static final int WARMUP_ROUNDS = 3; // Rounds executed before measuring, so the JIT compiler has optimized the code.
+    private static final int MEASURED_ROUNDS = 5; // Rounds whose build time is averaged.
+    private static final int BUILDS_PER_ROUND = 2_000_000; // Approximate number of professors placed into queues in one round.
+
+    public static void main(String[] args) {
+
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%-12s %-20s %-22s %-22s %-10s%n", "professors", "input order", "enqueue one by one(ms)", "bulk heapify(ms)", "speedup");
+
+        for (int size : sizes) {
+
+            List<Professor> randomOrder = generateProfessors(size, new Random(size));
+
+            // Lowest priority first: the order in which one-by-one enqueuing does the most work.
+            List<Professor> increasingOrder = new ArrayList<>(randomOrder);
+            increasingOrder.sort(null);
+
+            run(size, "random", randomOrder);
+            run(size, "increasing priority", increasingOrder);
+        }
+    }
+
+    /**
+     * Checks that both construction paths produce the same order, then measures the construction time of each.
+     *
+     * @param size       The number of professors.
+     * @param orderName  The name of the input order.
+     * @param professors The professors, in the input order.
+     */
+    private static void run(int size, String orderName, List<Professor> professors) {
+
+        // Both queues must dequeue the professors in exactly the same order (not measured).
+        PriorityQueue<Professor> oneByOneQueue = buildOneByOne(professors);
+        PriorityQueue<Professor> bulkQueue = buildBulk(professors);
+        while (!oneByOneQueue.isEmpty()) {
+            if (oneByOneQueue.dequeue() != bulkQueue.dequeue()) {
+                throw new RuntimeException("Both queues must produce the same order.");
+            }
+        }
+
+        // Small queues are built many times per round, so a round lasts long enough to be measured.
+        int buildCount = Math.max(1, BUILDS_PER_ROUND / size);
+
+        // Warm up both construction paths.
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            timeBuilds(professors, buildCount, false);
+            timeBuilds(professors, buildCount, true);
+        }
+
+        double oneByOneMillis = 0;
+        double bulkMillis = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            oneByOneMillis += timeBuilds(professors, buildCount, false);
+            bulkMillis += timeBuilds(professors, buildCount, true);
+        }
+
+        // Average time of one construction.
+        oneByOneMillis /= MEASURED_ROUNDS * (double) buildCount;
+        bulkMillis /= MEASURED_ROUNDS * (double) buildCount;
+
+        System.out.printf("%-12d %-20s %-22.3f %-22.3f %-10.2f%n", size, orderName, oneByOneMillis, bulkMillis, oneByOneMillis / bulkMillis);
+    }
+
+    /**
+     * Builds the queue several times in a row and measures the total time.
+     *
+     * @param professors The professors to be placed into the queue.
+     * @param buildCount The number of constructions.
+     * @param bulk       true to use the bulk list constructor, false to enqueue the professors one by one.
+     * @return The total time in milliseconds.
+     */
+    private static double timeBuilds(List<Professor> professors, int buildCount, boolean bulk) {
+
+        int sizeSum = 0; // Keeps the built queues alive for the JIT compiler.
+        long start = System.nanoTime();
+        for (int i = 0; i < buildCount; i++) {
+            PriorityQueue<Professor> queue = bulk ? buildBulk(professors) : buildOneByOne(professors);
+            sizeSum += queue.getSize();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        if (sizeSum != buildCount * professors.size()) {
+            throw new RuntimeException("Every queue must hold all the professors.");
+        }
+
+        return millis;
+    }
+
+    /**
+     * Builds the priority queue by enqueuing every professor one by one.
+     *
+     * @param professors The professors to be placed into the queue.
+     * @return The built priority queue.
+     */
+    private static PriorityQueue<Professor> buildOneByOne(List<Professor> professors) {
+        PriorityQueue<Professor> queue = new PriorityQueue<>();
+        for (Professor professor : professors) {
+            queue.enqueue(professor);
+        }
+        return queue;
+    }
+
+    /**
+     * Builds the priority queue with the bulk list constructor.
+     *
+     * @param professors The professors to be placed into the queue.
+     * @return The built priority queue.
+     */
+    private static PriorityQueue<Professor> buildBulk(List<Professor> professors) {
+        return new PriorityQueue<>(professors);
+    }
+
+    /**
+     * Generates random professors with realistic seniority levels and hiring dates.
+     *
+     * @param count  The number of professors to generate.
+     * @param random The random number generator to be used.
+     * @return The list of generated professors.
+     */
+    static List<Professor> generateProfessors(int count, Random random) {
+
+        List<Professor> professors = new ArrayList<>(count);
+        HashSet<String> disciplines = new HashSet<>(List.of("IN1", "IN3", "IN4"));
+        LocalDate firstHiringDate = LocalDate.of(1980, 1, 1);
+
+        for (int i = 0; i < count; i++) {
+            double seniorityLevel = (1 + random.nextInt(6000)) / 100.0; // Between 0.01 and 60.00.
+            LocalDate hiringDate = firstHiringDate.plusDays(random.nextInt(16_000));
+            professors.add(new Professor(i + 1, "Professor " + (i + 1), seniorityLevel, hiringDate, disciplines));
+        }
+
+        return professors;
+    }
+}
@@ -0,0 +1,192 @@
+package benchmark;
+
+import datastructures.queue.ConcurrentRingBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark comparing the throughput of ConcurrentRingBuffer with java.util.concurrent.ArrayBlockingQueue.
+ * Producer threads enqueue a fixed number of elements and consumer threads dequeue them until all elements have been received.
+ * Both queues use their non-blocking methods (offer and poll) and yield when full or empty, so only the queue itself is measured.
+ * The sum of the received elements is checked, so a lost or duplicated element makes the benchmark fail.
+ * <p>
+ * Run with: {@code java -cp <classes> benchmark.RingBufferThroughputBenchmark [elementsPerProducer]}
+ */
+public class RingBufferThroughputBenchmark {
+
+    private static final int CAPACITY = 1024; // Capacity of both queues.
+    private static final int[][] THREAD_CONFIGURATIONS = {{1, 1}, {2, 2}, {4, 4}, {4, 1}, {1, 4}}; // Number of producers and consumers of each run.
+    private static final int WARMUP_ROUNDS = 2; // Rounds executed before measuring, so the JIT compiler has optimized the code.
+    private static final int MEASURED_ROUNDS = 3; // Rounds whose throughput is averaged.
+    private static final Long END_OF_STREAM = 0L; // Marker telling a consumer to stop (the producers only send positive elements).
+
+    /**
+     * Minimal queue operations used by the benchmark, so both queues run the same producer and consumer code.
+     */
+    private interface BenchmarkQueue {
+        boolean offer(Long element);
+
+        Long poll();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int elementsPerProducer = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.printf("%-10s %-10s %-26s %-26s %-10s%n", "producers", "consumers", "ConcurrentRingBuffer(op/s)", "ArrayBlockingQueue(op/s)", "ratio");
+
+        for (int[] configuration : THREAD_CONFIGURATIONS) {
+            int producers = configuration[0];
+            int consumers = configuration[1];
+
+            double ringBufferThroughput = measure(producers, consumers, elementsPerProducer, () -> {
+                ConcurrentRingBuffer<Long> ringBuffer = new ConcurrentRingBuffer<>(CAPACITY);
+                return new BenchmarkQueue() {
+                    public boolean offer(Long element) {
+                        return ringBuffer.offer(element);
+                    }
+
+                    public Long poll() {
+                        return ringBuffer.poll();
+                    }
+                };
+            });
+
+            double blockingQueueThroughput = measure(producers, consumers, elementsPerProducer, () -> {
+                ArrayBlockingQueue<Long> blockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+                return new BenchmarkQueue() {
+                    public boolean offer(Long element) {
+                        return blockingQueue.offer(element);
+                    }
+
+                    public Long poll() {
+                        return blockingQueue.poll();
+                    }
+                };
+            });
+
+            System.out.printf("%-10d %-10d %-26.0f %-26.0f %-10.2f%n", producers, consumers, ringBufferThroughput, blockingQueueThroughput, ringBufferThroughput / blockingQueueThroughput);
+        }
+    }
+
+    /**
+     * Measures the average throughput of a queue for a number of producers and consumers.
+     *
+     * @param producers           The number of producer threads.
+     * @param consumers           The number of consumer threads.
+     * @param elementsPerProducer The number of elements enqueued by each producer.
+     * @param queueFactory        Creates a new empty queue for each round.
+     * @return The average number of elements transferred per second.
+     * @throws InterruptedException If the benchmark thread is interrupted.
+     */
+    private static double measure(int producers, int consumers, int elementsPerProducer, Supplier<BenchmarkQueue> queueFactory) throws InterruptedException {
+
+        double totalThroughput = 0;
+
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            double throughput = runRound(queueFactory.get(), producers, consumers, elementsPerProducer);
+            if (round >= WARMUP_ROUNDS) {
+                totalThroughput += throughput;
+            }
+        }
+
+        return totalThroughput / MEASURED_ROUNDS;
+    }
+
+    /**
+     * Runs one round: starts the producers and consumers together and waits until every element has been received.
+     *
+     * @param queue               The queue to be measured.
+     * @param producers           The number of producer threads.
+     * @param consumers           The number of consumer threads.
+     * @param elementsPerProducer The number of elements enqueued by each producer.
+     * @return The number of elements transferred per second.
+     * @throws InterruptedException If the benchmark thread is interrupted.
+     */
+    private static double runRound(BenchmarkQueue queue, int producers, int consumers, int elementsPerProducer) throws InterruptedException {
+
+        long totalElements = (long) producers * elementsPerProducer;
+        AtomicLong received = new AtomicLong();
+        AtomicLong receivedSum = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                for (long i = 1; i <= elementsPerProducer; i++) {
+                    Long element = i;
+                    while (!queue.offer(element)) {
+                        Thread.yield(); // The queue is full.
+                    }
+                }
+            }));
+        }
+
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                long count = 0;
+                long sum = 0;
+                while (true) {
+                    Long element = queue.poll();
+                    if (element == null) {
+                        Thread.yield(); // The queue is empty.
+                        continue;
+                    }
+                    if (element == END_OF_STREAM) {
+                        break;
+                    }
+                    count++;
+                    sum += element;
+                }
+                received.addAndGet(count);
+                receivedSum.addAndGet(sum);
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        long startTime = System.nanoTime();
+        start.countDown();
+
+        // Once every producer is done, send one end-of-stream marker to each consumer.
+        for (int p = 0; p < producers; p++) {
+            threads.get(p).join();
+        }
+        for (int c = 0; c < consumers; c++) {
+            while (!queue.offer(END_OF_STREAM)) {
+                Thread.yield();
+            }
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.get(producers + c).join();
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        // Every element must have been received exactly once.
+        long expectedSum = (long) producers * elementsPerProducer * (elementsPerProducer + 1L) / 2;
+        if (received.get() != totalElements || receivedSum.get() != expectedSum) {
+            throw new RuntimeException("Elements were lost or duplicated.");
+        }
+
+        return totalElements * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Waits for the start signal, ignoring interruptions.
+     *
+     * @param start The start signal.
+     */
+    private static void awaitQuietly(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
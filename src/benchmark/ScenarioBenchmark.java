@@ -0,0 +1,88 @@
+package benchmark;
+
+import matching.GreedyAssignmentEngine;
+import model.Course;
+import model.Department;
+import model.Professor;
+import model.ProfessorSelection;
+import scenario.Scenario;
+import scenario.ScenarioBase;
+import scenario.ScenarioResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark running many what-if scenarios from one loaded department, sequentially and concurrently, compared with a full greedy run.
+ * Each scenario adds a group to a random course and raises the maximum hours of a random professor.
+ * The scenario without changes must give exactly the same assignment as the greedy engine, and the department must be left unchanged.
+ * <p>
+ * Run with: {@code java -cp <classes> benchmark.ScenarioBenchmark [professors] [courses] [scenarios]}
+ */
+public class ScenarioBenchmark {
+
+    private static final long SEED = 11; // Seed of the generated department.
+
+    public static void main(String[] args) {
+
+        int professorCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int courseCount = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int scenarioCount = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        Department department = AssignmentEngineBenchmark.generateDepartment(professorCount, courseCount, new Random(SEED));
+        HashMap<Integer, ProfessorSelection> selections = AssignmentEngineBenchmark.generateSelections(department, new Random(SEED));
+
+        long start = System.nanoTime();
+        ScenarioBase base = new ScenarioBase(department, selections::get);
+        System.out.printf("Base capture: %.1f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+
+        // Prepare the scenarios.
+        Random random = new Random(SEED + 1);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < scenarioCount; i++) {
+            Scenario scenario = base.newScenario();
+            scenario.addGroups("C" + random.nextInt(courseCount), 1);
+            scenario.setMaxHours(1 + random.nextInt(professorCount), GreedyAssignmentEngine.MAX_HOURS + 10);
+            scenarios.add(scenario);
+        }
+
+        start = System.nanoTime();
+        scenarios.forEach(Scenario::run);
+        double sequentialMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        start = System.nanoTime();
+        IntStream.range(0, scenarioCount).parallel().forEach(i -> scenarios.get(i).run());
+        double concurrentMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("%d scenarios: %.1f ms sequential (%.2f ms each), %.1f ms concurrent on %d cores%n",
+                scenarioCount, sequentialMillis, sequentialMillis / scenarioCount, concurrentMillis, Runtime.getRuntime().availableProcessors());
+
+        // The department must not have been changed by the scenarios.
+        for (Professor professor : department.getListOfProfs()) {
+            if (professor.getListOfAffectedCourses() != null) {
+                throw new RuntimeException("A scenario changed the courses of professor " + professor.getId() + ".");
+            }
+        }
+
+        // The scenario without changes must give the same assignment as the greedy engine.
+        ScenarioResult unchanged = base.newScenario().run();
+        start = System.nanoTime();
+        new GreedyAssignmentEngine().assignCourses(department.getListOfProfs(), department, selections::get);
+        System.out.printf("Full greedy run: %.1f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+
+        for (Professor professor : department.getListOfProfs()) {
+            if (!Objects.equals(String.valueOf(professor.getListOfAffectedCourses()), String.valueOf(unchanged.getListOfAffectedCourses(professor.getId())))) {
+                throw new RuntimeException("The scenario must produce the same assignment as the greedy engine for professor " + professor.getId() + ".");
+            }
+        }
+        for (Course course : department.getCourseMap().values()) {
+            if (course.getNumOfGroups() != unchanged.getRemainingGroups(course.getId())) {
+                throw new RuntimeException("The scenario must leave the same groups as the greedy engine for course " + course.getId() + ".");
+            }
+        }
+    }
+}
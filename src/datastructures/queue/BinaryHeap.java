@@ -0,0 +1,213 @@
+package datastructures.queue;
+
+import java.util.Arrays;
+
+/**
+ * BinaryHeap represents a priority queue implemented using an array-backed binary max-heap.
+ * The element with the highest priority (the greatest element according to its natural ordering) is always kept at the root of the heap.
+ * Insertion and removal run in O(log n) time instead of the O(n) traversal needed by a sorted linked list.
+ *
+ * @param <T> The type of elements stored in the heap, must implement Comparable<T> for ordering.
+ */
+public class BinaryHeap<T extends Comparable<T>> {
+
+    protected T[] heapArray; // Array to store the elements of the heap (index 0 is the root).
+    protected int size; // Number of elements in the heap.
+
+    /**
+     * Constructs an empty binary heap with an initial capacity of 20.
+     */
+    @SuppressWarnings("unchecked") // A generic array cannot be created; the Comparable<?>[] only ever holds elements of type T.
+    public BinaryHeap() {
+        this.heapArray = (T[]) new Comparable<?>[20]; // Initializing the array with capacity 20 element of type T.
+        this.size = 0; // Setting size to 0.
+    }
+
+    /**
+     * Constructs a binary heap from all the elements of the specified array in O(n) time (bottom-up heap construction).
+     * The array is reused as the storage of the heap instead of being copied, so the caller must not modify it afterwards.
+     *
+     * @param inputArray The array whose elements are to be placed into the heap.
+     */
+    public BinaryHeap(T[] inputArray) {
+        this.heapArray = inputArray; // Reusing the caller's array as the storage of the heap.
+        this.size = inputArray.length; // Every element of the array belongs to the heap.
+        heapify();
+    }
+
+    /**
+     * Method to get the number of elements in the heap.
+     *
+     * @return The size of the heap.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Method to check if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Resizes the array when the heap is full.
+     */
+    private void resize() {
+        // Create a new array with double the size of the current array and copy the elements into it.
+        this.heapArray = Arrays.copyOf(this.heapArray, Math.max(this.heapArray.length * 2, 1));
+    }
+
+    /**
+     * Inserts an element into the heap based on its priority.
+     * The element is added at the end of the array and then moved up until the heap order is restored.
+     *
+     * @param element The element to be enqueued.
+     */
+    public void enqueue(T element) {
+
+        // Check if the heap is full and resize if necessary.
+        if (this.size == this.heapArray.length) {
+            resize();
+        }
+
+        // Place the new element at the first free index and move it up to its correct position.
+        this.size++;
+        siftUp(this.size - 1, element);
+    }
+
+    /**
+     * Removes and returns the element with the highest priority.
+     *
+     * @return The removed element or null, if the heap is empty.
+     */
+    public T dequeue() {
+
+        // If heap is empty then returning null.
+        if (isEmpty()) {
+            return null;
+        }
+
+        // The root of the heap is the element with the highest priority.
+        T elementToRemove = this.heapArray[0];
+
+        // Take the last element out of the array and move it down from the root.
+        this.size--;
+        T lastElement = this.heapArray[this.size];
+        this.heapArray[this.size] = null; // Clear the reference so the element can be garbage collected.
+
+        if (this.size > 0) {
+            siftDown(0, lastElement);
+        }
+
+        // Return the removed element.
+        return elementToRemove;
+    }
+
+    /**
+     * Returns the element with the highest priority without removing it.
+     *
+     * @return The element at the root of the heap or null, if the heap is empty.
+     */
+    public T peek() {
+        return isEmpty() ? null : this.heapArray[0];
+    }
+
+    /**
+     * Moves the given element up from the specified index until its parent has a higher or equal priority.
+     *
+     * @param index   The index where the element starts.
+     * @param element The element to be placed.
+     */
+    protected void siftUp(int index, T element) {
+
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            T parent = this.heapArray[parentIndex];
+
+            // Stop once the parent has a higher or equal priority.
+            if (element.compareTo(parent) <= 0) {
+                break;
+            }
+
+            // Move the parent down one level.
+            setAt(index, parent);
+            index = parentIndex;
+        }
+
+        setAt(index, element);
+    }
+
+    /**
+     * Moves the given element down from the specified index until both of its children have a lower or equal priority.
+     *
+     * @param index   The index where the element starts.
+     * @param element The element to be placed.
+     */
+    protected void siftDown(int index, T element) {
+
+        int half = this.size >>> 1; // Indices from half onward are leaves.
+
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            T child = this.heapArray[childIndex];
+            int rightIndex = childIndex + 1;
+
+            // Pick the child with the higher priority.
+            if (rightIndex < this.size && this.heapArray[rightIndex].compareTo(child) > 0) {
+                childIndex = rightIndex;
+                child = this.heapArray[childIndex];
+            }
+
+            // Stop once the element has a higher or equal priority than both children.
+            if (element.compareTo(child) >= 0) {
+                break;
+            }
+
+            // Move the child up one level.
+            setAt(index, child);
+            index = childIndex;
+        }
+
+        setAt(index, element);
+    }
+
+    /**
+     * Restores the heap order of the whole array by moving every non-leaf element down, starting from the last one.
+     * Most elements are close to the leaves and move only a few levels, which makes the construction O(n) instead of O(n log n).
+     */
+    protected void heapify() {
+        for (int i = (this.size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, this.heapArray[i]);
+        }
+    }
+
+    /**
+     * Stores an element at the specified index of the heap array.
+     * Every move of an element inside the heap goes through this method, so subclasses can track the positions of elements.
+     *
+     * @param index   The index where the element is stored.
+     * @param element The element to be stored.
+     */
+    protected void setAt(int index, T element) {
+        this.heapArray[index] = element;
+    }
+
+    /**
+     * Converting the heap into an array ordered from the highest to the lowest priority.
+     * The heap itself is not modified.
+     *
+     * @return Return an array.
+     */
+    public T[] toArray() {
+
+        // Copy the elements in the used part of the heap array and sort the copy from highest to lowest priority.
+        T[] array = Arrays.copyOf(this.heapArray, this.size);
+        Arrays.sort(array, (first, second) -> second.compareTo(first));
+
+        return array;
+    }
+}
@@ -0,0 +1,219 @@
+package datastructures.queue;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ConcurrentRingBuffer represents a bounded, lock-free queue that many threads can enqueue into and dequeue from at the same time
+ * (multi-producer, multi-consumer). It can be used to hand professors, selections or assignment events between worker threads.
+ * <p>
+ * Unlike CircularQueueArray, the capacity is fixed and rounded up to a power of two, so the index of a slot is computed with a mask instead of a modulo.
+ * Every slot has a sequence number telling whether it is ready to be written by a producer or read by a consumer for the current lap of the buffer.
+ * A producer (or consumer) claims a slot by advancing the producer (or consumer) index with a single compare-and-set, and then publishes it by updating the sequence number of the slot.
+ * The producer and consumer indices are kept on separate cache lines so that producers and consumers do not slow each other down (false sharing).
+ *
+ * @param <T> The type of elements stored in the ring buffer.
+ */
+public class ConcurrentRingBuffer<T> {
+
+    private static final int PADDING = 16; // Number of longs (128 bytes) between the two indices, more than a cache line (and its adjacent line).
+    private static final int PRODUCER_INDEX = PADDING; // Position of the producer index in the indices array.
+    private static final int CONSUMER_INDEX = 2 * PADDING; // Position of the consumer index in the indices array.
+
+    private final Object[] theArray; // Array to store the elements.
+    private final AtomicLongArray sequences; // Sequence number of each slot.
+    private final AtomicLongArray indices; // Producer and consumer indices, padded against false sharing.
+    private final int mask; // Capacity - 1, used to compute the index of a slot.
+
+    /**
+     * Constructs an empty ring buffer.
+     *
+     * @param capacity The minimum capacity of the ring buffer, rounded up to the next power of two.
+     * @throws IllegalArgumentException If the capacity is not positive or too large.
+     */
+    public ConcurrentRingBuffer(int capacity) {
+
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        // Round the capacity up to the next power of two (at least 2).
+        int actualCapacity = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+
+        this.theArray = new Object[actualCapacity];
+        this.sequences = new AtomicLongArray(actualCapacity);
+        this.indices = new AtomicLongArray(3 * PADDING);
+        this.mask = actualCapacity - 1;
+
+        // Slot i is ready for the producer whose index is i.
+        for (int i = 0; i < actualCapacity; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the capacity of the ring buffer.
+     *
+     * @return The maximum number of elements the ring buffer can hold.
+     */
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Returns the number of elements in the ring buffer.
+     * While other threads are enqueuing or dequeuing, the result is only an estimate.
+     *
+     * @return The number of elements in the ring buffer.
+     */
+    public int getSize() {
+        long size = this.indices.get(PRODUCER_INDEX) - this.indices.get(CONSUMER_INDEX);
+        return (int) Math.max(0, Math.min(size, getCapacity()));
+    }
+
+    /**
+     * Checks if the ring buffer is empty.
+     * While other threads are enqueuing or dequeuing, the result is only an estimate.
+     *
+     * @return true if the ring buffer is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Adds an element to the rear of the ring buffer if there is room for it.
+     *
+     * @param element The element to be added to the ring buffer.
+     * @return true if the element was added, false if the ring buffer is full.
+     * @throws NullPointerException If the element is null.
+     */
+    public boolean offer(T element) {
+
+        if (element == null) {
+            throw new NullPointerException("Element cannot be null.");
+        }
+
+        long position = this.indices.get(PRODUCER_INDEX);
+
+        while (true) {
+            int index = (int) position & this.mask;
+            long difference = this.sequences.get(index) - position;
+
+            if (difference == 0) {
+                // The slot is free for this position, try to claim it.
+                if (this.indices.compareAndSet(PRODUCER_INDEX, position, position + 1)) {
+                    this.theArray[index] = element;
+
+                    // Publish the element to the consumer of this position.
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this.indices.get(PRODUCER_INDEX);
+            }
+            else if (difference < 0) {
+                // The slot still holds the element of the previous lap: the ring buffer is full.
+                return false;
+            }
+            else {
+                // Another producer claimed this position, retry with the current one.
+                position = this.indices.get(PRODUCER_INDEX);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the ring buffer.
+     *
+     * @return The element removed from the front of the ring buffer, or null if the ring buffer is empty.
+     */
+    public T poll() {
+
+        long position = this.indices.get(CONSUMER_INDEX);
+
+        while (true) {
+            int index = (int) position & this.mask;
+            long difference = this.sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                // The slot holds the element of this position, try to claim it.
+                if (this.indices.compareAndSet(CONSUMER_INDEX, position, position + 1)) {
+                    return take(index, position);
+                }
+                position = this.indices.get(CONSUMER_INDEX);
+            }
+            else if (difference < 0) {
+                // The element of this position has not been published yet: the ring buffer is empty.
+                return null;
+            }
+            else {
+                // Another consumer claimed this position, retry with the current one.
+                position = this.indices.get(CONSUMER_INDEX);
+            }
+        }
+    }
+
+    /**
+     * Removes up to maxElements elements from the front of the ring buffer and adds them to the specified collection.
+     * The available elements are claimed together with a single compare-and-set.
+     * If the collection throws an exception, the claimed elements not yet added are dropped and their slots are still freed,
+     * so the producers are never blocked by a slot that no consumer will take.
+     *
+     * @param collection  The collection receiving the elements.
+     * @param maxElements The maximum number of elements to remove.
+     * @return The number of elements removed.
+     */
+    public int drainTo(Collection<? super T> collection, int maxElements) {
+
+        while (maxElements > 0) {
+
+            long position = this.indices.get(CONSUMER_INDEX);
+
+            // Count the published elements that follow the current position.
+            int count = 0;
+            while (count < maxElements && count <= this.mask && this.sequences.get((int) (position + count) & this.mask) == position + count + 1) {
+                count++;
+            }
+
+            if (count == 0) {
+                return 0;
+            }
+
+            // Claim all of them at once, or start again if another consumer moved the index.
+            if (this.indices.compareAndSet(CONSUMER_INDEX, position, position + count)) {
+                int taken = 0; // Number of claimed slots already freed.
+                try {
+                    while (taken < count) {
+                        T element = take((int) (position + taken) & this.mask, position + taken);
+                        taken++;
+                        collection.add(element);
+                    }
+                } finally {
+                    // Free the remaining claimed slots if the collection threw.
+                    while (taken < count) {
+                        take((int) (position + taken) & this.mask, position + taken);
+                        taken++;
+                    }
+                }
+                return count;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Takes the element out of a claimed slot and makes the slot free for the producer of the next lap.
+     *
+     * @param index    The index of the slot.
+     * @param position The consumer position that claimed the slot.
+     * @return The element of the slot.
+     */
+    @SuppressWarnings("unchecked") // The array only holds elements of type T, stored by offer.
+    private T take(int index, long position) {
+        T element = (T) this.theArray[index];
+        this.theArray[index] = null; // Clear the reference so the element can be garbage collected.
+        this.sequences.set(index, position + this.mask + 1);
+        return element;
+    }
+}
@@ -0,0 +1,175 @@
+package datastructures.queue;
+
+import java.util.HashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * IndexedBinaryHeap represents a binary heap that keeps track of the position of every element by its integer ID.
+ * Besides the operations of a binary heap, an element can be found, re-prioritized or removed by its ID in O(log n) time.
+ * Every element of the heap must have a different ID.
+ *
+ * @param <T> The type of elements stored in the heap, must implement Comparable<T> for ordering.
+ */
+public class IndexedBinaryHeap<T extends Comparable<T>> extends BinaryHeap<T> {
+
+    private final ToIntFunction<T> idFunction; // Function returning the ID of an element.
+    private final HashMap<Integer, Integer> positions; // Mapping of the ID of each element to its index in the heap array.
+
+    /**
+     * Constructs an empty indexed binary heap.
+     *
+     * @param idFunction The function returning the ID of an element.
+     */
+    public IndexedBinaryHeap(ToIntFunction<T> idFunction) {
+        super();
+        this.idFunction = idFunction;
+        this.positions = new HashMap<>();
+    }
+
+    /**
+     * Constructs an indexed binary heap from all the elements of the specified array in O(n) time.
+     * The array is reused as the storage of the heap instead of being copied, so the caller must not modify it afterwards.
+     *
+     * @param inputArray The array whose elements are to be placed into the heap.
+     * @param idFunction The function returning the ID of an element.
+     * @throws RuntimeException If two elements have the same ID.
+     */
+    public IndexedBinaryHeap(T[] inputArray, ToIntFunction<T> idFunction) {
+        super();
+        this.idFunction = idFunction;
+        this.positions = new HashMap<>(inputArray.length * 2);
+
+        // Reusing the caller's array as the storage of the heap.
+        this.heapArray = inputArray;
+        this.size = inputArray.length;
+
+        // Index every element before building the heap.
+        for (int i = 0; i < this.size; i++) {
+            if (this.positions.put(this.idFunction.applyAsInt(this.heapArray[i]), i) != null) {
+                System.out.println("Duplicate ID in heap: " + this.idFunction.applyAsInt(this.heapArray[i]));
+                throw new RuntimeException("Duplicate ID in heap: " + this.idFunction.applyAsInt(this.heapArray[i]));
+            }
+        }
+
+        heapify();
+    }
+
+    /**
+     * Inserts an element into the heap based on its priority.
+     *
+     * @param element The element to be enqueued.
+     * @throws RuntimeException If an element with the same ID is already in the heap.
+     */
+    @Override
+    public void enqueue(T element) {
+        int id = this.idFunction.applyAsInt(element);
+        if (this.positions.containsKey(id)) {
+            System.out.println("Duplicate ID in heap: " + id);
+            throw new RuntimeException("Duplicate ID in heap: " + id);
+        }
+        super.enqueue(element);
+    }
+
+    /**
+     * Removes and returns the element with the highest priority.
+     *
+     * @return The removed element or null, if the heap is empty.
+     */
+    @Override
+    public T dequeue() {
+        T elementToRemove = super.dequeue();
+        if (elementToRemove != null) {
+            this.positions.remove(this.idFunction.applyAsInt(elementToRemove));
+        }
+        return elementToRemove;
+    }
+
+    /**
+     * Checks if an element with the specified ID is in the heap.
+     *
+     * @param id The ID of the element.
+     * @return true if the element is in the heap, false otherwise.
+     */
+    public boolean contains(int id) {
+        return this.positions.containsKey(id);
+    }
+
+    /**
+     * Returns the element with the specified ID.
+     *
+     * @param id The ID of the element.
+     * @return The element or null, if no element has this ID.
+     */
+    public T get(int id) {
+        Integer index = this.positions.get(id);
+        return index == null ? null : this.heapArray[index];
+    }
+
+    /**
+     * Restores the position of the element with the specified ID after its priority changed.
+     * The element is moved up if its priority increased, or down if its priority decreased.
+     *
+     * @param id The ID of the element whose priority changed.
+     * @return true if the element was found, false otherwise.
+     */
+    public boolean update(int id) {
+
+        Integer index = this.positions.get(id);
+        if (index == null) {
+            return false;
+        }
+
+        T element = this.heapArray[index];
+
+        // Try to move the element up first; if it did not move, try to move it down.
+        siftUp(index, element);
+        if (this.positions.get(id).intValue() == index) {
+            siftDown(index, element);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes the element with the specified ID from the heap.
+     *
+     * @param id The ID of the element to remove.
+     * @return The removed element or null, if no element has this ID.
+     */
+    public T remove(int id) {
+
+        Integer index = this.positions.remove(id);
+        if (index == null) {
+            return null;
+        }
+
+        T elementToRemove = this.heapArray[index];
+
+        // Take the last element out of the array.
+        this.size--;
+        T lastElement = this.heapArray[this.size];
+        this.heapArray[this.size] = null; // Clear the reference so the element can be garbage collected.
+
+        // Place the last element where the removed element was, and move it up or down to restore the heap order.
+        if (index != this.size) {
+            siftUp(index, lastElement);
+            if (this.heapArray[index] == lastElement) {
+                siftDown(index, lastElement);
+            }
+        }
+
+        return elementToRemove;
+    }
+
+    /**
+     * Stores an element at the specified index of the heap array and records its new position.
+     *
+     * @param index   The index where the element is stored.
+     * @param element The element to be stored.
+     */
+    @Override
+    protected void setAt(int index, T element) {
+        this.heapArray[index] = element;
+        this.positions.put(this.idFunction.applyAsInt(element), index);
+    }
+}
@@ -0,0 +1,110 @@
+package datastructures.queue;
+
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * IndexedPriorityQueue represents a priority queue whose elements can be found, re-prioritized and removed by their integer ID.
+ * It is implemented using an indexed binary heap, so these operations run in O(log n) time instead of scanning the whole queue.
+ * Every element of the queue must have a different ID (for example the ID of a professor).
+ *
+ * @param <T> The type of elements stored in the priority queue, must implement Comparable<T> for ordering.
+ */
+public class IndexedPriorityQueue<T extends Comparable<T>> extends PriorityQueue<T> {
+
+    private final ToIntFunction<T> idFunction; // Function returning the ID of an element.
+
+    /**
+     * Constructor to create an empty indexed priority queue.
+     *
+     * @param idFunction The function returning the ID of an element.
+     */
+    public IndexedPriorityQueue(ToIntFunction<T> idFunction) {
+        super(new IndexedBinaryHeap<>(idFunction));
+        this.idFunction = idFunction;
+    }
+
+    /**
+     * Constructs an indexed priority queue initialized with the elements of the specified list in O(n) time.
+     *
+     * @param inputList  The list whose elements are to be placed into the priority queue.
+     * @param idFunction The function returning the ID of an element.
+     * @throws RuntimeException If two elements have the same ID.
+     */
+    @SuppressWarnings("unchecked") // A generic array cannot be created; the Comparable<?>[] only holds the elements of the list, of type T.
+    public IndexedPriorityQueue(List<T> inputList, ToIntFunction<T> idFunction) {
+        super(new IndexedBinaryHeap<>((T[]) inputList.toArray(new Comparable<?>[0]), idFunction));
+        this.idFunction = idFunction;
+    }
+
+    /**
+     * Returns the indexed binary heap storing the elements of the queue.
+     *
+     * @return The indexed binary heap.
+     */
+    private IndexedBinaryHeap<T> indexedHeap() {
+        return (IndexedBinaryHeap<T>) this.heap;
+    }
+
+    /**
+     * Checks if an element with the specified ID is in the priority queue.
+     *
+     * @param id The ID of the element.
+     * @return true if the element is in the priority queue, false otherwise.
+     */
+    public boolean contains(int id) {
+        return indexedHeap().contains(id);
+    }
+
+    /**
+     * Returns the element with the specified ID.
+     *
+     * @param id The ID of the element.
+     * @return The element or null, if no element has this ID.
+     */
+    public T get(int id) {
+        return indexedHeap().get(id);
+    }
+
+    /**
+     * Restores the position of the element with the specified ID after its priority changed
+     * (for example after the seniority level or hiring date of a professor was corrected).
+     *
+     * @param id The ID of the element whose priority changed.
+     * @return true if the element was found, false otherwise.
+     */
+    public boolean update(int id) {
+        return indexedHeap().update(id);
+    }
+
+    /**
+     * Removes the element with the specified ID from the priority queue.
+     *
+     * @param id The ID of the element to remove.
+     * @return The removed element or null, if no element has this ID.
+     */
+    public T remove(int id) {
+        return indexedHeap().remove(id);
+    }
+
+    /**
+     * Searches for and displays the specified element if found in the priority queue.
+     * The element is found by its ID instead of scanning the queue.
+     *
+     * @param element The element to be searched for and displayed.
+     */
+    @Override
+    public void displayElement(T element) {
+
+        T found = get(this.idFunction.applyAsInt(element));
+
+        if (found != null && found.equals(element)) {
+            System.out.println("Element found: " + found);
+            return;
+        }
+
+        // If the element is not found in the queue, print a message.
+        System.out.println("Element not found in queue.");
+    }
+}
@@ -1,63 +1,146 @@
 package datastructures.queue;
 
+import metrics.QueueOperationEvent;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * PriorityQueue represents a priority queue implemented using a linked list.
+ * PriorityQueue represents a priority queue implemented using an array-backed binary heap.
  * Elements in the queue are ordered based on their natural ordering, as defined by the Comparable interface.
- * Elements are inserted in such a way that they maintain their priority order.
- * Higher priority elements are placed closer to the head of the queue.
+ * Higher priority elements are always dequeued first.
+ * Enqueue and dequeue run in O(log n) time, and building the queue from a list or an array of n elements takes O(n) time.
  *
  * @param <T> The type of elements stored in the priority queue, must implement Comparable<T> for ordering.
  */
 public class PriorityQueue<T extends Comparable<T>> extends QueueLinkedList<T>{
 
+    protected BinaryHeap<T> heap; // Binary heap storing the elements of the priority queue.
+
+    /**
+     * Constructor to create an empty priority queue.
+     */
     public PriorityQueue() {
-        super();
+        this(new BinaryHeap<>());
     }
 
+    /**
+     * Constructs a priority queue initialized with the elements of the specified list.
+     * The list is copied once into an array and the heap is built from it in O(n) time.
+     *
+     * @param inputList The list whose elements are to be placed into the priority queue.
+     */
+    @SuppressWarnings("unchecked") // A generic array cannot be created; the Comparable<?>[] only holds the elements of the list, of type T.
     public PriorityQueue(List<T> inputList) {
+        this((T[]) inputList.toArray(new Comparable<?>[0]));
+    }
+
+    /**
+     * Constructs a priority queue initialized with the elements of the specified array.
+     * The heap is built from the array in O(n) time and the array is reused as its storage, so the caller must not modify it afterwards.
+     *
+     * @param inputArray The array whose elements are to be placed into the priority queue.
+     */
+    public PriorityQueue(T[] inputArray) {
+        this(new BinaryHeap<>(inputArray));
+    }
+
+    /**
+     * Constructs a priority queue storing its elements in the specified heap.
+     *
+     * @param heap The binary heap storing the elements of the priority queue.
+     */
+    protected PriorityQueue(BinaryHeap<T> heap) {
+        super();
+        this.heap = heap;
+    }
 
-        super(inputList);
+    /**
+     * Method to get the number of elements in the priority queue.
+     *
+     * @return The size of the priority queue.
+     */
+    @Override
+    public int getSize() {
+        return this.heap.getSize();
+    }
 
+    /**
+     * Method to check if the priority queue is empty.
+     *
+     * @return true if the priority queue is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.heap.isEmpty();
     }
 
     /**
      * Inserts an element into the priority queue based on its priority.
-     * If the queue is empty or the new element has higher priority than the head node, the new node is added before the head node.
-     * Otherwise, the new element is inserted in the correct position in the queue.
      *
      * @param element The element to be enqueued.
      */
     @Override
     public void enqueue(T element) {
 
-        // Create a new node with the given element.
-        Node newNode = new Node(element);
+        // JFR event of the operation (only committed when recording and above the threshold of the event).
+        QueueOperationEvent event = new QueueOperationEvent();
+        event.begin();
 
-        // If the queue is empty or the new element has higher priority than the head node, add the new node before the head node.
-        if (isEmpty() || element.compareTo(this.head.getData()) >= 0) {
-            newNode.setNext(this.head);
-            this.head = newNode;
+        this.heap.enqueue(element);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "enqueue";
+            event.size = this.heap.getSize();
+            event.commit();
         }
-        // Otherwise, find the correct position to insert the new element in the queue.
-        else {
-            Node current = this.head;
+    }
 
-            // Traverse the queue to find the correct position to insert the new element.
-            while (current.getNext() != null && element.compareTo((current.getNext()).getData()) < 0) {
-                current = current.getNext();
-            }
+    /**
+     * Removes and returns the element with the highest priority.
+     *
+     * @return The dequeued element ((Removed element)) or null, if queue is empty.
+     */
+    @Override
+    public T dequeue() {
+
+        // If queue is empty then returning null.
+        if (isEmpty()) {
+            System.out.println("No element present.");
+            return null;
+        }
+
+        QueueOperationEvent event = new QueueOperationEvent();
+        event.begin();
+
+        T element = this.heap.dequeue();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "dequeue";
+            event.size = this.heap.getSize();
+            event.commit();
+        }
+
+        return element;
+    }
 
-            // Insert the new element after the current node.
-            newNode.setNext(current.getNext());
-            current.setNext(newNode);
+    /**
+     * Method to display all elements in the priority queue from the highest to the lowest priority.
+     */
+    @Override
+    public void displayAllElement() {
+        if (isEmpty()) { // Check if the queue is empty.
+            System.out.println("Queue is empty."); // If empty, print a message indicating that the queue is empty.
+            return;
         }
 
-        // Increment the size of the queue.
-        this.size++;
+        // Print the data of each element in priority order.
+        for (T element : toArray()) {
+            System.out.println(element);
+        }
+
+        System.out.println();
     }
 
     /**
@@ -67,16 +150,12 @@ public class PriorityQueue<T extends Comparable<T>> extends QueueLinkedList<T>{
      */
     public void displayElement(T element) {
 
-        Node current = this.head;
-
-        // Traverse the queue to find the specified element.
-        while (current != null) {
-            if (current.getData().equals(element)) {
-                System.out.println("Element found: " + current.getData());
+        // Traverse the heap to find the specified element.
+        for (int i = 0; i < this.heap.size; i++) {
+            if (this.heap.heapArray[i].equals(element)) {
+                System.out.println("Element found: " + this.heap.heapArray[i]);
                 return;
             }
-
-            current = current.getNext();
         }
 
         // If the element is not found in the queue, print a message.
@@ -90,16 +169,13 @@ public class PriorityQueue<T extends Comparable<T>> extends QueueLinkedList<T>{
      */
     public void displayHigherElement(T element) {
 
-        Node current = this.head;
-
         System.out.println("Higher priority elements than " + element + ":");
 
-        // Traverse the queue and print elements with higher priority.
-        while (current != null) {
-            if (current.getData().compareTo(element) > 0) {
-                System.out.println(current.getData());
+        // Traverse the queue in priority order and print elements with higher priority.
+        for (T current : toArray()) {
+            if (current.compareTo(element) > 0) {
+                System.out.println(current);
             }
-            current = current.getNext();
         }
     }
 
@@ -110,35 +186,22 @@ public class PriorityQueue<T extends Comparable<T>> extends QueueLinkedList<T>{
      */
     public void displayLowerElement(T element) {
 
-        Node current = this.head;
-
         System.out.println("Lower priority elements than " + element + ":");
 
-        // Traverse the queue and print elements with lower priority.
-        while (current != null) {
-            if (current.getData().compareTo(element) < 0) {
-                System.out.println(current.getData());
+        // Traverse the queue in priority order and print elements with lower priority.
+        for (T current : toArray()) {
+            if (current.compareTo(element) < 0) {
+                System.out.println(current);
             }
-            current = current.getNext();
         }
     }
 
     /**
-     * Converting the priority queue into the array.
+     * Converting the priority queue into the array ordered from the highest to the lowest priority.
      *
      * @return Return an array.
      */
     public T[] toArray() {
-
-        List<T> list = new ArrayList<>();
-        Node current = this.head;
-
-        while (current != null) {
-            list.add(current.getData());
-            current = current.getNext();
-        }
-
-        // Convert ArrayList to array
-        return list.toArray((T[]) new Object[list.size()]);
+        return this.heap.toArray();
     }
 }
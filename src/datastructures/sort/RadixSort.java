@@ -0,0 +1,100 @@
+package datastructures.sort;
+
+import java.util.Arrays;
+
+/**
+ * RadixSort sorts items by a long key using a least significant digit (LSD) radix sort.
+ * The keys are processed one byte at a time, so sorting n items takes 8 linear passes at most instead of O(n log n) comparisons.
+ * Passes in which every key has the same byte are skipped.
+ * The sort is stable: items with equal keys keep their original relative order.
+ */
+public class RadixSort {
+
+    private static final int RADIX = 256; // Number of buckets of each pass (one byte of the key).
+
+    /**
+     * Private constructor, this class only has static methods.
+     */
+    private RadixSort() {
+    }
+
+    /**
+     * Sorts the keys and the items in descending order of the keys (signed comparison).
+     * The item at index i is moved together with the key at index i.
+     *
+     * @param keys  The keys to sort by.
+     * @param items The items to be sorted with the keys.
+     * @param <T>   The type of the items.
+     * @throws IllegalArgumentException If the arrays do not have the same length.
+     */
+    public static <T> void sortDescending(long[] keys, T[] items) {
+
+        int length = keys.length;
+        if (items.length != length) {
+            throw new IllegalArgumentException("Keys and items must have the same length.");
+        }
+
+        // Buffers receiving the keys and items of each pass.
+        long[] sourceKeys = keys;
+        Object[] sourceItems = items;
+        long[] targetKeys = new long[length];
+        Object[] targetItems = new Object[length];
+
+        int[] bucketPositions = new int[RADIX];
+
+        for (int shift = 0; shift < Long.SIZE && length > 1; shift += 8) {
+
+            // Count the number of keys in each bucket.
+            Arrays.fill(bucketPositions, 0);
+            for (int i = 0; i < length; i++) {
+                bucketPositions[digit(sourceKeys[i], shift)]++;
+            }
+
+            // Skip the pass if every key has the same byte.
+            if (bucketPositions[digit(sourceKeys[0], shift)] == length) {
+                continue;
+            }
+
+            // Compute the first position of each bucket, starting from the highest byte for descending order.
+            int position = 0;
+            for (int bucket = RADIX - 1; bucket >= 0; bucket--) {
+                int count = bucketPositions[bucket];
+                bucketPositions[bucket] = position;
+                position += count;
+            }
+
+            // Move the keys and items to their bucket (keeping their relative order).
+            for (int i = 0; i < length; i++) {
+                int targetIndex = bucketPositions[digit(sourceKeys[i], shift)]++;
+                targetKeys[targetIndex] = sourceKeys[i];
+                targetItems[targetIndex] = sourceItems[i];
+            }
+
+            // Swap the source and target buffers for the next pass.
+            long[] tempKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = tempKeys;
+
+            Object[] tempItems = sourceItems;
+            sourceItems = targetItems;
+            targetItems = tempItems;
+        }
+
+        // Copy the result back if the last pass ended in the buffers.
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, length);
+            System.arraycopy(sourceItems, 0, items, 0, length);
+        }
+    }
+
+    /**
+     * Extracts one byte of a key, with the sign bit flipped so that the unsigned order of the bytes matches the signed order of the keys.
+     *
+     * @param key   The key.
+     * @param shift The position of the byte in bits.
+     * @return The byte as a value from 0 to 255.
+     */
+    private static int digit(long key, int shift) {
+        return (int) (((key ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1));
+    }
+}
@@ -0,0 +1,373 @@
+package io;
+
+import model.Assignment;
+import model.Course;
+import model.Professor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * AssignmentReportWriter streams the result of the matching as CSV or as JSON lines, one record per assigned course of each professor,
+ * instead of printing the toString of every professor.
+ * <p>
+ * The records are encoded directly into a large direct buffer (no String is built for a record, a professor or the department) and the buffer
+ * is written to the channel each time it is full, so the whole report costs a few large writes instead of one synchronized System.out call per line.
+ * <p>
+ * Fields of a record: professor ID, professor name, course ID, course title, discipline, number of groups assigned and weekly hours of the course.
+ * A professor without any assigned course has one record with empty (CSV) or null (JSON) course fields and 0 groups.
+ */
+public class AssignmentReportWriter implements AutoCloseable {
+
+    /**
+     * Format of the report.
+     */
+    public enum Format {
+        /**
+         * Comma-separated values with a header line (RFC 4180 quoting).
+         */
+        CSV,
+        /**
+         * One JSON object per line.
+         */
+        JSON_LINES
+    }
+
+    /**
+     * Size of the output buffer, in bytes.
+     */
+    public static final int BUFFER_SIZE = 1 << 20;
+
+    private static final String CSV_HEADER = "professor_id,professor_name,course_id,course_title,discipline,groups,weekly_hours";
+
+    private final WritableByteChannel channel; // The channel the report is written to.
+    private final Format format; // The format of the report.
+    private final ByteBuffer buffer; // The output buffer, written to the channel when full.
+    private final byte[] digits; // Digits of the int being written, from the last one.
+    private long recordCount; // Number of records written.
+
+    /**
+     * Constructs a report writer on a channel. For CSV, the header line is written first.
+     *
+     * @param channel The channel the report is written to (closed by close).
+     * @param format  The format of the report.
+     * @throws NullPointerException If the channel or the format is null.
+     * @throws IOException          If the header cannot be written.
+     */
+    public AssignmentReportWriter(WritableByteChannel channel, Format format) throws IOException {
+
+        if (channel == null || format == null) {
+            System.out.println("Channel and format cannot be null.");
+            throw new NullPointerException("Channel and format cannot be null.");
+        }
+
+        this.channel = channel;
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.digits = new byte[10];
+        this.recordCount = 0;
+
+        if (format == Format.CSV) {
+            putAscii(CSV_HEADER);
+            put((byte) '\n');
+        }
+    }
+
+    /**
+     * Opens a report file, replacing it if it exists.
+     *
+     * @param path   The path of the report file.
+     * @param format The format of the report.
+     * @return The report writer.
+     * @throws IOException If the file cannot be created.
+     */
+    public static AssignmentReportWriter open(Path path, Format format) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            return new AssignmentReportWriter(channel, format);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Retrieves the number of records written.
+     *
+     * @return The number of records.
+     */
+    public long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Writes the records of a professor: one per assigned course, or one without course if nothing is assigned.
+     *
+     * @param professor The professor.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    public void writeProfessor(Professor professor) throws IOException {
+
+        ArrayList<Assignment> listOfAffectedCourses = professor.getListOfAffectedCourses();
+        if (listOfAffectedCourses == null || listOfAffectedCourses.isEmpty()) {
+            writeRecord(professor, null);
+            return;
+        }
+
+        for (Assignment assignment : listOfAffectedCourses) {
+            writeRecord(professor, assignment);
+        }
+    }
+
+    /**
+     * Writes the records of every professor, in the order of the iterable.
+     *
+     * @param professors The professors.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    public void writeProfessors(Iterable<Professor> professors) throws IOException {
+        for (Professor professor : professors) {
+            writeProfessor(professor);
+        }
+    }
+
+    /**
+     * Writes the content of the buffer to the channel.
+     *
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    public void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer and closes the channel.
+     *
+     * @throws IOException If the buffer cannot be written or the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Writes one record.
+     *
+     * @param professor  The professor.
+     * @param assignment The assigned course, or null if the professor has no assigned course.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void writeRecord(Professor professor, Assignment assignment) throws IOException {
+
+        Course course = assignment == null ? null : assignment.getCourse();
+        int groups = assignment == null ? 0 : assignment.getNumOfGroups();
+        int weeklyHours = course == null ? 0 : Course.getWeeklyHours(course.getNumberOfHours());
+
+        if (this.format == Format.CSV) {
+            putInt(professor.getId());
+            put((byte) ',');
+            putCsvText(professor.getName());
+            put((byte) ',');
+            putCsvText(course == null ? null : course.getId());
+            put((byte) ',');
+            putCsvText(course == null ? null : course.getTitle());
+            put((byte) ',');
+            putCsvText(course == null ? null : course.getDiscipline());
+            put((byte) ',');
+            putInt(groups);
+            put((byte) ',');
+            putInt(weeklyHours);
+        }
+        else {
+            putAscii("{\"professorId\":");
+            putInt(professor.getId());
+            putAscii(",\"professorName\":");
+            putJsonText(professor.getName());
+            putAscii(",\"courseId\":");
+            putJsonText(course == null ? null : course.getId());
+            putAscii(",\"courseTitle\":");
+            putJsonText(course == null ? null : course.getTitle());
+            putAscii(",\"discipline\":");
+            putJsonText(course == null ? null : course.getDiscipline());
+            putAscii(",\"groups\":");
+            putInt(groups);
+            putAscii(",\"weeklyHours\":");
+            putInt(weeklyHours);
+            put((byte) '}');
+        }
+
+        put((byte) '\n');
+        this.recordCount++;
+    }
+
+    /**
+     * Writes a CSV field, quoted if it contains a comma, a quote or a line break (quotes are doubled). A null text is an empty field.
+     *
+     * @param text The text of the field.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void putCsvText(String text) throws IOException {
+
+        if (text == null) {
+            return;
+        }
+
+        boolean quoted = false;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char character = text.charAt(i);
+            quoted = character == ',' || character == '"' || character == '\n' || character == '\r';
+        }
+
+        if (!quoted) {
+            putText(text, 0, text.length());
+            return;
+        }
+
+        // Every quote of the text is doubled: write up to and including each quote, then the quote again.
+        put((byte) '"');
+        int segmentStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                putText(text, segmentStart, i + 1);
+                put((byte) '"');
+                segmentStart = i + 1;
+            }
+        }
+        putText(text, segmentStart, text.length());
+        put((byte) '"');
+    }
+
+    /**
+     * Writes a JSON string (quotes, backslashes and control characters are escaped). A null text is written as null.
+     *
+     * @param text The text.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void putJsonText(String text) throws IOException {
+
+        if (text == null) {
+            putAscii("null");
+            return;
+        }
+
+        put((byte) '"');
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character == '"' || character == '\\') {
+                put((byte) '\\');
+                put((byte) character);
+            }
+            else if (character < 0x20) {
+                putAscii(String.format("\\u%04x", (int) character));
+            }
+            else if (character < 0x80) {
+                put((byte) character);
+            }
+            else {
+                // Non-ASCII characters are rare: encode the run of non-ASCII characters at once.
+                int end = i + 1;
+                while (end < text.length() && text.charAt(end) >= 0x80) {
+                    end++;
+                }
+                putText(text, i, end);
+                i = end - 1;
+            }
+        }
+        put((byte) '"');
+    }
+
+    /**
+     * Writes a part of a text in UTF-8, byte by byte while it is ASCII.
+     *
+     * @param text  The text.
+     * @param start The index of the first character.
+     * @param end   The index after the last character.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void putText(String text, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) >= 0x80) {
+                // Only the non-ASCII part is encoded as a byte array (a surrogate pair is never split, its characters are both non-ASCII).
+                putBytes(text.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes an ASCII text.
+     *
+     * @param text The text (only ASCII characters).
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes an int in decimal, without creating a String.
+     *
+     * @param value The value.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void putInt(int value) throws IOException {
+
+        if (value < 0) {
+            put((byte) '-');
+        }
+
+        // Digits of the absolute value (as a negative number, so Integer.MIN_VALUE works), from the last one.
+        int count = 0;
+        int remaining = value < 0 ? value : -value;
+        do {
+            this.digits[count++] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+
+        while (count > 0) {
+            put(this.digits[--count]);
+        }
+    }
+
+    /**
+     * Writes bytes.
+     *
+     * @param bytes The bytes.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void putBytes(byte[] bytes) throws IOException {
+        for (byte value : bytes) {
+            put(value);
+        }
+    }
+
+    /**
+     * Writes one byte, flushing the buffer first if it is full.
+     *
+     * @param value The byte.
+     * @throws IOException If the buffer cannot be written to the channel.
+     */
+    private void put(byte value) throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            flush();
+        }
+        this.buffer.put(value);
+    }
+}
@@ -0,0 +1,312 @@
+package io;
+
+import model.CourseSelection;
+import model.ProfessorSelection;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BinarySelectionFile holds the selections of every professor in a single indexed binary file, instead of one text file per professor.
+ * The file is opened once and memory-mapped, and the selection of a professor is found with a binary search in the index.
+ * <p>
+ * The file records the name, size and last modification time of every selection text file it was converted from (see SourceFingerprints).
+ * openIfUpToDate only opens it while these text files are unchanged, so an edited selection text file is never hidden by a stale binary file.
+ * <p>
+ * Format of the file (big-endian):
+ * <pre>
+ * header:  int magic ("PCAS"), int version, int professorCount, int indexOffset
+ * sources: the fingerprints of the selection text files (see SourceFingerprints)
+ * index:   at indexOffset, professorCount entries sorted by professor ID: int professorId, long recordOffset
+ * records: int maxRequestedHours, int selectionCount,
+ *          then for each selection: unsigned short courseIdLength, courseIdLength bytes of UTF-8 course ID, int requestedNumberOfGroups
+ * </pre>
+ */
+public class BinarySelectionFile implements SelectionSource, AutoCloseable {
+
+    /**
+     * Name of the consolidated selections file in the text files directory.
+     */
+    public static final String DEFAULT_FILE_NAME = "selections.bin";
+
+    private static final int MAGIC = 0x50434153; // "PCAS" (Professor Course Assignment Selections).
+    private static final int VERSION = 2; // Version of the format.
+    private static final int HEADER_SIZE = 16; // Size of the header in bytes.
+    private static final String SELECTION_FILE_SUFFIX = "_select.txt"; // Suffix of the selection text files.
+    private static final int INDEX_ENTRY_SIZE = 12; // Size of an index entry in bytes.
+
+    private final RandomAccessFile file; // The opened file.
+    private final MappedByteBuffer buffer; // The mapped content of the file.
+    private final int professorCount; // Number of professors in the file.
+    private final int indexOffset; // Offset of the index in the file.
+
+    /**
+     * Opens and maps a consolidated selections file.
+     *
+     * @param path The path of the file.
+     * @throws IOException If the file cannot be read.
+     * @throws RuntimeException If the file is not a selections file of a supported version.
+     */
+    public BinarySelectionFile(String path) throws IOException {
+
+        this.file = new RandomAccessFile(path, "r");
+
+        try {
+            long size = this.file.length();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new RuntimeException("Invalid selections file: " + path);
+            }
+
+            this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION) {
+                throw new RuntimeException("Invalid selections file: " + path);
+            }
+            this.professorCount = this.buffer.getInt(8);
+            this.indexOffset = this.buffer.getInt(12);
+
+        } catch (IOException | RuntimeException exception) {
+            this.file.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Opens a consolidated selections file only if it is up to date with the selection text files of a directory.
+     *
+     * @param path      The path of the file.
+     * @param directory The directory of the selection text files the file was converted from.
+     * @return The opened file, or null if it does not exist, has another version or is stale (the text files must be read instead).
+     * @throws IOException If the file cannot be read.
+     */
+    public static BinarySelectionFile openIfUpToDate(String path, String directory) throws IOException {
+
+        if (!new File(path).exists()) {
+            return null;
+        }
+
+        BinarySelectionFile binaryFile;
+        try {
+            binaryFile = new BinarySelectionFile(path);
+        } catch (RuntimeException exception) {
+            // Not a selections file of the current version: it must be converted again.
+            return null;
+        }
+
+        if (!binaryFile.isUpToDate(directory)) {
+            binaryFile.close();
+            return null;
+        }
+
+        return binaryFile;
+    }
+
+    /**
+     * Checks if the selection text files of a directory are exactly the ones the file was converted from (same names, sizes and
+     * last modification times).
+     *
+     * @param directory The directory of the selection text files.
+     * @return true if the file is up to date, false if a selection text file was edited, added or removed since the conversion.
+     */
+    public boolean isUpToDate(String directory) {
+        return SourceFingerprints.matches(this.buffer.duplicate().position(HEADER_SIZE), fingerprintSources(directory));
+    }
+
+    /**
+     * Retrieves the number of professors in the file.
+     *
+     * @return The number of professors.
+     */
+    public int getProfessorCount() {
+        return this.professorCount;
+    }
+
+    /**
+     * Retrieves the selection of the specified professor.
+     *
+     * @param professorId The ID of the professor.
+     * @return The selection of the professor, or null if the professor is not in the file.
+     */
+    @Override
+    public ProfessorSelection getSelection(int professorId) {
+
+        // Binary search of the professor ID in the index.
+        int low = 0;
+        int high = this.professorCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = this.indexOffset + middle * INDEX_ENTRY_SIZE;
+            int middleId = this.buffer.getInt(entry);
+
+            if (middleId < professorId) {
+                low = middle + 1;
+            }
+            else if (middleId > professorId) {
+                high = middle - 1;
+            }
+            else {
+                return readRecord(professorId, (int) this.buffer.getLong(entry + 4));
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the record of a professor. Only absolute reads are used, so several threads can read the file at the same time.
+     *
+     * @param professorId The ID of the professor.
+     * @param offset      The offset of the record in the file.
+     * @return The selection of the professor.
+     */
+    private ProfessorSelection readRecord(int professorId, int offset) {
+
+        int maxRequestedHours = this.buffer.getInt(offset);
+        int selectionCount = this.buffer.getInt(offset + 4);
+        offset += 8;
+
+        ArrayList<CourseSelection> courseSelections = new ArrayList<>(selectionCount);
+
+        for (int i = 0; i < selectionCount; i++) {
+            int courseIdLength = Short.toUnsignedInt(this.buffer.getShort(offset));
+            byte[] courseIdBytes = new byte[courseIdLength];
+            this.buffer.get(offset + 2, courseIdBytes);
+            offset += 2 + courseIdLength;
+
+            courseSelections.add(new CourseSelection(new String(courseIdBytes, StandardCharsets.UTF_8), this.buffer.getInt(offset)));
+            offset += 4;
+        }
+
+        return new ProfessorSelection(professorId, maxRequestedHours, courseSelections);
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.file.close();
+    }
+
+    /**
+     * Writes the selections of the professors into a consolidated selections file, recording the current selection text files of a directory.
+     *
+     * @param selections      The selections to write (one per professor), read from the current selection text files.
+     * @param sourceDirectory The directory of the selection text files the selections were read from.
+     * @param path            The path of the file to write.
+     * @throws IOException If the file cannot be written.
+     * @throws RuntimeException If two selections belong to the same professor or a course ID is too long.
+     */
+    public static void write(Collection<ProfessorSelection> selections, String sourceDirectory, String path) throws IOException {
+        write(selections, fingerprintSources(sourceDirectory), path);
+    }
+
+    /**
+     * Writes the selections of the professors into a consolidated selections file.
+     *
+     * @param selections The selections to write (one per professor).
+     * @param sources    The fingerprints of the selection text files, taken before the selections were read from them
+     *                   (so a text file edited during the conversion makes the file stale).
+     * @param path       The path of the file to write.
+     * @throws IOException If the file cannot be written.
+     * @throws RuntimeException If two selections belong to the same professor or a course ID is too long.
+     */
+    static void write(Collection<ProfessorSelection> selections, Map<String, long[]> sources, String path) throws IOException {
+
+        // Encode the fingerprints of the sources once, to know where the index starts.
+        ByteArrayOutputStream encodedSources = new ByteArrayOutputStream();
+        SourceFingerprints.write(new DataOutputStream(encodedSources), sources);
+        long indexOffset = HEADER_SIZE + encodedSources.size();
+
+        // The index is sorted by professor ID for the binary search.
+        List<ProfessorSelection> sortedSelections = new ArrayList<>(selections);
+        sortedSelections.sort(Comparator.comparingInt(ProfessorSelection::getProfessorId));
+
+        // Encode the course IDs once, to compute the offsets of the records and then write them.
+        List<byte[][]> encodedCourseIds = new ArrayList<>(sortedSelections.size());
+        long offset = indexOffset + (long) sortedSelections.size() * INDEX_ENTRY_SIZE;
+        long[] recordOffsets = new long[sortedSelections.size()];
+
+        for (int i = 0; i < sortedSelections.size(); i++) {
+            ProfessorSelection selection = sortedSelections.get(i);
+            if (i > 0 && sortedSelections.get(i - 1).getProfessorId() == selection.getProfessorId()) {
+                throw new RuntimeException("Duplicate selection for professor ID: " + selection.getProfessorId());
+            }
+
+            recordOffsets[i] = offset;
+            offset += 8;
+
+            byte[][] courseIds = new byte[selection.getCourseSelections().size()][];
+            for (int j = 0; j < courseIds.length; j++) {
+                courseIds[j] = selection.getCourseSelections().get(j).getCourseId().getBytes(StandardCharsets.UTF_8);
+                if (courseIds[j].length > 0xFFFF) {
+                    throw new RuntimeException("Course ID too long: " + selection.getCourseSelections().get(j).getCourseId());
+                }
+                offset += 2 + courseIds[j].length + 4;
+            }
+            encodedCourseIds.add(courseIds);
+        }
+
+        if (offset > Integer.MAX_VALUE) {
+            throw new RuntimeException("Too many selections for a single file.");
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(path)), 1 << 16))) {
+
+            // Header.
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(sortedSelections.size());
+            output.writeInt((int) indexOffset);
+
+            // Sources.
+            encodedSources.writeTo(output);
+
+            // Index.
+            for (int i = 0; i < sortedSelections.size(); i++) {
+                output.writeInt(sortedSelections.get(i).getProfessorId());
+                output.writeLong(recordOffsets[i]);
+            }
+
+            // Records.
+            for (int i = 0; i < sortedSelections.size(); i++) {
+                ProfessorSelection selection = sortedSelections.get(i);
+                byte[][] courseIds = encodedCourseIds.get(i);
+
+                output.writeInt(selection.getMaxRequestedHours());
+                output.writeInt(courseIds.length);
+                for (int j = 0; j < courseIds.length; j++) {
+                    output.writeShort(courseIds[j].length);
+                    output.write(courseIds[j]);
+                    output.writeInt(selection.getCourseSelections().get(j).getRequestedNumberOfGroups());
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the size and last modification time of every selection text file of a directory.
+     *
+     * @param directory The directory of the selection text files.
+     * @return The size and last modification time of each selection text file, keyed by file name.
+     */
+    static Map<String, long[]> fingerprintSources(String directory) {
+        return SourceFingerprints.of(directory, (dir, name) -> name.endsWith(SELECTION_FILE_SUFFIX));
+    }
+}
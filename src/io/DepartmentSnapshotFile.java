@@ -0,0 +1,280 @@
+package io;
+
+import metrics.FileLoadEvent;
+import model.Course;
+import model.CourseSelection;
+import model.Department;
+import model.Professor;
+import model.ProfessorSelection;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DepartmentSnapshotFile saves a fully loaded department (courses, professors with their disciplines, and the selection of each professor)
+ * into a compact, versioned binary file, so the next launch can load it through a memory-mapped read instead of parsing all the text files.
+ * <p>
+ * The snapshot records the name, size and last modification time of every source file it was built from
+ * (Professors.txt, Courses.txt, the consolidated selections file and every selection text file).
+ * A snapshot is stale, and is not loaded, as soon as one of these files changed, was added or was removed.
+ * <p>
+ * Format of the file (big-endian, strings are an unsigned short length followed by UTF-8 bytes):
+ * <pre>
+ * header:     int magic ("PCDS"), int version
+ * sources:    int count, then for each file: string name, long size, long lastModified
+ * courses:    int count, then for each course: string id, string title, string discipline, int numberOfHours, int numOfGroups
+ * professors: int count, then for each professor: int id, string name, double seniorityLevel, long hiringDate (epoch day),
+ *             int disciplineCount, disciplineCount strings
+ * selections: int count, then for each selection: int professorId, int maxRequestedHours, int courseCount,
+ *             then for each course: string courseId, int requestedNumberOfGroups
+ * </pre>
+ */
+public class DepartmentSnapshotFile implements SelectionSource {
+
+    /**
+     * Name of the snapshot file in the text files directory.
+     */
+    public static final String DEFAULT_FILE_NAME = "department.snapshot";
+
+    private static final int MAGIC = 0x50434453; // "PCDS" (Professor Course Department Snapshot).
+    private static final int VERSION = 1; // Version of the format.
+    private static final long NO_HIRING_DATE = Long.MIN_VALUE; // Stored instead of the epoch day when the hiring date is null.
+
+    /**
+     * The department loaded from the snapshot.
+     */
+    private final Department department;
+
+    /**
+     * The selection of each professor that has one, keyed by professor ID.
+     */
+    private final HashMap<Integer, ProfessorSelection> selectionMap;
+
+    /**
+     * Private constructor, snapshots are loaded with the static load method.
+     *
+     * @param department   The department loaded from the snapshot.
+     * @param selectionMap The selection of each professor that has one, keyed by professor ID.
+     */
+    private DepartmentSnapshotFile(Department department, HashMap<Integer, ProfessorSelection> selectionMap) {
+        this.department = department;
+        this.selectionMap = selectionMap;
+    }
+
+    /**
+     * Retrieves the department loaded from the snapshot.
+     *
+     * @return The department.
+     */
+    public Department getDepartment() {
+        return this.department;
+    }
+
+    /**
+     * Retrieves the selection of the specified professor.
+     *
+     * @param professorId The ID of the professor.
+     * @return The selection of the professor, or null if the professor had no selection.
+     */
+    @Override
+    public ProfessorSelection getSelection(int professorId) {
+        return this.selectionMap.get(professorId);
+    }
+
+    /**
+     * Loads a snapshot if it exists and is up to date with the text files directory.
+     *
+     * @param snapshotPath The path of the snapshot file.
+     * @param directory    The text files directory the snapshot was built from.
+     * @return The loaded snapshot, or null if it does not exist, is stale or has another version.
+     * @throws IOException If the snapshot file cannot be read.
+     */
+    public static DepartmentSnapshotFile load(String snapshotPath, String directory) throws IOException {
+
+        File snapshotFile = new File(snapshotPath);
+        if (!snapshotFile.exists()) {
+            return null;
+        }
+
+        // JFR event of the load (success is false when the snapshot is stale or cannot be read).
+        FileLoadEvent event = new FileLoadEvent();
+        event.begin();
+        DepartmentSnapshotFile snapshot = null;
+
+        try {
+            snapshot = read(snapshotFile, directory);
+            return snapshot;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = snapshotPath;
+                event.kind = "snapshot";
+                event.bytes = snapshotFile.length();
+                event.records = snapshot == null ? 0 : snapshot.department.getListOfProfs().size() + snapshot.department.getCourseCatalog().getSize();
+                event.success = snapshot != null;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot file through a memory-mapped buffer.
+     *
+     * @param snapshotFile The snapshot file (it exists).
+     * @param directory    The text files directory the snapshot was built from.
+     * @return The loaded snapshot, or null if it is stale or has another version.
+     * @throws IOException If the snapshot file cannot be read.
+     */
+    private static DepartmentSnapshotFile read(File snapshotFile, String directory) throws IOException {
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "r"); FileChannel channel = file.getChannel()) {
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+
+            // Compare the recorded source files with the current ones before reading anything else.
+            if (!SourceFingerprints.matches(buffer, fingerprintSources(directory))) {
+                return null;
+            }
+
+            // Courses.
+            HashMap<String, Course> courseMap = new HashMap<>();
+            int courseCount = buffer.getInt();
+            for (int i = 0; i < courseCount; i++) {
+                Course course = new Course(SourceFingerprints.readString(buffer), SourceFingerprints.readString(buffer), SourceFingerprints.readString(buffer), buffer.getInt(), buffer.getInt());
+                courseMap.put(course.getId(), course);
+            }
+
+            // Professors.
+            int professorCount = buffer.getInt();
+            ArrayList<Professor> listOfProfs = new ArrayList<>(professorCount);
+            for (int i = 0; i < professorCount; i++) {
+                int id = buffer.getInt();
+                String name = SourceFingerprints.readString(buffer);
+                double seniorityLevel = buffer.getDouble();
+                long epochDay = buffer.getLong();
+                int disciplineCount = buffer.getInt();
+                // The disciplines are kept in the order they were saved in, so the professor prints them as when loaded from the text files.
+                HashSet<String> setOfDisciplines = new LinkedHashSet<>();
+                for (int j = 0; j < disciplineCount; j++) {
+                    setOfDisciplines.add(SourceFingerprints.readString(buffer));
+                }
+                listOfProfs.add(new Professor(id, name, seniorityLevel, epochDay == NO_HIRING_DATE ? null : LocalDate.ofEpochDay(epochDay), setOfDisciplines));
+            }
+
+            // Selections.
+            int selectionCount = buffer.getInt();
+            HashMap<Integer, ProfessorSelection> selectionMap = new HashMap<>(selectionCount * 2);
+            for (int i = 0; i < selectionCount; i++) {
+                int professorId = buffer.getInt();
+                int maxRequestedHours = buffer.getInt();
+                int courseSelectionCount = buffer.getInt();
+                ArrayList<CourseSelection> courseSelections = new ArrayList<>(courseSelectionCount);
+                for (int j = 0; j < courseSelectionCount; j++) {
+                    courseSelections.add(new CourseSelection(SourceFingerprints.readString(buffer), buffer.getInt()));
+                }
+                selectionMap.put(professorId, new ProfessorSelection(professorId, maxRequestedHours, courseSelections));
+            }
+
+            Department department = new Department(listOfProfs);
+            department.setCourseMap(courseMap);
+
+            return new DepartmentSnapshotFile(department, selectionMap);
+        }
+    }
+
+    /**
+     * Writes a snapshot of a loaded department. Must be called before any course is assigned, while the department matches the text files.
+     *
+     * @param department   The loaded department.
+     * @param selections   The selection of each professor that has one.
+     * @param sources      The fingerprints of the source files (see fingerprintSources), taken before the department and the selections
+     *                     were read from them, so a file edited in the meantime makes the snapshot stale instead of hiding the edit.
+     * @param snapshotPath The path of the snapshot file to write.
+     * @throws IOException If the snapshot file cannot be written.
+     */
+    public static void write(Department department, Iterable<ProfessorSelection> selections, Map<String, long[]> sources, String snapshotPath) throws IOException {
+
+        // Write into a temporary file first, so a partially written snapshot is never loaded.
+        File temporaryFile = new File(snapshotPath + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile), 1 << 16))) {
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+
+            // Sources.
+            SourceFingerprints.write(output, sources);
+
+            // Courses, in the iteration order of the course map so the loaded map iterates in the same order.
+            output.writeInt(department.getCourseMap().size());
+            for (Course course : department.getCourseMap().values()) {
+                SourceFingerprints.writeString(output, course.getId());
+                SourceFingerprints.writeString(output, course.getTitle());
+                SourceFingerprints.writeString(output, course.getDiscipline());
+                output.writeInt(course.getNumberOfHours());
+                output.writeInt(course.getNumOfGroups());
+            }
+
+            // Professors.
+            output.writeInt(department.getListOfProfs().size());
+            for (Professor professor : department.getListOfProfs()) {
+                output.writeInt(professor.getId());
+                SourceFingerprints.writeString(output, professor.getName());
+                output.writeDouble(professor.getSeniorityLevel());
+                output.writeLong(professor.getHiringDate() == null ? NO_HIRING_DATE : professor.getHiringDate().toEpochDay());
+                Set<String> setOfDisciplines = professor.getSetOfDisciplines();
+                output.writeInt(setOfDisciplines.size());
+                for (String discipline : setOfDisciplines) {
+                    SourceFingerprints.writeString(output, discipline);
+                }
+            }
+
+            // Selections.
+            ArrayList<ProfessorSelection> selectionList = new ArrayList<>();
+            selections.forEach(selectionList::add);
+            output.writeInt(selectionList.size());
+            for (ProfessorSelection selection : selectionList) {
+                output.writeInt(selection.getProfessorId());
+                output.writeInt(selection.getMaxRequestedHours());
+                output.writeInt(selection.getCourseSelections().size());
+                for (CourseSelection courseSelection : selection.getCourseSelections()) {
+                    SourceFingerprints.writeString(output, courseSelection.getCourseId());
+                    output.writeInt(courseSelection.getRequestedNumberOfGroups());
+                }
+            }
+        }
+
+        File snapshotFile = new File(snapshotPath);
+        if ((snapshotFile.exists() && !snapshotFile.delete()) || !temporaryFile.renameTo(snapshotFile)) {
+            throw new IOException("Cannot replace the snapshot file: " + snapshotPath);
+        }
+    }
+
+    /**
+     * Records the size and last modification time of every source file of the text files directory.
+     *
+     * @param directory The text files directory.
+     * @return The size and last modification time of each source file, keyed by file name.
+     */
+    public static Map<String, long[]> fingerprintSources(String directory) {
+        return SourceFingerprints.of(directory, (dir, name) -> name.equals("Professors.txt") || name.equals("Courses.txt")
+                || name.equals(BinarySelectionFile.DEFAULT_FILE_NAME) || name.endsWith("_select.txt"));
+    }
+}
@@ -0,0 +1,517 @@
+package io;
+
+import metrics.Counter;
+import metrics.FileLoadEvent;
+import metrics.PipelineMetrics;
+import metrics.Phase;
+import model.Course;
+import model.Professor;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * MappedTextParser parses Professors.txt and Courses.txt through a memory-mapped buffer.
+ * Delimiters are found directly in the mapped bytes, and integers, decimal numbers and d-M-yyyy dates are parsed from the bytes without creating intermediate Strings.
+ * Only the text values kept by the objects (names, titles, course IDs and disciplines) are decoded into Strings.
+ * <p>
+ * The result is the same as reading each line with a Scanner, splitting it with {@code split(":")} and parsing the trimmed fields:
+ * lines without exactly 5 fields are reported as invalid, and values the fast paths do not handle (for example numbers in exponent notation)
+ * are parsed with the standard methods, so they give the same values and the same errors.
+ */
+public class MappedTextParser {
+
+    /**
+     * Maximum number of bytes mapped at once. Larger files are mapped in several windows that end on a line break.
+     */
+    private static final int WINDOW_SIZE = 1 << 28;
+
+    /**
+     * Number of fields of a line in Professors.txt and Courses.txt.
+     */
+    private static final int FIELD_COUNT = 5;
+
+    /**
+     * Format of the hiring dates, created once instead of once per line.
+     */
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d-M-yyyy");
+
+    /**
+     * Powers of ten that are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Processes one line of a file.
+     */
+    private interface LineHandler {
+
+        /**
+         * Handles the line made of the bytes from start (inclusive) to end (exclusive), without its line break.
+         *
+         * @param parser The parser whose buffer holds the line.
+         * @param start  The index of the first byte of the line.
+         * @param end    The index after the last byte of the line.
+         */
+        void handleLine(MappedTextParser parser, int start, int end);
+    }
+
+    private final Charset charset = Charset.defaultCharset(); // Charset used to decode text values, the same as a Scanner.
+    private MappedByteBuffer buffer; // The currently mapped window of the file.
+    private byte[] textBytes = new byte[256]; // Reused array receiving the bytes of a text value before decoding.
+    private int[] fieldStarts = new int[FIELD_COUNT + 1]; // Index of the first byte of each field of the current line.
+    private int[] fieldEnds = new int[FIELD_COUNT + 1]; // Index after the last byte of each field of the current line.
+    private long lineCount = 0; // Number of lines of the file (for the pipeline metrics).
+    private long invalidLineCount = 0; // Number of invalid lines of the file (for the pipeline metrics).
+
+    /**
+     * Private constructor, the parser is created by the static parse methods.
+     */
+    private MappedTextParser() {
+    }
+
+    /**
+     * Parses a Professors.txt file. Each valid line has the format {@code id : name : seniority : d-M-yyyy : discipline,discipline,...}.
+     *
+     * @param path The path of the file.
+     * @return The list of professors, in the order of the file.
+     * @throws Exception If the file cannot be read or a value cannot be parsed.
+     */
+    public static ArrayList<Professor> parseProfessors(String path) throws Exception {
+
+        long parseStart = PipelineMetrics.start();
+        ArrayList<Professor> professorArrayList = new ArrayList<>();
+
+        new MappedTextParser().parse(path, "professors", (parser, start, end) -> {
+            if (parser.splitFields(start, end)) {
+                professorArrayList.add(new Professor(parser.parseIntField(0), parser.textField(1), parser.parseDoubleField(2), parser.parseDateField(3), parser.disciplinesField(4)));
+            }
+        });
+
+        PipelineMetrics.stop(Phase.PROFESSOR_PARSE, parseStart);
+        return professorArrayList;
+    }
+
+    /**
+     * Parses a Courses.txt file. Each valid line has the format {@code id : title : discipline : hours : groups}.
+     *
+     * @param path The path of the file.
+     * @return The list of courses, in the order of the file.
+     * @throws Exception If the file cannot be read or a value cannot be parsed.
+     */
+    public static ArrayList<Course> parseCourses(String path) throws Exception {
+
+        long parseStart = PipelineMetrics.start();
+        ArrayList<Course> courseArrayList = new ArrayList<>();
+
+        new MappedTextParser().parse(path, "courses", (parser, start, end) -> {
+            if (parser.splitFields(start, end)) {
+                courseArrayList.add(new Course(parser.textField(0), parser.textField(1), parser.textField(2), parser.parseIntField(3), parser.parseIntField(4)));
+            }
+        });
+
+        PipelineMetrics.stop(Phase.COURSE_PARSE, parseStart);
+        return courseArrayList;
+    }
+
+    /**
+     * Maps the file window by window and passes each line to the handler.
+     *
+     * @param path    The path of the file.
+     * @param kind    The kind of file (professors or courses), recorded in the JFR event of the load.
+     * @param handler The handler processing each line.
+     * @throws Exception If the file cannot be read.
+     */
+    private void parse(String path, String kind, LineHandler handler) throws Exception {
+
+        // JFR event of the load, committed even if the file cannot be read or parsed.
+        FileLoadEvent event = new FileLoadEvent();
+        event.begin();
+        boolean success = false;
+        long fileSize = 0;
+
+        // RandomAccessFile reports a missing file with the same message as a Scanner.
+        try (RandomAccessFile file = new RandomAccessFile(new File(path), "r"); FileChannel channel = file.getChannel()) {
+
+            fileSize = channel.size();
+            long position = 0;
+
+            while (position < fileSize) {
+
+                int windowSize = (int) Math.min(fileSize - position, WINDOW_SIZE);
+                boolean lastWindow = position + windowSize == fileSize;
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+                // A window that is not the last one is processed up to its last '\n'; the rest is mapped again with the next window.
+                int limit = windowSize;
+                if (!lastWindow) {
+                    while (limit > 0 && this.buffer.get(limit - 1) != '\n') {
+                        limit--;
+                    }
+                    if (limit == 0) {
+                        throw new RuntimeException("Line too long in " + path);
+                    }
+                }
+
+                scanLines(limit, handler);
+                position += limit;
+            }
+            success = true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = path;
+                event.kind = kind;
+                event.bytes = fileSize;
+                event.records = this.lineCount;
+                event.success = success;
+                event.commit();
+            }
+        }
+
+        PipelineMetrics.add(Counter.LINES_PARSED, this.lineCount);
+        PipelineMetrics.add(Counter.INVALID_LINES, this.invalidLineCount);
+    }
+
+    /**
+     * Finds the lines of the current window and passes them to the handler.
+     * Lines end with "\n", "\r\n" or "\r", and the last line does not need a line break.
+     *
+     * @param limit   The number of bytes of the window to process.
+     * @param handler The handler processing each line.
+     */
+    private void scanLines(int limit, LineHandler handler) {
+
+        int lineStart = 0;
+        int index = 0;
+
+        while (index < limit) {
+            byte current = this.buffer.get(index);
+
+            if (current == '\n' || current == '\r') {
+                handler.handleLine(this, lineStart, index);
+                this.lineCount++;
+
+                // Skip the '\n' of a "\r\n" line break.
+                if (current == '\r' && index + 1 < limit && this.buffer.get(index + 1) == '\n') {
+                    index++;
+                }
+                lineStart = index + 1;
+            }
+            index++;
+        }
+
+        // The last line of the file may not end with a line break.
+        if (lineStart < limit) {
+            handler.handleLine(this, lineStart, limit);
+            this.lineCount++;
+        }
+    }
+
+    /**
+     * Splits a line on ':' like {@code split(":")} and checks that it has exactly 5 fields (trailing empty fields are ignored).
+     * Each field is trimmed. Invalid lines are printed.
+     *
+     * @param start The index of the first byte of the line.
+     * @param end   The index after the last byte of the line.
+     * @return true if the line has exactly 5 fields, false otherwise.
+     */
+    private boolean splitFields(int start, int end) {
+
+        int fieldCount = 0;
+        int fieldStart = start;
+        int lastNonEmptyField = -1;
+
+        for (int index = start; index <= end; index++) {
+            if (index == end || this.buffer.get(index) == ':') {
+
+                // More than 5 fields are only allowed if the extra fields are empty.
+                if (fieldCount == FIELD_COUNT) {
+                    if (index > fieldStart) {
+                        return invalidLine(start, end);
+                    }
+                }
+                else {
+                    this.fieldStarts[fieldCount] = fieldStart;
+                    this.fieldEnds[fieldCount] = index;
+                    if (index > fieldStart) {
+                        lastNonEmptyField = fieldCount;
+                    }
+                    fieldCount++;
+                }
+                fieldStart = index + 1;
+            }
+        }
+
+        if (lastNonEmptyField != FIELD_COUNT - 1) {
+            return invalidLine(start, end);
+        }
+
+        // Trim every field.
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            while (this.fieldStarts[field] < this.fieldEnds[field] && isWhitespace(this.buffer.get(this.fieldStarts[field]))) {
+                this.fieldStarts[field]++;
+            }
+            while (this.fieldEnds[field] > this.fieldStarts[field] && isWhitespace(this.buffer.get(this.fieldEnds[field] - 1))) {
+                this.fieldEnds[field]--;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Prints a message indicating an invalid line format. Only invalid lines are decoded into a String.
+     *
+     * @param start The index of the first byte of the line.
+     * @param end   The index after the last byte of the line.
+     * @return Always false.
+     */
+    private boolean invalidLine(int start, int end) {
+        this.invalidLineCount++;
+        System.out.println("Invalid line format: " + Arrays.toString(decode(start, end).split(":")));
+        return false;
+    }
+
+    /**
+     * Checks if a byte is removed by String.trim (ASCII control characters and space).
+     *
+     * @param value The byte.
+     * @return true if the byte is whitespace, false otherwise.
+     */
+    private static boolean isWhitespace(byte value) {
+        return value >= 0 && value <= ' ';
+    }
+
+    /**
+     * Decodes the bytes from start to end into a String.
+     *
+     * @param start The index of the first byte.
+     * @param end   The index after the last byte.
+     * @return The decoded String.
+     */
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (length > this.textBytes.length) {
+            this.textBytes = new byte[Math.max(length, this.textBytes.length * 2)];
+        }
+        this.buffer.get(start, this.textBytes, 0, length);
+        return new String(this.textBytes, 0, length, this.charset);
+    }
+
+    /**
+     * Returns the text of a field.
+     *
+     * @param field The index of the field.
+     * @return The trimmed text of the field.
+     */
+    private String textField(int field) {
+        return decode(this.fieldStarts[field], this.fieldEnds[field]);
+    }
+
+    /**
+     * Parses a field as an int, like Integer.parseInt.
+     * Up to 9 digits with an optional sign are parsed from the bytes; anything else is passed to Integer.parseInt.
+     *
+     * @param field The index of the field.
+     * @return The parsed int.
+     * @throws NumberFormatException If the field is not a valid int.
+     */
+    private int parseIntField(int field) {
+
+        int start = this.fieldStarts[field];
+        int end = this.fieldEnds[field];
+        int index = start;
+
+        boolean negative = false;
+        if (index < end && (this.buffer.get(index) == '-' || this.buffer.get(index) == '+')) {
+            negative = this.buffer.get(index) == '-';
+            index++;
+        }
+
+        if (index == end || end - index > 9) {
+            return Integer.parseInt(textField(field));
+        }
+
+        int value = 0;
+        for (; index < end; index++) {
+            int digit = this.buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(textField(field));
+            }
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a field as a double, like Double.parseDouble.
+     * Plain decimal numbers with at most 15 significant digits are parsed from the bytes: the digits form an exact integer that is divided by an exact power of ten,
+     * which gives the correctly rounded result, the same as Double.parseDouble. Anything else is passed to Double.parseDouble.
+     *
+     * @param field The index of the field.
+     * @return The parsed double.
+     * @throws NumberFormatException If the field is not a valid double.
+     */
+    private double parseDoubleField(int field) {
+
+        int start = this.fieldStarts[field];
+        int end = this.fieldEnds[field];
+        int index = start;
+
+        boolean negative = false;
+        if (index < end && (this.buffer.get(index) == '-' || this.buffer.get(index) == '+')) {
+            negative = this.buffer.get(index) == '-';
+            index++;
+        }
+
+        long mantissa = 0;
+        int digitCount = 0;
+        int fractionDigits = -1; // Number of digits after the decimal point, or -1 before the decimal point.
+
+        for (; index < end; index++) {
+            byte current = this.buffer.get(index);
+
+            if (current >= '0' && current <= '9') {
+                mantissa = mantissa * 10 + (current - '0');
+                digitCount++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            }
+            else if (current == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            }
+            else {
+                return Double.parseDouble(textField(field));
+            }
+        }
+
+        if (digitCount == 0 || digitCount > 15) {
+            return Double.parseDouble(textField(field));
+        }
+
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a field as a date in the d-M-yyyy format, like LocalDate.parse with the "d-M-yyyy" pattern.
+     * Dates with a 1 or 2 digit day and month and a 4 digit year are parsed from the bytes (an invalid day of the month is changed to the last day of the month,
+     * as the formatter does). Anything else is passed to LocalDate.parse.
+     *
+     * @param field The index of the field.
+     * @return The parsed date.
+     * @throws java.time.format.DateTimeParseException If the field is not a valid date.
+     */
+    private LocalDate parseDateField(int field) {
+
+        int start = this.fieldStarts[field];
+        int end = this.fieldEnds[field];
+
+        int dayEnd = indexOf((byte) '-', start, end);
+        int monthEnd = dayEnd < 0 ? -1 : indexOf((byte) '-', dayEnd + 1, end);
+
+        if (monthEnd > 0) {
+            int day = parseDigits(start, dayEnd, 2);
+            int month = parseDigits(dayEnd + 1, monthEnd, 2);
+            int year = end - monthEnd - 1 == 4 ? parseDigits(monthEnd + 1, end, 4) : -1;
+
+            if (day >= 1 && day <= 31 && month >= 1 && month <= 12 && year >= 1) {
+                LocalDate firstDayOfMonth = LocalDate.of(year, month, 1);
+                return firstDayOfMonth.withDayOfMonth(Math.min(day, firstDayOfMonth.lengthOfMonth()));
+            }
+        }
+
+        return LocalDate.parse(textField(field), DATE_FORMATTER);
+    }
+
+    /**
+     * Parses 1 to maxDigits digits.
+     *
+     * @param start     The index of the first digit.
+     * @param end       The index after the last digit.
+     * @param maxDigits The maximum number of digits.
+     * @return The parsed value, or -1 if the bytes are not 1 to maxDigits digits.
+     */
+    private int parseDigits(int start, int end, int maxDigits) {
+
+        if (end <= start || end - start > maxDigits) {
+            return -1;
+        }
+
+        int value = 0;
+        for (int index = start; index < end; index++) {
+            int digit = this.buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+
+        return value;
+    }
+
+    /**
+     * Finds the first occurrence of a byte.
+     *
+     * @param value The byte to find.
+     * @param start The index where the search starts.
+     * @param end   The index where the search ends (exclusive).
+     * @return The index of the byte, or -1 if it is not found.
+     */
+    private int indexOf(byte value, int start, int end) {
+        for (int index = start; index < end; index++) {
+            if (this.buffer.get(index) == value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a field as a set of disciplines separated by ',' like {@code split(",")}: the disciplines are not trimmed and trailing empty disciplines are ignored.
+     *
+     * @param field The index of the field.
+     * @return The set of disciplines.
+     */
+    private HashSet<String> disciplinesField(int field) {
+
+        int start = this.fieldStarts[field];
+        int end = this.fieldEnds[field];
+        HashSet<String> setOfDisciplines = new HashSet<>();
+
+        // Without a ',' the whole field is the only discipline (even if it is empty).
+        if (indexOf((byte) ',', start, end) < 0) {
+            setOfDisciplines.add(decode(start, end));
+            return setOfDisciplines;
+        }
+
+        // Ignore the trailing empty disciplines.
+        while (end > start && this.buffer.get(end - 1) == ',') {
+            end--;
+        }
+
+        int disciplineStart = start;
+        for (int index = start; index < end; index++) {
+            if (this.buffer.get(index) == ',') {
+                setOfDisciplines.add(decode(disciplineStart, index));
+                disciplineStart = index + 1;
+            }
+        }
+        if (end > start) {
+            setOfDisciplines.add(decode(disciplineStart, end));
+        }
+
+        return setOfDisciplines;
+    }
+}
@@ -0,0 +1,55 @@
+package io;
+
+import metrics.Counter;
+import metrics.Phase;
+import metrics.PipelineMetrics;
+import model.ProfessorSelection;
+
+/**
+ * MeasuredSelectionSource records the pipeline metrics of another selection source: the time taken to retrieve each selection
+ * (reading its file, or waiting for it to be read in the background) and the number of professors without selection.
+ */
+public class MeasuredSelectionSource implements SelectionSource {
+
+    private final SelectionSource selectionSource; // The measured source.
+
+    /**
+     * Constructs a source recording the metrics of another source.
+     *
+     * @param selectionSource The measured source.
+     */
+    public MeasuredSelectionSource(SelectionSource selectionSource) {
+        this.selectionSource = selectionSource;
+    }
+
+    /**
+     * Wraps a source so its metrics are recorded, only if the metrics are enabled (otherwise the source is returned as it is).
+     *
+     * @param selectionSource The source.
+     * @return The source to be used.
+     */
+    public static SelectionSource measure(SelectionSource selectionSource) {
+        return PipelineMetrics.isEnabled() ? new MeasuredSelectionSource(selectionSource) : selectionSource;
+    }
+
+    /**
+     * Retrieves the selection of the specified professor from the measured source.
+     *
+     * @param professorId The ID of the professor.
+     * @return The selection of the professor, or null if the professor has no selection.
+     * @throws RuntimeException If the selection of the professor cannot be read.
+     */
+    @Override
+    public ProfessorSelection getSelection(int professorId) {
+
+        long start = PipelineMetrics.start();
+        ProfessorSelection selection = this.selectionSource.getSelection(professorId);
+        PipelineMetrics.stop(Phase.SELECTION_IO, start);
+
+        if (selection == null) {
+            PipelineMetrics.increment(Counter.PROFESSORS_WITHOUT_FILE);
+        }
+
+        return selection;
+    }
+}
@@ -0,0 +1,87 @@
+package io;
+
+import model.Professor;
+import model.ProfessorSelection;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PrefetchedSelectionSource reads and parses the selection files of all professors concurrently, as soon as it is created.
+ * The selections are kept in memory in a map keyed by professor ID, so the matching algorithm only does memory lookups
+ * and the disk latency of each file is no longer on its critical path.
+ * If a selection is requested before its file has been read, the call waits for that file only.
+ */
+public class PrefetchedSelectionSource implements SelectionSource {
+
+    /**
+     * Number of files read at the same time. Reading files mostly waits for the disk, so more threads than processors are used.
+     */
+    private static final int READER_THREADS = Math.min(32, Runtime.getRuntime().availableProcessors() * 4);
+
+    /**
+     * The pending or parsed selection of each professor with a selection file, keyed by professor ID.
+     */
+    private final HashMap<Integer, Future<ProfessorSelection>> selectionMap;
+
+    /**
+     * Parameterized constructor for the PrefetchedSelectionSource class. Starts reading the selection files of the professors in the background.
+     *
+     * @param directory  The directory containing the selection files.
+     * @param professors The professors whose selection files are read.
+     */
+    public PrefetchedSelectionSource(String directory, Collection<Professor> professors) {
+
+        this.selectionMap = new HashMap<>(professors.size() * 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(READER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "selection-reader");
+            thread.setDaemon(true); // Reader threads must not keep the application alive.
+            return thread;
+        });
+
+        try {
+            for (Professor professor : professors) {
+                int professorId = professor.getId();
+                File selectionFile = TextSelectionSource.getSelectionFile(directory, professorId);
+
+                // The task returns null for professors without a selection file.
+                this.selectionMap.put(professorId, executor.submit(() -> selectionFile.exists() ? TextSelectionSource.readSelectionFile(selectionFile, professorId) : null));
+            }
+        } finally {
+            // The submitted files are still read; the threads stop once they are done.
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Retrieves the selection of the specified professor, waiting for its file to be read if necessary.
+     *
+     * @param professorId The ID of the professor.
+     * @return The selection of the professor, or null if the professor has no selection file.
+     * @throws RuntimeException If there is an error while reading the file or parsing the selection.
+     */
+    @Override
+    public ProfessorSelection getSelection(int professorId) {
+
+        Future<ProfessorSelection> selection = this.selectionMap.get(professorId);
+        if (selection == null) {
+            return null;
+        }
+
+        try {
+            return selection.get();
+        } catch (ExecutionException exception) {
+            // Report the error of the reader thread as if the file had been read here.
+            throw new RuntimeException(exception.getCause().getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io;
+
+import model.ProfessorSelection;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * SelectionFileConverter converts the per-professor selection text files ({@code <professorId>_select.txt}) of a directory
+ * into a single consolidated binary selections file (see BinarySelectionFile).
+ * The conversion must be run again after a selection text file is edited: until then, the binary file is stale and the text files are read instead.
+ * <p>
+ * Run with: {@code java -cp <classes> io.SelectionFileConverter [directory] [outputFile]}
+ */
+public class SelectionFileConverter {
+
+    /**
+     * Suffix of the selection text files.
+     */
+    private static final String SELECTION_FILE_SUFFIX = "_select.txt";
+
+    public static void main(String[] args) {
+
+        String directory = args.length > 0 ? args[0] : "./Text_files";
+        String outputPath = args.length > 1 ? args[1] : new File(directory, BinarySelectionFile.DEFAULT_FILE_NAME).getPath();
+
+        try {
+            int professorCount = convert(directory, outputPath);
+            System.out.println("Converted " + professorCount + " selection files into " + outputPath);
+        }
+        catch (Exception exception) {
+            System.out.println("Error = " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Reads every selection text file of a directory and writes them into a consolidated selections file.
+     *
+     * @param directory  The directory containing the selection text files.
+     * @param outputPath The path of the consolidated selections file to write.
+     * @return The number of converted selection files.
+     * @throws Exception If a selection file cannot be read or parsed, or the output file cannot be written.
+     */
+    public static int convert(String directory, String outputPath) throws Exception {
+
+        // Fingerprint the text files before reading them, so a file edited during the conversion makes the binary file stale.
+        Map<String, long[]> sources = BinarySelectionFile.fingerprintSources(directory);
+
+        File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(SELECTION_FILE_SUFFIX));
+        if (files == null) {
+            throw new RuntimeException("Directory not found: " + directory);
+        }
+
+        ArrayList<ProfessorSelection> selections = new ArrayList<>(files.length);
+
+        for (File file : files) {
+
+            // The file name starts with the professor ID; files with another name are skipped.
+            String name = file.getName();
+            int professorId;
+            try {
+                professorId = Integer.parseInt(name.substring(0, name.length() - SELECTION_FILE_SUFFIX.length()));
+            } catch (NumberFormatException exception) {
+                System.out.println("Skipping file with invalid professor ID: " + name);
+                continue;
+            }
+
+            try {
+                selections.add(TextSelectionSource.readSelectionFile(file, professorId));
+            } catch (RuntimeException exception) {
+                throw new RuntimeException("Cannot convert " + name + ": " + exception.getMessage());
+            }
+        }
+
+        BinarySelectionFile.write(selections, sources, outputPath);
+
+        return selections.size();
+    }
+}
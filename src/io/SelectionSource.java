@@ -0,0 +1,18 @@
+package io;
+
+import model.ProfessorSelection;
+
+/**
+ * A SelectionSource provides the selection (requested hours and preferred courses) of each professor to the matching algorithm.
+ */
+public interface SelectionSource {
+
+    /**
+     * Retrieves the selection of the specified professor.
+     *
+     * @param professorId The ID of the professor.
+     * @return The selection of the professor, or null if the professor has no selection.
+     * @throws RuntimeException If the selection of the professor cannot be read.
+     */
+    ProfessorSelection getSelection(int professorId);
+}
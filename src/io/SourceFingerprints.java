@@ -0,0 +1,117 @@
+package io;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SourceFingerprints records the name, size and last modification time of the text files a binary file was built from,
+ * so the binary file can tell when it is stale (DepartmentSnapshotFile and BinarySelectionFile).
+ * <p>
+ * Format (big-endian, strings are an unsigned short length followed by UTF-8 bytes):
+ * int count, then for each file: string name, long size, long lastModified
+ */
+final class SourceFingerprints {
+
+    /**
+     * Private constructor, the class only has static methods.
+     */
+    private SourceFingerprints() {
+    }
+
+    /**
+     * Computes the fingerprint of the files of a directory.
+     *
+     * @param directory The directory.
+     * @param filter    The filter selecting the source files.
+     * @return The size and last modification time of each source file, keyed and sorted by file name.
+     */
+    static Map<String, long[]> of(String directory, FilenameFilter filter) {
+
+        File[] files = new File(directory).listFiles(filter);
+
+        TreeMap<String, long[]> sources = new TreeMap<>();
+        if (files != null) {
+            for (File file : files) {
+                sources.put(file.getName(), new long[]{file.length(), file.lastModified()});
+            }
+        }
+
+        return sources;
+    }
+
+    /**
+     * Writes fingerprints.
+     *
+     * @param output  The output stream.
+     * @param sources The fingerprints, as returned by of.
+     * @throws IOException If the fingerprints cannot be written.
+     */
+    static void write(DataOutputStream output, Map<String, long[]> sources) throws IOException {
+        output.writeInt(sources.size());
+        for (Map.Entry<String, long[]> source : sources.entrySet()) {
+            writeString(output, source.getKey());
+            output.writeLong(source.getValue()[0]);
+            output.writeLong(source.getValue()[1]);
+        }
+    }
+
+    /**
+     * Reads recorded fingerprints and compares them with the current ones. The buffer is left after the fingerprints only if they match.
+     *
+     * @param buffer  The buffer positioned on the recorded fingerprints.
+     * @param current The current fingerprints, as returned by of.
+     * @return true if the same files are recorded with the same size and last modification time, false otherwise.
+     */
+    static boolean matches(ByteBuffer buffer, Map<String, long[]> current) {
+
+        int sourceCount = buffer.getInt();
+        if (sourceCount != current.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < sourceCount; i++) {
+            long[] fingerprint = current.get(readString(buffer));
+            long size = buffer.getLong();
+            long lastModified = buffer.getLong();
+            if (fingerprint == null || fingerprint[0] != size || fingerprint[1] != lastModified) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes a string as an unsigned short length followed by its UTF-8 bytes.
+     *
+     * @param output The output stream.
+     * @param value  The string to write.
+     * @throws IOException If the string cannot be written or is too long.
+     */
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("String too long: " + value);
+        }
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a string written by writeString.
+     *
+     * @param buffer The buffer positioned on the string.
+     * @return The read string.
+     */
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
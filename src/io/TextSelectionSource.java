@@ -0,0 +1,120 @@
+package io;
+
+import metrics.FileLoadEvent;
+import model.CourseSelection;
+import model.ProfessorSelection;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * TextSelectionSource reads the selection of a professor from its text file ({@code <professorId>_select.txt}) each time it is requested.
+ * The first line of the file is the maximum number of hours per week, and each following line is a course ID and a number of groups separated by a comma.
+ */
+public class TextSelectionSource implements SelectionSource {
+
+    /**
+     * The directory containing the selection files.
+     */
+    private final String directory;
+
+    /**
+     * Parameterized constructor for the TextSelectionSource class.
+     *
+     * @param directory The directory containing the selection files.
+     */
+    public TextSelectionSource(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the selection file of the specified professor.
+     *
+     * @param directory   The directory containing the selection files.
+     * @param professorId The ID of the professor.
+     * @return The selection file of the professor.
+     */
+    public static File getSelectionFile(String directory, int professorId) {
+        return new File(directory, professorId + "_select.txt");
+    }
+
+    /**
+     * Reads the selection of the specified professor from its text file.
+     *
+     * @param professorId The ID of the professor.
+     * @return The selection of the professor, or null if the professor has no selection file.
+     * @throws RuntimeException If there is an error while reading the file or parsing the selection.
+     */
+    @Override
+    public ProfessorSelection getSelection(int professorId) {
+
+        File selectionFile = getSelectionFile(this.directory, professorId);
+        if (!selectionFile.exists()) {
+            return null;
+        }
+
+        return readSelectionFile(selectionFile, professorId);
+    }
+
+    /**
+     * Reads and parses a selection file.
+     *
+     * @param selectionFile The selection file to read.
+     * @param professorId   The ID of the professor owning the file.
+     * @return The selection read from the file.
+     * @throws RuntimeException If there is an error while reading the file or parsing the selection.
+     */
+    public static ProfessorSelection readSelectionFile(File selectionFile, int professorId) {
+
+        // JFR event of the load, committed even if the file cannot be read or parsed.
+        FileLoadEvent event = new FileLoadEvent();
+        event.begin();
+        boolean success = false;
+        int lineCount = 0;
+
+        // Use try-with-resources to automatically close the reader after use.
+        try (BufferedReader reader = new BufferedReader(new FileReader(selectionFile))) {
+
+            // Read and parse the maximum requested hours from the first line of the file.
+            String firstLine = reader.readLine();
+            if (firstLine == null) {
+                throw new NoSuchElementException("No line found");
+            }
+            lineCount++;
+            int maxRequestedHours = Integer.parseInt(firstLine);
+
+            ArrayList<CourseSelection> courseSelections = new ArrayList<>();
+            String line;
+
+            // Iterate through each remaining line in the file.
+            while ((line = reader.readLine()) != null) {
+                lineCount++;
+
+                // Split the line by comma and parse it to get the course ID and requested number of groups for that course.
+                String[] selection = line.split(",");
+                courseSelections.add(new CourseSelection(selection[0].trim(), Integer.parseInt(selection[1].trim())));
+            }
+
+            ProfessorSelection professorSelection = new ProfessorSelection(professorId, maxRequestedHours, courseSelections);
+            success = true;
+            return professorSelection;
+
+        } catch (Exception exception) {
+            // If an exception occurs throw a RuntimeException.
+            throw new RuntimeException(exception.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = selectionFile.getPath();
+                event.kind = "selection";
+                event.bytes = selectionFile.length();
+                event.records = lineCount;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package matching;
+
+import io.SelectionSource;
+import model.Department;
+import model.Professor;
+
+import java.util.List;
+
+/**
+ * An AssignmentEngine assigns the courses of a department to its professors, according to the selection of each professor.
+ * When it returns, the list of affected courses of every professor is set (null if no course was assigned) and the number of groups
+ * of each course of the department is decreased by the number of groups assigned.
+ */
+public interface AssignmentEngine {
+
+    /**
+     * Assigns the courses of a department to professors.
+     *
+     * @param professors      The professors to be matched with courses.
+     * @param department      The department containing the courses.
+     * @param selectionSource The source providing the selection of each professor.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    void assignCourses(List<Professor> professors, Department department, SelectionSource selectionSource);
+}
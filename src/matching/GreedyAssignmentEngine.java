@@ -0,0 +1,193 @@
+package matching;
+
+import io.SelectionSource;
+import metrics.Counter;
+import metrics.Phase;
+import metrics.PipelineMetrics;
+import metrics.ProfessorAssignmentEvent;
+import model.Assignment;
+import model.Course;
+import model.CourseCatalog;
+import model.CourseSelection;
+import model.Department;
+import model.GroupCounts;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GreedyAssignmentEngine is the original matching algorithm: the professors are processed from the highest to the lowest priority,
+ * and each professor takes, in the order of their selection, as many groups as they requested and as their remaining hours allow.
+ */
+public class GreedyAssignmentEngine implements AssignmentEngine {
+
+    /**
+     * Maximum number of hours per week assigned to a professor.
+     */
+    public static final int MAX_HOURS = 30;
+
+    /**
+     * Assigns courses to professors, processing the professors in priority order (see ProfessorPriorityKey.sortByPriority).
+     *
+     * @param professors      The professors to be matched with courses.
+     * @param department      The department containing the courses.
+     * @param selectionSource The source providing the selection of each professor.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    @Override
+    public void assignCourses(List<Professor> professors, Department department, SelectionSource selectionSource) {
+        for (Professor professor : ProfessorPriorityKey.sortByPriority(professors)) {
+
+            try {
+                assignCoursesToProfessor(professor, department, selectionSource);
+            } catch (Exception exception) {
+                // Catch any exceptions that occur during the process.
+                System.out.println("Error: " + exception.getMessage());
+                throw new RuntimeException(exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Assigns courses to a specific professor based on courses availability and their preferences and availability.
+     *
+     * @param professor       The professor object to be matched with courses.
+     * @param department      The department object containing the courses and professors.
+     * @param selectionSource The source providing the selection of the professor.
+     * @throws RuntimeException If there is an error while matching courses to the professor.
+     */
+    public static void assignCoursesToProfessor(Professor professor, Department department, SelectionSource selectionSource) {
+
+        try {
+
+            // Retrieve the selection (requested hours and preferred courses) of the professor.
+            ProfessorSelection professorSelection = selectionSource.getSelection(professor.getId());
+            if (professorSelection == null) {
+
+                // If the professor has no selection file, print a message and return.
+                System.out.println("Professor file not found for ID: " + professor.getId() + ". Name = " + professor.getName());
+                return;
+            }
+
+            assignSelection(professor, department, professorSelection);
+
+        } catch (Exception exception) {
+            // Catch any exceptions that occur during the process.
+            // If an exception occurs throw a RuntimeException.
+            System.out.println("Error: " + exception.getMessage());
+            throw new RuntimeException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Assigns courses to a specific professor according to their selection, without printing anything.
+     * The courses are taken in the order of the selection, as many groups as requested, available and allowed by the remaining hours.
+     *
+     * @param professor          The professor object to be matched with courses.
+     * @param department         The department object containing the courses and professors.
+     * @param professorSelection The selection of the professor.
+     * @throws ArithmeticException If a selected course has a number of hours without known weekly hours.
+     */
+    public static void assignSelection(Professor professor, Department department, ProfessorSelection professorSelection) {
+
+        ProfessorAssignmentEvent event = new ProfessorAssignmentEvent();
+        event.begin();
+        long start = PipelineMetrics.start();
+        CourseCatalog courseCatalog = department.getCourseCatalog();
+        professor.setListOfAffectedCourses(selectCourses(professor, courseCatalog, courseCatalog, professorSelection, MAX_HOURS));
+        PipelineMetrics.stop(Phase.PROFESSOR_MATCHING, start);
+        event.end();
+
+        // The fields of the JFR event are only computed when it is recorded.
+        if (event.shouldCommit()) {
+            int groupsAssigned = 0;
+            int hoursAssigned = 0;
+            if (professor.getListOfAffectedCourses() != null) {
+                for (Assignment assignment : professor.getListOfAffectedCourses()) {
+                    groupsAssigned += assignment.getNumOfGroups();
+                    hoursAssigned += assignment.getNumOfGroups() * Course.getWeeklyHours(assignment.getCourse().getNumberOfHours());
+                }
+            }
+            event.professorId = professor.getId();
+            event.coursesConsidered = professorSelection.getCourseSelections().size();
+            event.groupsAssigned = groupsAssigned;
+            event.hoursRemaining = Math.min(professorSelection.getMaxRequestedHours(), MAX_HOURS) - hoursAssigned;
+            event.commit();
+        }
+
+        if (PipelineMetrics.isEnabled() && professor.getListOfAffectedCourses() != null) {
+            for (Assignment assignment : professor.getListOfAffectedCourses()) {
+                PipelineMetrics.add(Counter.GROUPS_ASSIGNED, assignment.getNumOfGroups());
+            }
+        }
+    }
+
+    /**
+     * Selects the courses of a professor according to their selection and takes their groups from the given group counts.
+     * The courses are taken in the order of the selection, as many groups as requested, available and allowed by the remaining hours.
+     *
+     * @param professor          The professor to be matched with courses.
+     * @param courseCatalog      The catalog of the courses (only read).
+     * @param groupCounts        The remaining groups of the courses, decreased by the groups assigned.
+     * @param professorSelection The selection of the professor.
+     * @param maxHours           The maximum number of hours per week of the professor (MAX_HOURS unless a scenario changes it).
+     * @return The assignments (course and number of groups assigned), or null if no course is assigned.
+     * @throws ArithmeticException If a selected course has a number of hours without known weekly hours.
+     */
+    public static ArrayList<Assignment> selectCourses(Professor professor, CourseCatalog courseCatalog, GroupCounts groupCounts,
+                                                  ProfessorSelection professorSelection, int maxHours) {
+
+        // Initialize the list of affected courses for the professor.
+        ArrayList<Assignment> listOfAffectedCourses = new ArrayList<>();
+
+        // The maximum requested hours from the selection.
+        int maxRequestedHours = professorSelection.getMaxRequestedHours();
+
+        // Iterate through each selected course.
+        for (CourseSelection selection : professorSelection.getCourseSelections()) {
+
+            String courseId = selection.getCourseId();
+            int requestedNumberOfGroups = selection.getRequestedNumberOfGroups();
+
+            // Limit the maximum number of hours to maxHours if it exceeds.
+            if (maxRequestedHours >= maxHours) {
+                maxRequestedHours = maxHours;
+            }
+
+            // Retrieve the index of the course in the course catalog using the course ID.
+            int courseIndex = courseCatalog.indexOf(courseId);
+
+            // Check if the course exists, has available groups, and the professor is qualified to teach it.
+            if (courseIndex >= 0 && groupCounts.getRemainingGroups(courseIndex) > 0 && professor.hasDiscipline(courseCatalog.getDisciplineId(courseIndex))) {
+
+                // Retrieve the number of hours per week for the course.
+                int courseNumberOfHoursPerWeek = courseCatalog.getWeeklyHours(courseIndex);
+
+                // Number of groups that professor can teach according to requestedNumberOfGroups and remaining number of hours. (maxRequestedHours).
+                int groupsCanRequested = (int) Math.min(requestedNumberOfGroups, maxRequestedHours/ courseNumberOfHoursPerWeek);
+
+                // Number of groups can assign on the based of the number of groups available and number of groups professor can teach. (groupsCanRequested)
+                int numberOfAssignedGroups = Math.min(groupCounts.getRemainingGroups(courseIndex), groupsCanRequested);
+
+                // If there are groups to assign, update the course and professor information.
+                if (numberOfAssignedGroups > 0) {
+
+                    // Add the assigned groups of the course to the list of affected courses for the professor.
+                    listOfAffectedCourses.add(new Assignment(courseCatalog.getCourse(courseIndex), numberOfAssignedGroups));
+
+                    // Update the remaining requested hours for the professor.
+                    maxRequestedHours = maxRequestedHours - (numberOfAssignedGroups * courseNumberOfHoursPerWeek);
+
+                    // Update the number of available groups for the course.
+                    groupCounts.assignGroups(courseIndex, numberOfAssignedGroups);
+                }
+            }
+        }
+
+        // If the professor has no affected courses, the list is null.
+        return listOfAffectedCourses.isEmpty() ? null : listOfAffectedCourses;
+    }
+}
@@ -0,0 +1,269 @@
+package matching;
+
+import io.SelectionSource;
+import model.Assignment;
+import model.CourseCatalog;
+import model.Department;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * IncrementalAssignment runs the greedy algorithm once and records its trace, so that when the selection of one professor changes,
+ * only the professors from this one onward (in priority order) are processed again.
+ * <p>
+ * The trace holds, for each position in the priority order, the selection used and the groups taken from each course.
+ * The group counts before any position can be restored from it: giving back the groups taken by the professors from a position onward
+ * rewinds the department to the state it had when this professor was dequeued.
+ * <p>
+ * While replaying, the engine tracks the difference between the new and the old group counts. As soon as it is back to zero, the
+ * following professors would take exactly the same groups as before, so the replay stops and their recorded groups are taken again.
+ * A late edit near the bottom of the priority order only replays a few professors.
+ * <p>
+ * The professors and courses of the department must not change between updates (a new professor or a new course file needs a full run).
+ * If an update fails, the department, the professors and the trace are restored to the previous assignment, so the instance can still be updated.
+ */
+public class IncrementalAssignment {
+
+    private final Department department; // The department whose courses are assigned.
+    private final SelectionSource selectionSource; // The source providing the current selection of each professor.
+    private final ArrayList<Professor> orderedProfessors; // The professors in priority order.
+    private final HashMap<Integer, Integer> positionById; // Position of each professor in the priority order, keyed by ID.
+    private final ProfessorSelection[] selections; // Selection used at each position (null if the professor had none).
+    private final int[][] takenCourses; // Catalog index of each course taken at each position.
+    private final int[][] takenGroups; // Number of groups taken from each of these courses.
+
+    /**
+     * Constructs the incremental assignment of a department. Nothing is assigned until assignAll is called.
+     *
+     * @param professors      The professors to be matched with courses.
+     * @param department      The department containing the courses.
+     * @param selectionSource The source providing the current selection of each professor (read again when a professor is updated).
+     */
+    public IncrementalAssignment(List<Professor> professors, Department department, SelectionSource selectionSource) {
+        this.department = department;
+        this.selectionSource = selectionSource;
+        this.orderedProfessors = ProfessorPriorityKey.sortByPriority(professors);
+        this.positionById = new HashMap<>();
+        for (int position = 0; position < this.orderedProfessors.size(); position++) {
+            this.positionById.put(this.orderedProfessors.get(position).getId(), position);
+        }
+        this.selections = new ProfessorSelection[this.orderedProfessors.size()];
+        this.takenCourses = new int[this.orderedProfessors.size()][];
+        this.takenGroups = new int[this.orderedProfessors.size()][];
+    }
+
+    /**
+     * Checks if a professor is part of the assignment.
+     *
+     * @param professorId The ID of the professor.
+     * @return true if the professor is part of the assignment, false otherwise.
+     */
+    public boolean hasProfessor(int professorId) {
+        return this.positionById.containsKey(professorId);
+    }
+
+    /**
+     * Retrieves the selection recorded for a professor, the one used by the current assignment.
+     *
+     * @param professorId The ID of the professor.
+     * @return The recorded selection, or null if the professor is unknown or had no selection file.
+     */
+    public ProfessorSelection getSelection(int professorId) {
+        Integer position = this.positionById.get(professorId);
+        return position == null ? null : this.selections[position];
+    }
+
+    /**
+     * Assigns courses to every professor in priority order (the same result and messages as the greedy algorithm) and records the trace.
+     *
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    public void assignAll() {
+        for (int position = 0; position < this.orderedProfessors.size(); position++) {
+            Professor professor = this.orderedProfessors.get(position);
+
+            try {
+                this.selections[position] = this.selectionSource.getSelection(professor.getId());
+                if (this.selections[position] == null) {
+                    System.out.println("Professor file not found for ID: " + professor.getId() + ". Name = " + professor.getName());
+                }
+                assignPosition(position);
+            } catch (Exception exception) {
+                // Catch any exceptions that occur during the process.
+                System.out.println("Error: " + exception.getMessage());
+                throw new RuntimeException(exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the selection of a professor again and updates the assignment: the professors from this one onward are processed again,
+     * until the group counts are the same as in the previous assignment.
+     * If an error occurs, the previous assignment is restored (group counts, assigned courses and trace) before the exception is thrown.
+     *
+     * @param professorId The ID of the professor whose selection changed.
+     * @return The number of professors processed again.
+     * @throws RuntimeException If the professor is unknown or if there is an error while matching courses to professors.
+     */
+    public int update(int professorId) {
+
+        Integer changedPosition = this.positionById.get(professorId);
+        if (changedPosition == null) {
+            System.out.println("Unknown professor ID: " + professorId);
+            throw new RuntimeException("Unknown professor ID: " + professorId);
+        }
+
+        CourseCatalog courseCatalog = this.department.getCourseCatalog();
+        int lastPosition = this.orderedProfessors.size() - 1;
+
+        // The previous assignment, restored if the update fails (a professor failing half-way does not record the groups it took,
+        // so the group counts are restored from a copy instead of from the trace).
+        int[] previousRemainingGroups = new int[courseCatalog.getSize()];
+        for (int index = 0; index < previousRemainingGroups.length; index++) {
+            previousRemainingGroups[index] = courseCatalog.getRemainingGroups(index);
+        }
+        ProfessorSelection previousSelection = this.selections[changedPosition];
+        int[][] previousTakenCourses = Arrays.copyOfRange(this.takenCourses, changedPosition, lastPosition + 1);
+        int[][] previousTakenGroups = Arrays.copyOfRange(this.takenGroups, changedPosition, lastPosition + 1);
+        ArrayList<ArrayList<Assignment>> previousAffectedCourses = new ArrayList<>();
+        for (int position = changedPosition; position <= lastPosition; position++) {
+            previousAffectedCourses.add(this.orderedProfessors.get(position).getListOfAffectedCourses());
+        }
+
+        try {
+
+            Professor changedProfessor = this.orderedProfessors.get(changedPosition);
+            ProfessorSelection newSelection = this.selectionSource.getSelection(professorId);
+            if (newSelection == null) {
+                System.out.println("Professor file not found for ID: " + changedProfessor.getId() + ". Name = " + changedProfessor.getName());
+            }
+
+            // Rewind the department to the state it had when the changed professor was dequeued.
+            for (int position = lastPosition; position >= changedPosition; position--) {
+                releasePosition(position, courseCatalog);
+            }
+
+            // Difference between the new and the old group counts, for the courses where they differ.
+            HashMap<Integer, Integer> difference = new HashMap<>();
+
+            this.selections[changedPosition] = newSelection;
+            int position = changedPosition;
+            while (position <= lastPosition) {
+                int[] oldCourses = this.takenCourses[position];
+                int[] oldGroups = this.takenGroups[position];
+
+                assignPosition(position);
+
+                // new count - old count = (groups taken before) - (groups taken now).
+                addTo(difference, oldCourses, oldGroups, 1);
+                addTo(difference, this.takenCourses[position], this.takenGroups[position], -1);
+                position++;
+
+                if (difference.isEmpty()) {
+                    break;
+                }
+            }
+            int replayed = position - changedPosition;
+
+            // The following professors take exactly the same groups as before.
+            for (; position <= lastPosition; position++) {
+                for (int i = 0; i < this.takenCourses[position].length; i++) {
+                    courseCatalog.assignGroups(this.takenCourses[position][i], this.takenGroups[position][i]);
+                }
+            }
+
+            return replayed;
+
+        } catch (Exception exception) {
+            // Catch any exceptions that occur during the process, and go back to the previous assignment.
+            System.out.println("Error: " + exception.getMessage());
+
+            for (int index = 0; index < previousRemainingGroups.length; index++) {
+                int remaining = courseCatalog.getRemainingGroups(index);
+                if (remaining < previousRemainingGroups[index]) {
+                    courseCatalog.releaseGroups(index, previousRemainingGroups[index] - remaining);
+                }
+                else if (remaining > previousRemainingGroups[index]) {
+                    courseCatalog.assignGroups(index, remaining - previousRemainingGroups[index]);
+                }
+            }
+            this.selections[changedPosition] = previousSelection;
+            for (int position = changedPosition; position <= lastPosition; position++) {
+                this.takenCourses[position] = previousTakenCourses[position - changedPosition];
+                this.takenGroups[position] = previousTakenGroups[position - changedPosition];
+                this.orderedProfessors.get(position).setListOfAffectedCourses(previousAffectedCourses.get(position - changedPosition));
+            }
+
+            throw new RuntimeException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Assigns the courses of one position with the greedy algorithm and records the groups taken.
+     *
+     * @param position The position of the professor in the priority order.
+     */
+    private void assignPosition(int position) {
+
+        Professor professor = this.orderedProfessors.get(position);
+        ProfessorSelection selection = this.selections[position];
+
+        if (selection == null) {
+            professor.setListOfAffectedCourses(null);
+            this.takenCourses[position] = new int[0];
+            this.takenGroups[position] = new int[0];
+            return;
+        }
+
+        GreedyAssignmentEngine.assignSelection(professor, this.department, selection);
+
+        // The list of affected courses tells the groups taken from each course.
+        ArrayList<Assignment> listOfAffectedCourses = professor.getListOfAffectedCourses();
+        int count = listOfAffectedCourses == null ? 0 : listOfAffectedCourses.size();
+        this.takenCourses[position] = new int[count];
+        this.takenGroups[position] = new int[count];
+        for (int i = 0; i < count; i++) {
+            Assignment assignment = listOfAffectedCourses.get(i);
+            this.takenCourses[position][i] = this.department.getCourseCatalog().indexOf(assignment.getCourseId());
+            this.takenGroups[position][i] = assignment.getNumOfGroups();
+        }
+    }
+
+    /**
+     * Gives back the groups taken at one position.
+     *
+     * @param position      The position of the professor in the priority order.
+     * @param courseCatalog The course catalog of the department.
+     */
+    private void releasePosition(int position, CourseCatalog courseCatalog) {
+        for (int i = 0; i < this.takenCourses[position].length; i++) {
+            courseCatalog.releaseGroups(this.takenCourses[position][i], this.takenGroups[position][i]);
+        }
+    }
+
+    /**
+     * Adds groups (multiplied by a sign) to the difference of each course, removing the courses whose difference becomes 0.
+     *
+     * @param difference The difference of each course.
+     * @param courses    The catalog indexes of the courses.
+     * @param groups     The number of groups of each course.
+     * @param sign       1 or -1.
+     */
+    private static void addTo(HashMap<Integer, Integer> difference, int[] courses, int[] groups, int sign) {
+        for (int i = 0; i < courses.length; i++) {
+            int value = difference.getOrDefault(courses[i], 0) + sign * groups[i];
+            if (value == 0) {
+                difference.remove(courses[i]);
+            }
+            else {
+                difference.put(courses[i], value);
+            }
+        }
+    }
+}
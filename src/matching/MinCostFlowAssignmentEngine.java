@@ -0,0 +1,282 @@
+package matching;
+
+import io.SelectionSource;
+import metrics.Counter;
+import metrics.PipelineMetrics;
+import model.Assignment;
+import model.CourseCatalog;
+import model.CourseSelection;
+import model.Department;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * MinCostFlowAssignmentEngine assigns the courses by looking at all the selections together, instead of one professor at a time.
+ * It is a heuristic: an optimal flow on a relaxation of the problem, rounded to whole groups.
+ * <p>
+ * The relaxation is a flow network where one unit of flow is one hour per week, so a group can be split between professors:
+ * <pre>
+ * source --(at most 30 requested hours)--> professor --(requested groups x weekly hours)--> course --(groups x weekly hours)--> sink
+ * </pre>
+ * The objective is counted per group: a group covered by the flow (its weekly hours, or a part of them for a part of the group) costs
+ * its preference cost minus a reward. The preference cost is the rank of the course in the professor's selection times the weight of the
+ * professor, so senior professors get their first choices. The weight goes from 10 for the first tenth of the priority order down to 1
+ * for the last tenth (a few different costs keep the number of solver phases small). The reward is larger than the preference cost of
+ * all the groups together, so the flow covers as many groups as possible (counting the parts of groups), and only then minimizes the
+ * preference cost among these flows. A course with fewer weekly hours covers more groups with the same hours of a professor.
+ * <p>
+ * Costs are multiplied by 60 (a multiple of every weekly hours value), so the cost of one hour of a group is an integer: an hour of a
+ * course with w weekly hours costs (preference cost - reward) * 60 / w.
+ * The flow is solved with the primal-dual algorithm (see MinCostFlowNetwork). The hours of each professor and course are then rounded
+ * down to whole groups, and a greedy pass in priority order fills the hours and groups left by the rounding.
+ * The rounding loses the optimality of the flow: the result usually covers more groups than the greedy algorithm,
+ * but the maximum number of groups is not guaranteed.
+ */
+public class MinCostFlowAssignmentEngine implements AssignmentEngine {
+
+    /**
+     * Maximum number of hours per week assigned to a professor (the same limit as the greedy algorithm).
+     */
+    public static final int MAX_HOURS = GreedyAssignmentEngine.MAX_HOURS;
+
+    private static final int HOURS_SCALE = 60; // Multiple of every weekly hours value (3, 4, 5 and 6).
+    private static final int PRIORITY_BUCKETS = 10; // Number of different professor weights.
+    private static final int SOURCE = 0; // Node of the source.
+    private static final int SINK = 1; // Node of the sink.
+
+    /**
+     * One aggregated course request of a professor: the requested groups of the same course are added together.
+     */
+    private static class Request {
+        final int courseIndex; // Index of the course in the course catalog.
+        final int rank; // Position of the first request of the course in the selection (0 is the first choice).
+        int requestedGroups; // Total number of requested groups.
+        int edge; // Edge of the request in the network, or -1.
+        int assignedGroups; // Number of groups assigned.
+
+        Request(int courseIndex, int rank, int requestedGroups) {
+            this.courseIndex = courseIndex;
+            this.rank = rank;
+            this.requestedGroups = requestedGroups;
+            this.edge = -1;
+        }
+    }
+
+    /**
+     * Assigns courses to professors with a min-cost flow.
+     *
+     * @param professors      The professors to be matched with courses.
+     * @param department      The department containing the courses.
+     * @param selectionSource The source providing the selection of each professor.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    @Override
+    public void assignCourses(List<Professor> professors, Department department, SelectionSource selectionSource) {
+
+        try {
+
+            CourseCatalog courseCatalog = department.getCourseCatalog();
+            ArrayList<Professor> orderedProfessors = ProfessorPriorityKey.sortByPriority(professors);
+            int professorCount = orderedProfessors.size();
+
+            // Read the selections and aggregate the requests of each professor.
+            ArrayList<ArrayList<Request>> requests = new ArrayList<>(professorCount);
+            int[] hours = new int[professorCount];
+            for (int p = 0; p < professorCount; p++) {
+                Professor professor = orderedProfessors.get(p);
+                ProfessorSelection selection = selectionSource.getSelection(professor.getId());
+
+                if (selection == null) {
+                    System.out.println("Professor file not found for ID: " + professor.getId() + ". Name = " + professor.getName());
+                    requests.add(null);
+                    continue;
+                }
+
+                hours[p] = Math.max(0, Math.min(selection.getMaxRequestedHours(), MAX_HOURS));
+                requests.add(aggregateRequests(professor, selection, courseCatalog));
+            }
+
+            // Solve the flow and round the hours down to whole groups.
+            solveFlow(requests, hours, courseCatalog);
+
+            // Fill the hours and groups left by the rounding, in priority order.
+            int[] usedGroups = new int[courseCatalog.getSize()];
+            int[] remainingHours = hours.clone();
+            for (int p = 0; p < professorCount; p++) {
+                if (requests.get(p) != null) {
+                    for (Request request : requests.get(p)) {
+                        usedGroups[request.courseIndex] += request.assignedGroups;
+                        remainingHours[p] -= request.assignedGroups * courseCatalog.getWeeklyHours(request.courseIndex);
+                    }
+                }
+            }
+            for (int p = 0; p < professorCount; p++) {
+                if (requests.get(p) == null) {
+                    continue;
+                }
+                for (Request request : requests.get(p)) {
+                    int weeklyHours = courseCatalog.getWeeklyHours(request.courseIndex);
+                    int extraGroups = Math.min(request.requestedGroups - request.assignedGroups,
+                            Math.min(courseCatalog.getRemainingGroups(request.courseIndex) - usedGroups[request.courseIndex], remainingHours[p] / weeklyHours));
+                    if (extraGroups > 0) {
+                        request.assignedGroups += extraGroups;
+                        usedGroups[request.courseIndex] += extraGroups;
+                        remainingHours[p] -= extraGroups * weeklyHours;
+                    }
+                }
+            }
+
+            // Apply the assignment to the professors and the department.
+            for (int p = 0; p < professorCount; p++) {
+                if (requests.get(p) == null) {
+                    continue;
+                }
+
+                Professor professor = orderedProfessors.get(p);
+                ArrayList<Assignment> listOfAffectedCourses = new ArrayList<>();
+                for (Request request : requests.get(p)) {
+                    if (request.assignedGroups > 0) {
+                        listOfAffectedCourses.add(new Assignment(courseCatalog.getCourse(request.courseIndex), request.assignedGroups));
+                        courseCatalog.assignGroups(request.courseIndex, request.assignedGroups);
+                        PipelineMetrics.add(Counter.GROUPS_ASSIGNED, request.assignedGroups);
+                    }
+                }
+
+                // If the professor has no affected courses, the list is null.
+                professor.setListOfAffectedCourses(listOfAffectedCourses.isEmpty() ? null : listOfAffectedCourses);
+            }
+
+        } catch (Exception exception) {
+            // Catch any exceptions that occur during the process.
+            System.out.println("Error: " + exception.getMessage());
+            throw new RuntimeException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Aggregates the selection of a professor into one request per course, keeping only the courses that exist, have groups and that
+     * the professor is qualified to teach, in the order of their first request.
+     *
+     * @param professor     The professor.
+     * @param selection     The selection of the professor.
+     * @param courseCatalog The course catalog of the department.
+     * @return The aggregated requests.
+     * @throws RuntimeException If a requested course has a number of hours without known weekly hours.
+     */
+    private static ArrayList<Request> aggregateRequests(Professor professor, ProfessorSelection selection, CourseCatalog courseCatalog) {
+
+        ArrayList<Request> requests = new ArrayList<>();
+        HashMap<Integer, Request> requestByCourse = new HashMap<>();
+        int rank = 0;
+
+        for (CourseSelection courseSelection : selection.getCourseSelections()) {
+            int courseIndex = courseCatalog.indexOf(courseSelection.getCourseId());
+            int rankOfSelection = rank++;
+
+            if (courseIndex < 0 || courseCatalog.getRemainingGroups(courseIndex) <= 0 || !professor.hasDiscipline(courseCatalog.getDisciplineId(courseIndex))) {
+                continue;
+            }
+            if (courseCatalog.getWeeklyHours(courseIndex) == 0) {
+                System.out.println("Unknown weekly hours for course " + courseSelection.getCourseId() + ".");
+                throw new RuntimeException("Unknown weekly hours for course " + courseSelection.getCourseId() + ".");
+            }
+
+            Request request = requestByCourse.get(courseIndex);
+            if (request == null) {
+                request = new Request(courseIndex, rankOfSelection, 0);
+                requestByCourse.put(courseIndex, request);
+                requests.add(request);
+            }
+            request.requestedGroups += Math.max(0, courseSelection.getRequestedNumberOfGroups());
+        }
+
+        return requests;
+    }
+
+    /**
+     * Builds the flow network, solves it and stores the whole groups of each request in its assignedGroups.
+     *
+     * @param requests      The aggregated requests of each professor, in priority order (null for a professor without selection).
+     * @param hours         The available hours of each professor.
+     * @param courseCatalog The course catalog of the department.
+     */
+    private static void solveFlow(ArrayList<ArrayList<Request>> requests, int[] hours, CourseCatalog courseCatalog) {
+
+        int professorCount = requests.size();
+        int courseCount = courseCatalog.getSize();
+        int firstCourseNode = 2 + professorCount;
+
+        long maxRank = 0;
+        int edgeCount = 0;
+        boolean[] requestedCourse = new boolean[courseCount];
+        for (int p = 0; p < professorCount; p++) {
+            ArrayList<Request> professorRequests = requests.get(p);
+            if (professorRequests != null && hours[p] > 0) {
+                edgeCount += professorRequests.size() + 1;
+                for (Request request : professorRequests) {
+                    maxRank = Math.max(maxRank, request.rank);
+                    requestedCourse[request.courseIndex] = true;
+                }
+            }
+        }
+        long totalGroups = 0;
+        for (int c = 0; c < courseCount; c++) {
+            if (requestedCourse[c]) {
+                totalGroups += courseCatalog.getRemainingGroups(c);
+            }
+        }
+
+        // The flow is counted in 1/60 of a group (HOURS_SCALE / weeklyHours units per hour), and the preference cost of a unit is at most
+        // maxRank * PRIORITY_BUCKETS. The reward of a unit is larger than the preference cost of all the units together, so one more
+        // unit covered always lowers the total cost.
+        long unitReward = Math.addExact(Math.multiplyExact(maxRank * PRIORITY_BUCKETS, totalGroups * HOURS_SCALE), 1);
+
+        MinCostFlowNetwork network = new MinCostFlowNetwork(firstCourseNode + courseCount, edgeCount + courseCount);
+
+        for (int p = 0; p < professorCount; p++) {
+            ArrayList<Request> professorRequests = requests.get(p);
+            if (professorRequests == null || hours[p] == 0) {
+                continue;
+            }
+
+            network.addEdge(SOURCE, 2 + p, hours[p], 0);
+
+            // Professors earlier in the priority order have a larger weight (from PRIORITY_BUCKETS down to 1).
+            long weight = PRIORITY_BUCKETS - (long) p * PRIORITY_BUCKETS / professorCount;
+            for (Request request : professorRequests) {
+                int weeklyHours = courseCatalog.getWeeklyHours(request.courseIndex);
+                int groups = Math.min(request.requestedGroups, courseCatalog.getRemainingGroups(request.courseIndex));
+                if (groups <= 0) {
+                    continue;
+                }
+
+                long unitCost = request.rank * weight - unitReward;
+                request.edge = network.addEdge(2 + p, firstCourseNode + request.courseIndex, (long) groups * weeklyHours, unitCost * (HOURS_SCALE / weeklyHours));
+            }
+        }
+
+        for (int c = 0; c < courseCount; c++) {
+            if (requestedCourse[c]) {
+                network.addEdge(firstCourseNode + c, SINK, (long) courseCatalog.getRemainingGroups(c) * courseCatalog.getWeeklyHours(c), 0);
+            }
+        }
+
+        network.solve(SOURCE, SINK);
+
+        // Round the hours of each request down to whole groups.
+        for (ArrayList<Request> professorRequests : requests) {
+            if (professorRequests != null) {
+                for (Request request : professorRequests) {
+                    if (request.edge >= 0) {
+                        request.assignedGroups = (int) (network.getFlow(request.edge) / courseCatalog.getWeeklyHours(request.courseIndex));
+                    }
+                }
+            }
+        }
+    }
+}
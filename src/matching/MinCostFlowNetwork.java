@@ -0,0 +1,387 @@
+package matching;
+
+import java.util.Arrays;
+
+/**
+ * MinCostFlowNetwork is a flow network with integer capacities and costs, solved with the primal-dual algorithm:
+ * <ol>
+ *     <li>Dijkstra's algorithm on the reduced costs (cost + potential[from] - potential[to], never negative) finds the cost of the shortest augmenting path.</li>
+ *     <li>The potentials are updated so that every edge of a shortest path has a reduced cost of 0.</li>
+ *     <li>A blocking flow (as in Dinic's algorithm) is pushed through the edges with a reduced cost of 0, which saturates all the shortest paths at once.</li>
+ * </ol>
+ * Initial negative costs are allowed (the first potentials come from the Bellman-Ford algorithm), as long as the network has no negative cycle.
+ * The solver does not look for a maximum flow: it stops as soon as the shortest augmenting path no longer has a negative cost,
+ * so the result is the flow of minimum cost over all flow amounts.
+ * <p>
+ * Edges are stored in arrays; the reverse (residual) edge of edge e is e ^ 1.
+ */
+class MinCostFlowNetwork {
+
+    private static final long INFINITY = Long.MAX_VALUE / 4; // Distance of a node that cannot be reached.
+
+    private final int nodeCount; // Number of nodes.
+    private final int[] head; // First edge leaving each node, or -1.
+    private int[] next; // Next edge leaving the same node, or -1.
+    private int[] to; // Node the edge goes to.
+    private long[] capacity; // Remaining (residual) capacity of the edge.
+    private long[] cost; // Cost of one unit of flow on the edge.
+    private int edgeCount; // Number of edges, including the reverse edges.
+
+    /**
+     * Constructs a network without edges.
+     *
+     * @param nodeCount     The number of nodes (numbered from 0).
+     * @param expectedEdges The expected number of edges, used as the initial capacity of the edge arrays.
+     */
+    MinCostFlowNetwork(int nodeCount, int expectedEdges) {
+        this.nodeCount = nodeCount;
+        this.head = new int[nodeCount];
+        Arrays.fill(this.head, -1);
+
+        int initialCapacity = Math.max(16, 2 * expectedEdges);
+        this.next = new int[initialCapacity];
+        this.to = new int[initialCapacity];
+        this.capacity = new long[initialCapacity];
+        this.cost = new long[initialCapacity];
+        this.edgeCount = 0;
+    }
+
+    /**
+     * Adds an edge (and its reverse edge, with no capacity and the opposite cost).
+     *
+     * @param from     The node the edge leaves.
+     * @param to       The node the edge goes to.
+     * @param capacity The capacity of the edge.
+     * @param cost     The cost of one unit of flow on the edge.
+     * @return The index of the edge, to retrieve its flow with getFlow.
+     */
+    int addEdge(int from, int to, long capacity, long cost) {
+
+        if (this.edgeCount + 2 > this.to.length) {
+            int newLength = this.to.length * 2;
+            this.next = Arrays.copyOf(this.next, newLength);
+            this.to = Arrays.copyOf(this.to, newLength);
+            this.capacity = Arrays.copyOf(this.capacity, newLength);
+            this.cost = Arrays.copyOf(this.cost, newLength);
+        }
+
+        int edge = this.edgeCount;
+        link(edge, from, to, capacity, cost);
+        link(edge + 1, to, from, 0, -cost);
+        this.edgeCount += 2;
+
+        return edge;
+    }
+
+    /**
+     * Retrieves the flow going through an edge.
+     *
+     * @param edge The index of the edge returned by addEdge.
+     * @return The flow of the edge.
+     */
+    long getFlow(int edge) {
+        return this.capacity[edge ^ 1];
+    }
+
+    /**
+     * Computes the flow of minimum cost from the source to the sink.
+     *
+     * @param source The source node.
+     * @param sink   The sink node.
+     * @return The cost of the flow (0 or negative).
+     */
+    long solve(int source, int sink) {
+
+        long[] potential = initialPotentials(source);
+        long[] distance = new long[this.nodeCount];
+        boolean[] done = new boolean[this.nodeCount];
+        int[] visited = new int[this.nodeCount];
+        int[] level = new int[this.nodeCount];
+        int[] currentEdge = new int[this.nodeCount];
+        int[] queue = new int[this.nodeCount];
+        int[] pathEdges = new int[this.nodeCount];
+        NodeHeap heap = new NodeHeap(this.nodeCount);
+
+        long totalCost = 0;
+
+        while (true) {
+
+            // Dijkstra's algorithm on the reduced costs, stopping once the sink is reached.
+            Arrays.fill(distance, INFINITY);
+            distance[source] = 0;
+            heap.push(0, source);
+            int visitedCount = 0;
+
+            while (!heap.isEmpty()) {
+                long nodeDistance = heap.peekKey();
+                int node = heap.pop();
+                if (done[node]) {
+                    continue;
+                }
+                done[node] = true;
+                visited[visitedCount++] = node;
+                if (node == sink) {
+                    break;
+                }
+
+                for (int edge = this.head[node]; edge != -1; edge = this.next[edge]) {
+                    int target = this.to[edge];
+                    if (this.capacity[edge] > 0 && !done[target]) {
+                        long targetDistance = nodeDistance + this.cost[edge] + potential[node] - potential[target];
+                        if (targetDistance < distance[target]) {
+                            distance[target] = targetDistance;
+                            heap.push(targetDistance, target);
+                        }
+                    }
+                }
+            }
+            heap.clear();
+            for (int i = 0; i < visitedCount; i++) {
+                done[visited[i]] = false;
+            }
+
+            if (distance[sink] == INFINITY) {
+                break;
+            }
+
+            // Cost of the shortest path with the original costs: stop when augmenting no longer decreases the total cost.
+            long pathCost = distance[sink] - potential[source] + potential[sink];
+            if (pathCost >= 0) {
+                break;
+            }
+
+            // Update the potentials of the visited nodes, so the edges of the shortest paths have a reduced cost of 0.
+            for (int i = 0; i < visitedCount; i++) {
+                int node = visited[i];
+                potential[node] += distance[node] - distance[sink];
+            }
+
+            // Push a blocking flow through the edges with a reduced cost of 0 (every such path costs pathCost).
+            while (buildLevels(source, sink, potential, level, queue)) {
+                System.arraycopy(this.head, 0, currentEdge, 0, this.nodeCount);
+                totalCost += pathCost * pushBlockingFlow(source, sink, potential, level, currentEdge, pathEdges);
+            }
+        }
+
+        return totalCost;
+    }
+
+    /**
+     * Computes the first potentials with the Bellman-Ford algorithm, so the reduced costs are not negative even if some costs are.
+     *
+     * @param source The source node.
+     * @return The distance from the source to each node (0 for the nodes that cannot be reached).
+     */
+    private long[] initialPotentials(int source) {
+
+        long[] potential = new long[this.nodeCount];
+        Arrays.fill(potential, INFINITY);
+        potential[source] = 0;
+
+        boolean changed = true;
+        for (int pass = 0; pass < this.nodeCount && changed; pass++) {
+            changed = false;
+            for (int node = 0; node < this.nodeCount; node++) {
+                if (potential[node] == INFINITY) {
+                    continue;
+                }
+                for (int edge = this.head[node]; edge != -1; edge = this.next[edge]) {
+                    if (this.capacity[edge] > 0 && potential[node] + this.cost[edge] < potential[this.to[edge]]) {
+                        potential[this.to[edge]] = potential[node] + this.cost[edge];
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        // Nodes that cannot be reached from the source are never reached later either.
+        for (int node = 0; node < this.nodeCount; node++) {
+            if (potential[node] == INFINITY) {
+                potential[node] = 0;
+            }
+        }
+
+        return potential;
+    }
+
+    /**
+     * Computes the breadth-first level of each node, using only the edges with capacity and a reduced cost of 0.
+     *
+     * @return true if the sink can be reached, false otherwise.
+     */
+    private boolean buildLevels(int source, int sink, long[] potential, int[] level, int[] queue) {
+
+        Arrays.fill(level, -1);
+        level[source] = 0;
+        int queueHead = 0;
+        int queueTail = 0;
+        queue[queueTail++] = source;
+
+        while (queueHead < queueTail) {
+            int node = queue[queueHead++];
+            for (int edge = this.head[node]; edge != -1; edge = this.next[edge]) {
+                int target = this.to[edge];
+                if (level[target] < 0 && isAdmissible(edge, node, potential)) {
+                    level[target] = level[node] + 1;
+                    queue[queueTail++] = target;
+                }
+            }
+        }
+
+        return level[sink] >= 0;
+    }
+
+    /**
+     * Pushes flow along the level graph until the sink can no longer be reached (iterative depth-first search with current edges).
+     *
+     * @return The amount of flow pushed.
+     */
+    private long pushBlockingFlow(int source, int sink, long[] potential, int[] level, int[] currentEdge, int[] pathEdges) {
+
+        long totalFlow = 0;
+        int depth = 0;
+        int node = source;
+
+        while (true) {
+
+            if (node == sink) {
+                // Augment along the path by its bottleneck capacity, then start again from the source.
+                long flow = INFINITY;
+                for (int i = 0; i < depth; i++) {
+                    flow = Math.min(flow, this.capacity[pathEdges[i]]);
+                }
+                for (int i = 0; i < depth; i++) {
+                    this.capacity[pathEdges[i]] -= flow;
+                    this.capacity[pathEdges[i] ^ 1] += flow;
+                }
+                totalFlow += flow;
+                depth = 0;
+                node = source;
+                continue;
+            }
+
+            // Advance along the first usable edge of the node.
+            boolean advanced = false;
+            for (; currentEdge[node] != -1; currentEdge[node] = this.next[currentEdge[node]]) {
+                int edge = currentEdge[node];
+                int target = this.to[edge];
+                if (level[target] == level[node] + 1 && isAdmissible(edge, node, potential)) {
+                    pathEdges[depth++] = edge;
+                    node = target;
+                    advanced = true;
+                    break;
+                }
+            }
+
+            if (!advanced) {
+                // Dead end: remove the node from the level graph and retreat.
+                if (node == source) {
+                    return totalFlow;
+                }
+                level[node] = -1;
+                int edge = pathEdges[--depth];
+                node = this.to[edge ^ 1];
+                currentEdge[node] = this.next[currentEdge[node]];
+            }
+        }
+    }
+
+    /**
+     * Checks if an edge has remaining capacity and a reduced cost of 0.
+     */
+    private boolean isAdmissible(int edge, int from, long[] potential) {
+        return this.capacity[edge] > 0 && this.cost[edge] + potential[from] - potential[this.to[edge]] == 0;
+    }
+
+    /**
+     * Sets the fields of an edge and links it in front of the edges leaving its node.
+     */
+    private void link(int edge, int from, int to, long capacity, long cost) {
+        this.to[edge] = to;
+        this.capacity[edge] = capacity;
+        this.cost[edge] = cost;
+        this.next[edge] = this.head[from];
+        this.head[from] = edge;
+    }
+
+    /**
+     * Binary min-heap of (distance, node) pairs in primitive arrays, used by Dijkstra's algorithm.
+     * A node can be pushed several times; the outdated entries are skipped when popped.
+     */
+    private static class NodeHeap {
+
+        private long[] keys; // Distance of each entry.
+        private int[] nodes; // Node of each entry.
+        private int size; // Number of entries.
+
+        NodeHeap(int initialCapacity) {
+            this.keys = new long[Math.max(16, initialCapacity)];
+            this.nodes = new int[this.keys.length];
+            this.size = 0;
+        }
+
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        void clear() {
+            this.size = 0;
+        }
+
+        long peekKey() {
+            return this.keys[0];
+        }
+
+        void push(long key, int node) {
+
+            if (this.size == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, this.size * 2);
+                this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+            }
+
+            // Sift the new entry up.
+            int index = this.size++;
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (this.keys[parent] <= key) {
+                    break;
+                }
+                this.keys[index] = this.keys[parent];
+                this.nodes[index] = this.nodes[parent];
+                index = parent;
+            }
+            this.keys[index] = key;
+            this.nodes[index] = node;
+        }
+
+        int pop() {
+
+            int top = this.nodes[0];
+            this.size--;
+
+            // Sift the last entry down from the root.
+            long key = this.keys[this.size];
+            int node = this.nodes[this.size];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= this.size) {
+                    break;
+                }
+                if (child + 1 < this.size && this.keys[child + 1] < this.keys[child]) {
+                    child++;
+                }
+                if (this.keys[child] >= key) {
+                    break;
+                }
+                this.keys[index] = this.keys[child];
+                this.nodes[index] = this.nodes[child];
+                index = child;
+            }
+            this.keys[index] = key;
+            this.nodes[index] = node;
+
+            return top;
+        }
+    }
+}
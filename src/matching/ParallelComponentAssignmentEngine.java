@@ -0,0 +1,273 @@
+package matching;
+
+import io.SelectionSource;
+import model.Assignment;
+import model.CourseCatalog;
+import model.Department;
+import model.DisciplineDictionary;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ParallelComponentAssignmentEngine runs the greedy algorithm on independent parts of the department at the same time.
+ * <p>
+ * A professor can only be assigned courses of their own disciplines, so two professors that are not linked by a chain of shared
+ * disciplines never compete for the same groups. The disciplines are grouped into connected components (a professor links all their
+ * disciplines together, with a union-find), and the professors of each component are processed in priority order by one task of a
+ * ForkJoinPool. The components are independent, so the result is identical to the sequential greedy algorithm.
+ * <p>
+ * The messages of the greedy algorithm (professor without selection, error) are printed after all the tasks are done,
+ * in priority order, so the output is identical too.
+ * <p>
+ * When an error occurs, the sequential algorithm stops and the professors after the failing one keep their previous courses. The other
+ * components stop before any professor after the failing one, and the professors after it that were already processed are undone
+ * (groups given back and previous courses restored), so the department and the professors are in the same state as after the sequential run.
+ */
+public class ParallelComponentAssignmentEngine implements AssignmentEngine {
+
+    /**
+     * The pool running one task per component.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs an engine running on the common ForkJoinPool (one thread per core).
+     */
+    public ParallelComponentAssignmentEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs an engine running on the specified pool.
+     *
+     * @param pool The pool running one task per component.
+     * @throws NullPointerException If the pool is null.
+     */
+    public ParallelComponentAssignmentEngine(ForkJoinPool pool) {
+        if (pool == null) {
+            System.out.println("Pool cannot be null.");
+            throw new NullPointerException("Pool cannot be null.");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Assigns courses to professors, processing the components of the department in parallel.
+     *
+     * @param professors      The professors to be matched with courses.
+     * @param department      The department containing the courses.
+     * @param selectionSource The source providing the selection of each professor.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    @Override
+    public void assignCourses(List<Professor> professors, Department department, SelectionSource selectionSource) {
+
+        ArrayList<Professor> orderedProfessors = ProfessorPriorityKey.sortByPriority(professors);
+
+        // Outcome of each professor (by position in the priority order), reported once all the tasks are done.
+        boolean[] selectionMissing = new boolean[orderedProfessors.size()];
+        String[] errorMessages = new String[orderedProfessors.size()];
+        AtomicInteger firstErrorPosition = new AtomicInteger(Integer.MAX_VALUE); // Position of the first professor whose matching failed.
+
+        // State of each processed professor before their matching, to undo them if a professor of higher priority fails:
+        // the courses of their selection they can teach, the remaining groups of these courses, and their previous courses.
+        boolean[] processed = new boolean[orderedProfessors.size()];
+        int[][] selectedCourses = new int[orderedProfessors.size()][];
+        int[][] previousRemainingGroups = new int[orderedProfessors.size()][];
+        List<ArrayList<Assignment>> previousAffectedCourses = new ArrayList<>(Collections.nCopies(orderedProfessors.size(), null));
+        CourseCatalog courseCatalog = department.getCourseCatalog();
+
+        List<int[]> components = splitIntoComponents(orderedProfessors);
+        ArrayList<RecursiveAction> tasks = new ArrayList<>();
+        for (int[] component : components) {
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    for (int position : component) {
+                        if (position > firstErrorPosition.get()) {
+                            // The sequential algorithm never reaches this professor.
+                            return;
+                        }
+                        Professor professor = orderedProfessors.get(position);
+                        processed[position] = true;
+                        previousAffectedCourses.set(position, professor.getListOfAffectedCourses());
+                        try {
+                            ProfessorSelection selection = selectionSource.getSelection(professor.getId());
+                            if (selection == null) {
+                                selectionMissing[position] = true;
+                            }
+                            else {
+                                recordRemainingGroups(professor, selection, courseCatalog, position, selectedCourses, previousRemainingGroups);
+                                GreedyAssignmentEngine.assignSelection(professor, department, selection);
+                            }
+                        } catch (Exception exception) {
+                            // The sequential algorithm stops at the first error, so does this component, and the others stop after it.
+                            errorMessages[position] = String.valueOf(exception.getMessage());
+                            firstErrorPosition.accumulateAndGet(position, Math::min);
+                            return;
+                        }
+                    }
+                }
+            });
+        }
+
+        this.pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        // Undo the professors after the first error, from the last one of each component, so the groups go back to their previous counts.
+        int failedPosition = firstErrorPosition.get();
+        if (failedPosition != Integer.MAX_VALUE) {
+            for (int[] component : components) {
+                for (int i = component.length - 1; i >= 0 && component[i] > failedPosition; i--) {
+                    int position = component[i];
+                    if (processed[position]) {
+                        restoreRemainingGroups(courseCatalog, selectedCourses[position], previousRemainingGroups[position]);
+                        orderedProfessors.get(position).setListOfAffectedCourses(previousAffectedCourses.get(position));
+                    }
+                }
+            }
+        }
+
+        // Print the messages in priority order, as the sequential algorithm does.
+        for (int position = 0; position < orderedProfessors.size(); position++) {
+            Professor professor = orderedProfessors.get(position);
+            if (selectionMissing[position]) {
+                System.out.println("Professor file not found for ID: " + professor.getId() + ". Name = " + professor.getName());
+            }
+            else if (errorMessages[position] != null) {
+                System.out.println("Error: " + errorMessages[position]);
+                System.out.println("Error: " + errorMessages[position]);
+                throw new RuntimeException(errorMessages[position]);
+            }
+        }
+    }
+
+    /**
+     * Splits the professors into components of professors linked by shared disciplines.
+     *
+     * @param orderedProfessors The professors in priority order.
+     * @return The positions of the professors of each component, in priority order.
+     */
+    private static List<int[]> splitIntoComponents(List<Professor> orderedProfessors) {
+
+        // Union-find over the discipline IDs: the disciplines of a professor are in the same component.
+        // It has one entry per code of the dictionary, which also holds the codes of previous loads that no professor uses anymore.
+        int[] parent = new int[DisciplineDictionary.getSize()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        int[][] disciplineIds = new int[orderedProfessors.size()][];
+        for (int position = 0; position < orderedProfessors.size(); position++) {
+            disciplineIds[position] = orderedProfessors.get(position).getDisciplineIds();
+            for (int i = 1; i < disciplineIds[position].length; i++) {
+                int first = find(parent, disciplineIds[position][0]);
+                int other = find(parent, disciplineIds[position][i]);
+                parent[other] = first;
+            }
+        }
+
+        // Group the professors by the root of their disciplines (professors without discipline are together, they get no course).
+        HashMap<Integer, ArrayList<Integer>> positionsByRoot = new HashMap<>();
+        ArrayList<ArrayList<Integer>> components = new ArrayList<>();
+        for (int position = 0; position < orderedProfessors.size(); position++) {
+            int root = disciplineIds[position].length == 0 ? -1 : find(parent, disciplineIds[position][0]);
+            ArrayList<Integer> positions = positionsByRoot.get(root);
+            if (positions == null) {
+                positions = new ArrayList<>();
+                positionsByRoot.put(root, positions);
+                components.add(positions);
+            }
+            positions.add(position);
+        }
+
+        List<int[]> result = new ArrayList<>(components.size());
+        for (ArrayList<Integer> positions : components) {
+            result.add(positions.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        return result;
+    }
+
+    /**
+     * Records the remaining groups of the courses of a selection that a professor can teach (the only ones their matching can change),
+     * before the matching of the professor.
+     *
+     * @param professor               The professor.
+     * @param selection               The selection of the professor.
+     * @param courseCatalog           The course catalog of the department.
+     * @param position                The position of the professor in the priority order.
+     * @param selectedCourses         Receives the catalog indexes of the courses, at the position of the professor.
+     * @param previousRemainingGroups Receives the remaining groups of the courses, at the position of the professor.
+     */
+    private static void recordRemainingGroups(Professor professor, ProfessorSelection selection, CourseCatalog courseCatalog, int position,
+                                              int[][] selectedCourses, int[][] previousRemainingGroups) {
+
+        int[] courses = new int[selection.getCourseSelections().size()];
+        int count = 0;
+        for (int i = 0; i < courses.length; i++) {
+            int index = courseCatalog.indexOf(selection.getCourseSelections().get(i).getCourseId());
+            if (index >= 0 && professor.hasDiscipline(courseCatalog.getDisciplineId(index))) {
+                courses[count] = index;
+                count++;
+            }
+        }
+
+        int[] remainingGroups = new int[count];
+        for (int i = 0; i < count; i++) {
+            remainingGroups[i] = courseCatalog.getRemainingGroups(courses[i]);
+        }
+        selectedCourses[position] = Arrays.copyOf(courses, count);
+        previousRemainingGroups[position] = remainingGroups;
+    }
+
+    /**
+     * Gives back the groups taken from courses since their remaining groups were recorded.
+     *
+     * @param courseCatalog   The course catalog of the department.
+     * @param courses         The catalog indexes of the courses (null if nothing was recorded).
+     * @param remainingGroups The recorded remaining groups of the courses.
+     */
+    private static void restoreRemainingGroups(CourseCatalog courseCatalog, int[] courses, int[] remainingGroups) {
+
+        if (courses == null) {
+            return;
+        }
+
+        for (int i = 0; i < courses.length; i++) {
+            int remaining = courseCatalog.getRemainingGroups(courses[i]);
+            if (remaining < remainingGroups[i]) {
+                courseCatalog.releaseGroups(courses[i], remainingGroups[i] - remaining);
+            }
+        }
+    }
+
+    /**
+     * Finds the root of a discipline in the union-find, compressing the path on the way.
+     *
+     * @param parent The parent of each discipline.
+     * @param id     The discipline ID.
+     * @return The root of the component of the discipline.
+     */
+    private static int find(int[] parent, int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+}
@@ -0,0 +1,437 @@
+package matching;
+
+import io.SelectionSource;
+import metrics.Counter;
+import metrics.PipelineMetrics;
+import model.Assignment;
+import model.SharedGroupCounts;
+import model.CourseCatalog;
+import model.CourseSelection;
+import model.Department;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SpeculativeAssignmentEngine runs the greedy algorithm with several threads, and gives exactly the same result as the sequential one.
+ * <p>
+ * Worker threads take the professors in priority order and process them speculatively: they read the selection of the professor and
+ * compute the courses the greedy algorithm would assign, using the remaining groups of the shared group counts at that moment
+ * (a SharedGroupCounts, read without lock). Nothing is assigned by a speculation.
+ * <p>
+ * The calling thread is the only one assigning groups: it commits the professors one at a time in strict priority order, so a professor
+ * never loses groups to a professor of lower priority. A speculation is still valid if every course it looked at gives the same number of
+ * groups with the current counts (the professors committed in the meantime may have taken groups of the same course, as long as enough of
+ * them remain). A valid speculation is applied as it is; an invalid one is run again by the committing thread on the current counts.
+ * The committing thread also runs the professors that no worker has started yet, so it never waits for them.
+ * <p>
+ * The workers only run a limited number of professors ahead of the last commit (a semaphore holds one permit per free place of the window),
+ * so their counts are recent and few speculations fail. Threads waiting for the window or for a speculation are parked, not spinning.
+ * The reading of the selections and the matching run on all the cores; the commit of a professor only compares and assigns one count per course
+ * looked at. When the selections are already in memory (see PrefetchedSelectionSource), the speculation mostly saves the matching itself,
+ * which is small, so the engine pays off when reading a selection is slow.
+ */
+public class SpeculativeAssignmentEngine implements AssignmentEngine {
+
+    /**
+     * Default number of professors a worker can run ahead of the last commit.
+     */
+    public static final int DEFAULT_WINDOW = 64;
+
+    private static final int NOT_STARTED = 0; // State of a professor that no thread has started.
+    private static final int RUNNING = 1; // State of a professor being processed by a worker (or run by the committing thread).
+    private static final int DONE = 2; // State of a professor whose speculation is ready.
+
+    /**
+     * Result of the speculation of one professor: the selection and, for each course looked at, the groups the greedy algorithm took.
+     */
+    private static class Speculation {
+        ProfessorSelection selection; // The selection of the professor, or null if the professor has none.
+        String selectionError; // Message of the error while reading the selection, or null.
+        boolean needsRun; // Whether the professor must be run again on the current counts (unknown weekly hours of a course).
+        int stepCount; // Number of courses looked at.
+        int[] courseIndexes = new int[8]; // Catalog index of each course looked at.
+        int[] groupLimits = new int[8]; // Groups the professor could take from it (requested groups limited by the remaining hours).
+        int[] takenBefore = new int[8]; // Groups of the same course taken by the previous steps (a course can be selected twice).
+        int[] takenGroups = new int[8]; // Groups taken from it.
+        ArrayList<Assignment> assignments = new ArrayList<>(); // The courses assigned by the speculation.
+
+        void addStep(int courseIndex, int groupLimit, int before, int taken) {
+            if (this.stepCount == this.courseIndexes.length) {
+                this.courseIndexes = Arrays.copyOf(this.courseIndexes, this.stepCount * 2);
+                this.groupLimits = Arrays.copyOf(this.groupLimits, this.stepCount * 2);
+                this.takenBefore = Arrays.copyOf(this.takenBefore, this.stepCount * 2);
+                this.takenGroups = Arrays.copyOf(this.takenGroups, this.stepCount * 2);
+            }
+            this.courseIndexes[this.stepCount] = courseIndex;
+            this.groupLimits[this.stepCount] = groupLimit;
+            this.takenBefore[this.stepCount] = before;
+            this.takenGroups[this.stepCount] = taken;
+            this.stepCount++;
+        }
+    }
+
+    private final ForkJoinPool pool; // The pool running the workers.
+    private final int workerCount; // Number of workers.
+    private final int window; // Number of professors a worker can run ahead of the last commit.
+    private int lastRerunCount; // Number of speculations run again during the last assignment.
+
+    /**
+     * Constructs an engine running one worker per core on the common ForkJoinPool.
+     */
+    public SpeculativeAssignmentEngine() {
+        this(ForkJoinPool.commonPool(), Math.max(1, ForkJoinPool.commonPool().getParallelism()), DEFAULT_WINDOW);
+    }
+
+    /**
+     * Constructs an engine running on the specified pool.
+     *
+     * @param pool        The pool running the workers.
+     * @param workerCount The number of workers (0 runs everything on the calling thread).
+     * @param window      The number of professors a worker can run ahead of the last commit.
+     * @throws NullPointerException If the pool is null.
+     * @throws RuntimeException     If the number of workers is negative or the window is smaller than 1.
+     */
+    public SpeculativeAssignmentEngine(ForkJoinPool pool, int workerCount, int window) {
+
+        if (pool == null) {
+            System.out.println("Pool cannot be null.");
+            throw new NullPointerException("Pool cannot be null.");
+        }
+        if (workerCount < 0 || window < 1) {
+            System.out.println("Invalid number of workers or window.");
+            throw new RuntimeException("Invalid number of workers or window.");
+        }
+
+        this.pool = pool;
+        this.workerCount = workerCount;
+        this.window = window;
+    }
+
+    /**
+     * Retrieves the number of speculations that were not valid anymore at their commit during the last assignment, and were run again.
+     *
+     * @return The number of speculations run again.
+     */
+    public int getLastRerunCount() {
+        return this.lastRerunCount;
+    }
+
+    /**
+     * Assigns courses to professors, processing the professors speculatively with several threads and committing them in priority order.
+     *
+     * @param professors      The professors to be matched with courses.
+     * @param department      The department containing the courses.
+     * @param selectionSource The source providing the selection of each professor.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    @Override
+    public void assignCourses(List<Professor> professors, Department department, SelectionSource selectionSource) {
+
+        ArrayList<Professor> orderedProfessors = ProfessorPriorityKey.sortByPriority(professors);
+        int professorCount = orderedProfessors.size();
+        CourseCatalog courseCatalog = department.getCourseCatalog();
+        SharedGroupCounts groupCounts = new SharedGroupCounts(courseCatalog);
+
+        AtomicIntegerArray states = new AtomicIntegerArray(professorCount); // State of each professor, by position.
+        AtomicReferenceArray<Speculation> speculations = new AtomicReferenceArray<>(professorCount); // Speculation of each professor.
+        AtomicInteger nextPosition = new AtomicInteger(0); // Next position taken by a worker.
+        AtomicInteger committedCount = new AtomicInteger(0); // Number of professors committed.
+        Semaphore windowPermits = new Semaphore(this.window); // One permit per position of the window not taken yet, released at each commit.
+        Thread committer = Thread.currentThread(); // The thread committing the professors, unparked when a speculation is ready.
+        this.lastRerunCount = 0;
+
+        // Workers: wait for a place in the window, take the next professor, and speculate it if the committing thread did not take it.
+        // A worker takes at most one position per permit, so a position is taken only once the professors window places before it are committed.
+        ArrayList<ForkJoinTask<?>> workers = new ArrayList<>();
+        for (int w = 0; w < this.workerCount; w++) {
+            workers.add(this.pool.submit(() -> {
+                while (true) {
+                    windowPermits.acquireUninterruptibly();
+                    int position = nextPosition.getAndIncrement();
+                    if (position >= professorCount || committedCount.get() >= professorCount) {
+                        windowPermits.release(); // Let the next worker see the end too.
+                        return; // The assignment is finished or stopped by an error.
+                    }
+                    if (states.compareAndSet(position, NOT_STARTED, RUNNING)) {
+                        try {
+                            speculations.set(position, speculate(orderedProfessors.get(position), courseCatalog, groupCounts, selectionSource));
+                        } finally {
+                            // Even if the speculation failed with an Error, the committing thread must not wait forever.
+                            states.set(position, DONE);
+                            LockSupport.unpark(committer);
+                        }
+                    }
+                }
+            }));
+        }
+
+        try {
+
+            for (int position = 0; position < professorCount; position++) {
+                Professor professor = orderedProfessors.get(position);
+
+                try {
+                    if (states.compareAndSet(position, NOT_STARTED, RUNNING)) {
+                        // No worker started this professor: run it directly on the current counts.
+                        run(professor, courseCatalog, groupCounts, selectionSource);
+                    }
+                    else {
+                        while (states.get(position) != DONE) {
+                            LockSupport.park(this);
+                        }
+                        Speculation speculation = speculations.get(position);
+                        if (speculation == null) {
+                            // The worker failed without a speculation: run the professor here, which reports the error if it happens again.
+                            run(professor, courseCatalog, groupCounts, selectionSource);
+                        }
+                        else {
+                            commit(professor, speculation, courseCatalog, groupCounts);
+                            speculations.set(position, null);
+                        }
+                    }
+                } catch (Exception exception) {
+                    // Catch any exceptions that occur during the process.
+                    System.out.println("Error: " + exception.getMessage());
+                    throw new RuntimeException(exception.getMessage());
+                }
+
+                committedCount.set(position + 1);
+                windowPermits.release();
+            }
+
+        } finally {
+            // Stop the workers: the professors they have not started are skipped, and the waiting workers are woken up.
+            committedCount.set(professorCount);
+            nextPosition.set(professorCount);
+            windowPermits.release();
+            for (ForkJoinTask<?> worker : workers) {
+                worker.quietlyJoin();
+            }
+        }
+    }
+
+    /**
+     * Runs a professor directly on the current counts, with the messages and errors of GreedyAssignmentEngine.assignCoursesToProfessor.
+     *
+     * @param professor       The professor.
+     * @param courseCatalog   The course catalog of the department.
+     * @param groupCounts     The shared group counts.
+     * @param selectionSource The source providing the selection of the professor.
+     * @throws RuntimeException If the selection could not be read or the matching failed.
+     */
+    private static void run(Professor professor, CourseCatalog courseCatalog, SharedGroupCounts groupCounts, SelectionSource selectionSource) {
+
+        try {
+            ProfessorSelection selection = selectionSource.getSelection(professor.getId());
+            if (selection == null) {
+                System.out.println("Professor file not found for ID: " + professor.getId() + ". Name = " + professor.getName());
+                return;
+            }
+
+            runOnGroupCounts(professor, courseCatalog, groupCounts, selection);
+
+        } catch (Exception exception) {
+            // Catch any exceptions that occur during the process.
+            System.out.println("Error: " + exception.getMessage());
+            throw new RuntimeException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Commits the speculation of a professor: it is applied if it is still valid with the current counts, otherwise the professor is run again.
+     * The messages and errors are the ones of the greedy algorithm.
+     *
+     * @param professor     The professor.
+     * @param speculation   The speculation of the professor.
+     * @param courseCatalog The course catalog of the department.
+     * @param groupCounts   The shared group counts.
+     * @throws RuntimeException If the selection could not be read or the matching failed.
+     */
+    private void commit(Professor professor, Speculation speculation, CourseCatalog courseCatalog, SharedGroupCounts groupCounts) {
+
+        if (speculation.selectionError != null) {
+            System.out.println("Error: " + speculation.selectionError);
+            throw new RuntimeException(speculation.selectionError);
+        }
+
+        if (speculation.selection == null) {
+            System.out.println("Professor file not found for ID: " + professor.getId() + ". Name = " + professor.getName());
+            return;
+        }
+
+        if (speculation.needsRun || !isValid(speculation, groupCounts)) {
+            if (!speculation.needsRun) {
+                this.lastRerunCount++;
+            }
+            try {
+                runOnGroupCounts(professor, courseCatalog, groupCounts, speculation.selection);
+            } catch (Exception exception) {
+                // Same message as GreedyAssignmentEngine.assignCoursesToProfessor.
+                System.out.println("Error: " + exception.getMessage());
+                throw new RuntimeException(exception.getMessage());
+            }
+            return;
+        }
+
+        // Only the committing thread assigns groups, so the groups of a valid speculation are always available.
+        for (int step = 0; step < speculation.stepCount; step++) {
+            if (speculation.takenGroups[step] > 0) {
+                groupCounts.assignGroups(speculation.courseIndexes[step], speculation.takenGroups[step]);
+                courseCatalog.assignGroups(speculation.courseIndexes[step], speculation.takenGroups[step]);
+                PipelineMetrics.add(Counter.GROUPS_ASSIGNED, speculation.takenGroups[step]);
+            }
+        }
+
+        // If the professor has no affected courses, the list is null.
+        professor.setListOfAffectedCourses(speculation.assignments.isEmpty() ? null : speculation.assignments);
+    }
+
+    /**
+     * Checks if a speculation takes the same groups with the current shared group counts, in one pass over its steps.
+     * The remaining hours of the professor only depend on the groups taken before, so the group limit of each step is unchanged
+     * as long as the previous steps took the same groups (and so did the groups of the same course taken by the previous steps).
+     *
+     * @param speculation The speculation.
+     * @param groupCounts The shared group counts, holding the counts after the commit of every professor of higher priority.
+     * @return true if every step takes the same number of groups, false otherwise.
+     */
+    private static boolean isValid(Speculation speculation, SharedGroupCounts groupCounts) {
+
+        for (int step = 0; step < speculation.stepCount; step++) {
+            // Groups of the course remaining for this step: the shared ones minus the ones taken by the previous steps.
+            int remaining = groupCounts.getRemainingGroups(speculation.courseIndexes[step]) - speculation.takenBefore[step];
+            if (takenGroups(remaining, speculation.groupLimits[step]) != speculation.takenGroups[step]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Speculates a professor: reads their selection and computes the courses of the greedy algorithm with the current counts,
+     * without claiming anything. Never throws, the errors are recorded for the commit (a worker must always finish its speculation).
+     *
+     * @param professor       The professor.
+     * @param courseCatalog   The course catalog of the department (only read).
+     * @param groupCounts     The shared group counts (only read).
+     * @param selectionSource The source providing the selection of the professor.
+     * @return The speculation.
+     */
+    private static Speculation speculate(Professor professor, CourseCatalog courseCatalog, SharedGroupCounts groupCounts, SelectionSource selectionSource) {
+
+        Speculation speculation = new Speculation();
+
+        try {
+            speculation.selection = selectionSource.getSelection(professor.getId());
+        } catch (Exception exception) {
+            speculation.selectionError = exception.getMessage();
+            return speculation;
+        }
+        if (speculation.selection == null) {
+            return speculation;
+        }
+
+        try {
+            speculateCourses(professor, courseCatalog, groupCounts, speculation);
+        } catch (RuntimeException exception) {
+            // Any other failure is reproduced (or not) by running the professor again at the commit.
+            speculation.needsRun = true;
+        }
+
+        return speculation;
+    }
+
+    /**
+     * Computes the courses of the greedy algorithm for the selection of a speculation with the current counts, without claiming anything.
+     *
+     * @param professor     The professor.
+     * @param courseCatalog The course catalog of the department (only read).
+     * @param groupCounts   The shared group counts (only read).
+     * @param speculation   The speculation, holding the selection of the professor.
+     */
+    private static void speculateCourses(Professor professor, CourseCatalog courseCatalog, SharedGroupCounts groupCounts, Speculation speculation) {
+
+        // Same steps as GreedyAssignmentEngine.selectCourses, recording the limit and the groups taken for each course looked at.
+        int maxRequestedHours = speculation.selection.getMaxRequestedHours();
+        for (CourseSelection selection : speculation.selection.getCourseSelections()) {
+
+            if (maxRequestedHours >= GreedyAssignmentEngine.MAX_HOURS) {
+                maxRequestedHours = GreedyAssignmentEngine.MAX_HOURS;
+            }
+
+            int courseIndex = courseCatalog.indexOf(selection.getCourseId());
+            if (courseIndex < 0 || !professor.hasDiscipline(courseCatalog.getDisciplineId(courseIndex))) {
+                continue;
+            }
+
+            int courseNumberOfHoursPerWeek = courseCatalog.getWeeklyHours(courseIndex);
+            if (courseNumberOfHoursPerWeek == 0) {
+                // The greedy algorithm fails on this course only if it has groups: let the commit run it on the current counts.
+                speculation.needsRun = true;
+                return;
+            }
+
+            // Groups of the course already taken by the previous steps (recorded, so the commit does not look for them again).
+            int before = 0;
+            for (int previous = 0; previous < speculation.stepCount; previous++) {
+                if (speculation.courseIndexes[previous] == courseIndex) {
+                    before += speculation.takenGroups[previous];
+                }
+            }
+
+            int groupLimit = Math.min(selection.getRequestedNumberOfGroups(), maxRequestedHours / courseNumberOfHoursPerWeek);
+            int taken = takenGroups(groupCounts.getRemainingGroups(courseIndex) - before, groupLimit);
+            speculation.addStep(courseIndex, groupLimit, before, taken);
+
+            if (taken > 0) {
+                speculation.assignments.add(new Assignment(courseCatalog.getCourse(courseIndex), taken));
+                maxRequestedHours = maxRequestedHours - (taken * courseNumberOfHoursPerWeek);
+            }
+        }
+    }
+
+    /**
+     * Runs the greedy algorithm for a professor on the current shared group counts, and applies the groups taken to the catalog.
+     *
+     * @param professor     The professor.
+     * @param courseCatalog The course catalog of the department.
+     * @param groupCounts   The shared group counts.
+     * @param selection     The selection of the professor.
+     */
+    private static void runOnGroupCounts(Professor professor, CourseCatalog courseCatalog, SharedGroupCounts groupCounts, ProfessorSelection selection) {
+
+        ArrayList<Assignment> listOfAffectedCourses = GreedyAssignmentEngine.selectCourses(professor, courseCatalog, groupCounts, selection, GreedyAssignmentEngine.MAX_HOURS);
+        professor.setListOfAffectedCourses(listOfAffectedCourses);
+
+        if (listOfAffectedCourses != null) {
+            for (Assignment assignment : listOfAffectedCourses) {
+                courseCatalog.assignGroups(courseCatalog.indexOf(assignment.getCourseId()), assignment.getNumOfGroups());
+                PipelineMetrics.add(Counter.GROUPS_ASSIGNED, assignment.getNumOfGroups());
+            }
+        }
+    }
+
+    /**
+     * Computes the groups the greedy algorithm takes from a course.
+     *
+     * @param remaining  The remaining groups of the course.
+     * @param groupLimit The groups the professor can take (requested groups limited by the remaining hours).
+     * @return The groups taken (0 if the course has no remaining group or the limit is not positive).
+     */
+    private static int takenGroups(int remaining, int groupLimit) {
+        return remaining > 0 ? Math.max(0, Math.min(remaining, groupLimit)) : 0;
+    }
+}
@@ -0,0 +1,27 @@
+package metrics;
+
+/**
+ * The counters of a run recorded by PipelineMetrics.
+ */
+public enum Counter {
+
+    LINES_PARSED("linesParsed"), // Lines read from Professors.txt and Courses.txt.
+    INVALID_LINES("invalidLines"), // Lines ignored because of an invalid format.
+    GROUPS_ASSIGNED("groupsAssigned"), // Groups assigned to professors.
+    PROFESSORS_WITHOUT_FILE("professorsWithoutFile"); // Professors without selection file.
+
+    private final String jsonName; // Name of the counter in the JSON export.
+
+    Counter(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * Retrieves the name of the counter in the JSON export.
+     *
+     * @return The name of the counter.
+     */
+    public String getJsonName() {
+        return this.jsonName;
+    }
+}
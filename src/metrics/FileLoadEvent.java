@@ -0,0 +1,39 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event of the loading of an input file: Professors.txt, Courses.txt, a selection file or the department snapshot.
+ */
+@Name("pcap.FileLoad")
+@Label("File Load")
+@Category({"Professor Course Assignment", "Input"})
+@Description("Input file read and parsed.")
+@StackTrace(false)
+public class FileLoadEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Kind")
+    @Description("professors, courses, selection or snapshot.")
+    public String kind;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Records")
+    @Description("Number of lines (records for the snapshot) read.")
+    public long records;
+
+    @Label("Success")
+    @Description("false if the file could not be read or parsed.")
+    public boolean success;
+}
@@ -0,0 +1,155 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram records durations in nanoseconds with a bounded relative error, in the style of HdrHistogram.
+ * <p>
+ * Values below 128 have their own bucket. Above, each power of two is split into 64 buckets of equal width, so a value is known
+ * within 1/64 (about 1.6%) of itself whatever its magnitude, from 1 ns to several centuries, with a fixed array of 3712 counts.
+ * Recording is lock-free (one atomic increment), so several threads can record in the same histogram.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7; // Values below 2^7 have their own bucket.
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 128.
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2; // Number of buckets of each power of two above 128.
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF; // Buckets up to Long.MAX_VALUE.
+
+    private final AtomicLongArray counts; // Number of values recorded in each bucket.
+    private final AtomicLong totalCount; // Number of values recorded.
+    private final AtomicLong totalValue; // Sum of the values recorded.
+    private final AtomicLong maxValue; // Largest value recorded.
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.totalValue = new AtomicLong();
+        this.maxValue = new AtomicLong();
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds (negative durations are recorded as 0).
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts.incrementAndGet(bucketIndex(value));
+        this.totalCount.incrementAndGet();
+        this.totalValue.addAndGet(value);
+        this.maxValue.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return this.totalCount.get();
+    }
+
+    /**
+     * Returns the sum of the values recorded.
+     *
+     * @return The sum in nanoseconds.
+     */
+    public long getTotal() {
+        return this.totalValue.get();
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return The largest value in nanoseconds, or 0 if no value is recorded.
+     */
+    public long getMax() {
+        return this.maxValue.get();
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return The mean in nanoseconds, or 0 if no value is recorded.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : getTotal() / (double) count;
+    }
+
+    /**
+     * Returns the value at a percentile: at least this percentage of the values are lower or equal.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The highest value of the bucket holding the percentile (never more than the largest value), or 0 if no value is recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulativeCount = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulativeCount += this.counts.get(index);
+            if (cumulativeCount >= rank) {
+                return Math.min(highestValueOf(index), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Removes every value recorded.
+     */
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            this.counts.set(index, 0);
+        }
+        this.totalCount.set(0);
+        this.totalValue.set(0);
+        this.maxValue.set(0);
+    }
+
+    /**
+     * Computes the bucket of a value.
+     *
+     * @param value The value (not negative).
+     * @return The index of the bucket.
+     */
+    static int bucketIndex(long value) {
+
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        // Shift the value so that it has 7 significant bits (between 64 and 127).
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) (value >>> shift) - SUB_BUCKET_HALF;
+    }
+
+    /**
+     * Computes the highest value of a bucket.
+     *
+     * @param index The index of the bucket.
+     * @return The highest value held by the bucket.
+     */
+    static long highestValueOf(int index) {
+
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
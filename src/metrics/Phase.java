@@ -0,0 +1,29 @@
+package metrics;
+
+/**
+ * The phases of a run whose latency is recorded by PipelineMetrics.
+ */
+public enum Phase {
+
+    PROFESSOR_PARSE("professorParse"), // Parsing Professors.txt.
+    COURSE_PARSE("courseParse"), // Parsing Courses.txt.
+    QUEUE_BUILD("queueBuild"), // Building the priority queue of the professors.
+    SELECTION_IO("selectionIo"), // Retrieving the selection of one professor (reading or waiting for its file).
+    PROFESSOR_MATCHING("professorMatching"), // Assigning the courses of one professor.
+    REPORT_OUTPUT("reportOutput"); // Printing the professors and their assigned courses.
+
+    private final String jsonName; // Name of the phase in the JSON export.
+
+    Phase(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * Retrieves the name of the phase in the JSON export.
+     *
+     * @return The name of the phase.
+     */
+    public String getJsonName() {
+        return this.jsonName;
+    }
+}
@@ -0,0 +1,189 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PipelineMetrics collects the latency of each phase of a run (see Phase) and the counters of the run (see Counter).
+ * <p>
+ * The metrics are disabled by default: every method then returns after reading one flag, so the instrumented code costs nothing
+ * measurable. Once enabled, the durations are recorded in lock-free histograms and the counters in LongAdders, so the parallel engine
+ * and the watch mode threads can record at the same time.
+ * <p>
+ * Usage:
+ * <pre>
+ * long start = PipelineMetrics.start();
+ * ... phase ...
+ * PipelineMetrics.stop(Phase.COURSE_PARSE, start);
+ * </pre>
+ */
+public class PipelineMetrics {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9}; // Percentiles of the JSON export.
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"}; // Names of these percentiles in the JSON export.
+
+    private static volatile boolean enabled = false; // Whether the metrics are collected.
+    private static final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length]; // Histogram of each phase.
+    private static final LongAdder[] counters = new LongAdder[Counter.values().length]; // Value of each counter.
+
+    static {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Private constructor, the metrics are used through the static methods.
+     */
+    private PipelineMetrics() {
+    }
+
+    /**
+     * Enables or disables the collection of the metrics. The metrics already collected are kept.
+     *
+     * @param enable true to collect the metrics, false to stop.
+     */
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Checks if the metrics are collected.
+     *
+     * @return true if the metrics are collected, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return The start time to be passed to stop, or 0 if the metrics are disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops timing a phase and records its duration.
+     *
+     * @param phase The phase.
+     * @param start The start time returned by start.
+     */
+    public static void stop(Phase phase, long start) {
+        if (enabled && start != 0) {
+            histograms[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds a value to a counter.
+     *
+     * @param counter The counter.
+     * @param value   The value to be added.
+     */
+    public static void add(Counter counter, long value) {
+        if (enabled) {
+            counters[counter.ordinal()].add(value);
+        }
+    }
+
+    /**
+     * Adds 1 to a counter.
+     *
+     * @param counter The counter.
+     */
+    public static void increment(Counter counter) {
+        add(counter, 1);
+    }
+
+    /**
+     * Retrieves the value of a counter.
+     *
+     * @param counter The counter.
+     * @return The value of the counter.
+     */
+    public static long getCount(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * Retrieves the histogram of a phase.
+     *
+     * @param phase The phase.
+     * @return The histogram of the durations of the phase.
+     */
+    public static LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Removes every value collected.
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * Exports the metrics in JSON. The durations are in microseconds.
+     *
+     * @return The JSON document.
+     */
+    public static String toJson() {
+
+        StringBuilder json = new StringBuilder("{\n  \"phases\": {");
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = histograms[phase.ordinal()];
+            json.append(phase.ordinal() == 0 ? "\n" : ",\n");
+            json.append("    \"").append(phase.getJsonName()).append("\": {\"count\": ").append(histogram.getCount());
+            json.append(", \"totalMicros\": ").append(micros(histogram.getTotal()));
+            json.append(", \"meanMicros\": ").append(micros(histogram.getMean()));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                json.append(", \"").append(PERCENTILE_NAMES[i]).append("Micros\": ").append(micros(histogram.getValueAtPercentile(PERCENTILES[i])));
+            }
+            json.append(", \"maxMicros\": ").append(micros(histogram.getMax())).append("}");
+        }
+
+        json.append("\n  },\n  \"counters\": {");
+        for (Counter counter : Counter.values()) {
+            json.append(counter.ordinal() == 0 ? "\n" : ",\n");
+            json.append("    \"").append(counter.getJsonName()).append("\": ").append(getCount(counter));
+        }
+        json.append("\n  }\n}\n");
+
+        return json.toString();
+    }
+
+    /**
+     * Writes the metrics in JSON to a file.
+     *
+     * @param path The path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeJson(Path path) throws IOException {
+        Files.writeString(path, toJson(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats nanoseconds as microseconds with 3 decimals (a JSON number whatever the default locale).
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The duration in microseconds.
+     */
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000);
+    }
+}
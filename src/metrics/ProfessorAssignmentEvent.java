@@ -0,0 +1,34 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event of the assignment of the courses of one professor (see GreedyAssignmentEngine.assignSelection).
+ * The duration is the matching only; reading the selection file is recorded by a FileLoadEvent.
+ */
+@Name("pcap.ProfessorAssignment")
+@Label("Professor Assignment")
+@Category({"Professor Course Assignment", "Matching"})
+@Description("Courses of one professor assigned according to their selection.")
+@StackTrace(false)
+public class ProfessorAssignmentEvent extends Event {
+
+    @Label("Professor ID")
+    public int professorId;
+
+    @Label("Courses Considered")
+    @Description("Number of courses in the selection of the professor.")
+    public int coursesConsidered;
+
+    @Label("Groups Assigned")
+    public int groupsAssigned;
+
+    @Label("Hours Remaining")
+    @Description("Hours per week the professor could still teach (requested hours, at most 30, minus the hours assigned).")
+    public int hoursRemaining;
+}
@@ -0,0 +1,32 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event of an enqueue or a dequeue of the priority queue.
+ * <p>
+ * A run performs two queue operations per professor, so by default only the operations lasting at least 10 microseconds are recorded
+ * (the threshold can be lowered in a .jfc settings file to record every operation). Without recording, the event costs nothing measurable.
+ */
+@Name("pcap.QueueOperation")
+@Label("Queue Operation")
+@Category({"Professor Course Assignment", "Queue"})
+@Description("Enqueue or dequeue of the priority queue of the professors.")
+@Threshold("10 us")
+@StackTrace(false)
+public class QueueOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("enqueue or dequeue.")
+    public String operation;
+
+    @Label("Size")
+    @Description("Number of elements in the queue after the operation.")
+    public int size;
+}
@@ -0,0 +1,80 @@
+package model;
+
+/**
+ * The Assignment class represents the groups of a course assigned to a professor. It references the course of the department
+ * instead of copying it, so an assignment only stores the number of groups assigned.
+ */
+public class Assignment {
+
+    /**
+     * The course of the department the groups belong to.
+     */
+    private final Course course;
+
+    /**
+     * The number of groups of the course assigned to the professor.
+     */
+    private final int numOfGroups;
+
+    /**
+     * Parameterized constructor for the Assignment class.
+     *
+     * @param course      The course of the department the groups belong to.
+     * @param numOfGroups The number of groups assigned.
+     * @throws NullPointerException If the course is null.
+     * @throws RuntimeException     If the number of groups is not valid.
+     */
+    public Assignment(Course course, int numOfGroups) {
+
+        if (course == null) {
+            System.out.println("Course cannot be null.");
+            throw new NullPointerException("Course cannot be null.");
+        }
+        if (numOfGroups < 0) {
+            System.out.println("Please enter an positive number of groups.");
+            throw new RuntimeException("Invalid number of groups.");
+        }
+
+        this.course = course;
+        this.numOfGroups = numOfGroups;
+    }
+
+    /**
+     * Retrieves the course the groups belong to.
+     *
+     * @return The course of the department.
+     */
+    public Course getCourse() {
+        return this.course;
+    }
+
+    /**
+     * Retrieves the ID of the course the groups belong to.
+     *
+     * @return The ID of the course.
+     */
+    public String getCourseId() {
+        return this.course.getId();
+    }
+
+    /**
+     * Retrieves the number of groups assigned.
+     *
+     * @return The number of groups assigned.
+     */
+    public int getNumOfGroups() {
+        return this.numOfGroups;
+    }
+
+    // toString method
+    /**
+     * Returns a string representation of the Assignment object, in the same format as the assigned course
+     * (numOfGroups is the number of groups assigned).
+     *
+     * @return A string representation of the Assignment object.
+     */
+    @Override
+    public String toString() {
+        return "Course = {" + "id = " + this.course.getId() + ", title = '" + this.course.getTitle() + "'" + ", discipline = '" + this.course.getDiscipline() + "'" + ", numberOfHours = " + this.course.getNumberOfHours() + ", numOfGroups = " + this.numOfGroups + "}\n";
+    }
+}
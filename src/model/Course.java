@@ -20,6 +20,11 @@ public class Course {
      */
     private String discipline;
 
+    /**
+     * The ID of the discipline of the course (see DisciplineDictionary).
+     */
+    private int disciplineId;
+
     /**
      * The total number of hours the course spans.
      */
@@ -30,6 +35,11 @@ public class Course {
      */
     private int numOfGroups;
 
+    /**
+     * The listener notified when the number of groups changes, or null (it is not copied by the copy constructor).
+     */
+    private GroupCountListener groupCountListener;
+
     /**
      * Parameterized constructor for the Course class.
      *
@@ -57,6 +67,7 @@ public class Course {
         this.id = copyCourse.id;
         this.title = new String(copyCourse.title);
         this.discipline = new String(copyCourse.discipline);
+        this.disciplineId = copyCourse.disciplineId;
         this.numberOfHours = copyCourse.numberOfHours;
         this.numOfGroups = copyCourse.numOfGroups;
     }
@@ -126,6 +137,16 @@ public class Course {
             throw new NullPointerException("Discipline cannot be null.");
         }
         this.discipline = discipline;
+        this.disciplineId = DisciplineDictionary.intern(discipline);
+    }
+
+    /**
+     * Retrieves the ID of the course discipline.
+     *
+     * @return The ID of the discipline (see DisciplineDictionary).
+     */
+    public int getDisciplineId() {
+        return this.disciplineId;
     }
 
     /**
@@ -171,7 +192,59 @@ public class Course {
             System.out.println("Please enter an positive number of groups.");
             throw new RuntimeException("Invalid number of groups.");
         }
+        int oldNumOfGroups = this.numOfGroups;
         this.numOfGroups = numOfGroups;
+
+        // Notify the listener (for example the department indexes) of the change.
+        if (this.groupCountListener != null && oldNumOfGroups != numOfGroups) {
+            this.groupCountListener.groupCountChanged(this, oldNumOfGroups, numOfGroups);
+        }
+    }
+
+    /**
+     * Sets the number of groups without notifying the listener.
+     * Used by the course catalog, which updates the department indexes itself when it assigns or releases groups.
+     *
+     * @param numOfGroups The number of groups to be set (not negative).
+     */
+    void updateNumOfGroups(int numOfGroups) {
+        this.numOfGroups = numOfGroups;
+    }
+
+    /**
+     * Retrieves the listener notified when the number of groups changes.
+     *
+     * @return The listener, or null if there is none.
+     */
+    public GroupCountListener getGroupCountListener() {
+        return this.groupCountListener;
+    }
+
+    /**
+     * Sets the listener notified when the number of groups changes.
+     *
+     * @param groupCountListener The listener to be set, or null to remove it.
+     */
+    public void setGroupCountListener(GroupCountListener groupCountListener) {
+        this.groupCountListener = groupCountListener;
+    }
+
+    /**
+     * Determines the number of hours per week based on the total number of hours for a course.
+     *
+     * @param totalHours The total number of hours for the course.
+     * @return The number of hours per week for the given course.
+     */
+    public static int getWeeklyHours(int totalHours) {
+
+        // Using switch statement to determine the number of hours per week based on the total hours for the course.
+        return switch (totalHours) {
+            case 45 -> 3; // If total hours is 45, return 3 hours per week.
+            case 60 -> 4; // If total hours is 60, return 4 hours per week.
+            case 75 -> 5; // If total hours is 75, return 5 hours per week.
+            case 90 -> 6; // If total hours is 90, return 6 hours per week.
+            default -> 0; // For any other value, return 0.
+        };
     }
 
     // toString method
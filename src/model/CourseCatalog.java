@@ -0,0 +1,280 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The CourseCatalog class gives each course of a department a dense int index (0, 1, 2, ...) and stores the attributes used by the
+ * matching algorithm in parallel primitive arrays: number of hours, weekly hours, discipline ID and remaining number of groups.
+ * A course ID is turned into its index with an open-addressing hash table (linear probing) of ints, so a lookup and a group decrement
+ * are array accesses without boxing.
+ * <p>
+ * The remaining number of groups of the catalog is the one used during the matching. When groups are assigned with assignGroups,
+ * the field of the Course object is updated too, so the department still prints the same remaining number of groups, and the discipline
+ * index of the catalog is updated directly (only when the course closes or opens again), without going through the listener of the course.
+ * When the number of groups of a Course object is changed directly, the department copies it back with updateRemainingGroups.
+ */
+public class CourseCatalog implements GroupCounts {
+
+    private static final int INITIAL_CAPACITY = 16; // Initial number of courses the arrays can hold.
+    private static final int EMPTY = -1; // Value of an empty slot in the hash table.
+
+    private String[] ids; // ID of each course.
+    private Course[] courses; // Course object of each course.
+    private int[] numberOfHours; // Total number of hours of each course.
+    private int[] weeklyHours; // Number of hours per week of each course.
+    private int[] disciplineIds; // Discipline ID of each course (see DisciplineDictionary).
+    private int[] remainingGroups; // Remaining number of groups of each course.
+    private int size; // Number of courses in the catalog.
+    private final DisciplineIndex disciplineIndex; // Index of the open courses updated with the remaining groups, or null.
+
+    private int[] table; // Open-addressing hash table, each slot holds the index of a course or EMPTY.
+    private int mask; // Length of the table - 1 (the length is a power of two).
+
+    /**
+     * Constructs an empty catalog.
+     */
+    public CourseCatalog() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty catalog keeping the open courses of a discipline index up to date when groups are assigned or released.
+     *
+     * @param disciplineIndex The discipline index holding the courses of the catalog, or null.
+     */
+    public CourseCatalog(DisciplineIndex disciplineIndex) {
+        this.disciplineIndex = disciplineIndex;
+        this.ids = new String[INITIAL_CAPACITY];
+        this.courses = new Course[INITIAL_CAPACITY];
+        this.numberOfHours = new int[INITIAL_CAPACITY];
+        this.weeklyHours = new int[INITIAL_CAPACITY];
+        this.disciplineIds = new int[INITIAL_CAPACITY];
+        this.remainingGroups = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.table = new int[2 * INITIAL_CAPACITY];
+        Arrays.fill(this.table, EMPTY);
+        this.mask = this.table.length - 1;
+    }
+
+    /**
+     * Returns the number of courses in the catalog.
+     *
+     * @return The number of courses.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Adds a course to the catalog. If a course with the same ID is already in the catalog, it is replaced and keeps its index
+     * (like HashMap.put for the course map).
+     *
+     * @param course The course to be added.
+     * @return The index of the course.
+     * @throws NullPointerException If the course is null.
+     */
+    public int add(Course course) {
+
+        if (course == null) {
+            System.out.println("Course cannot be null.");
+            throw new NullPointerException("Course cannot be null.");
+        }
+
+        int slot = findSlot(course.getId());
+        int index = this.table[slot];
+
+        if (index == EMPTY) {
+            // New course: grow the arrays if needed and take the next index.
+            if (this.size == this.ids.length) {
+                grow();
+                slot = findSlot(course.getId());
+            }
+            index = this.size++;
+            this.table[slot] = index;
+        }
+
+        this.ids[index] = course.getId();
+        this.courses[index] = course;
+        this.numberOfHours[index] = course.getNumberOfHours();
+        this.weeklyHours[index] = Course.getWeeklyHours(course.getNumberOfHours());
+        this.disciplineIds[index] = course.getDisciplineId();
+        this.remainingGroups[index] = course.getNumOfGroups();
+
+        return index;
+    }
+
+    /**
+     * Retrieves the index of a course.
+     *
+     * @param id The ID of the course.
+     * @return The index of the course, or -1 if no course has this ID.
+     */
+    public int indexOf(String id) {
+        return this.table[findSlot(id)];
+    }
+
+    /**
+     * Retrieves the Course object of a course.
+     *
+     * @param index The index of the course.
+     * @return The Course object.
+     */
+    public Course getCourse(int index) {
+        return this.courses[index];
+    }
+
+    /**
+     * Retrieves the total number of hours of a course.
+     *
+     * @param index The index of the course.
+     * @return The total number of hours.
+     */
+    public int getNumberOfHours(int index) {
+        return this.numberOfHours[index];
+    }
+
+    /**
+     * Retrieves the number of hours per week of a course.
+     *
+     * @param index The index of the course.
+     * @return The number of hours per week (0 if the total number of hours is not a known one).
+     */
+    public int getWeeklyHours(int index) {
+        return this.weeklyHours[index];
+    }
+
+    /**
+     * Retrieves the discipline ID of a course.
+     *
+     * @param index The index of the course.
+     * @return The discipline ID (see DisciplineDictionary).
+     */
+    public int getDisciplineId(int index) {
+        return this.disciplineIds[index];
+    }
+
+    /**
+     * Retrieves the remaining number of groups of a course.
+     *
+     * @param index The index of the course.
+     * @return The remaining number of groups.
+     */
+    @Override
+    public int getRemainingGroups(int index) {
+        return this.remainingGroups[index];
+    }
+
+    /**
+     * Assigns groups of a course: the remaining number of groups is decreased in the catalog, in the Course object and, if the course
+     * closes, in the discipline index.
+     *
+     * @param index          The index of the course.
+     * @param numberOfGroups The number of groups assigned.
+     * @throws RuntimeException If the course does not have enough remaining groups.
+     */
+    @Override
+    public void assignGroups(int index, int numberOfGroups) {
+
+        int remaining = this.remainingGroups[index] - numberOfGroups;
+        if (remaining < 0) {
+            System.out.println("Not enough groups remaining for course " + this.ids[index] + ".");
+            throw new RuntimeException("Invalid number of groups.");
+        }
+
+        setRemainingGroups(index, remaining);
+    }
+
+    /**
+     * Releases groups of a course that were assigned: the remaining number of groups is increased in the catalog, in the Course object and,
+     * if the course opens again, in the discipline index.
+     *
+     * @param index          The index of the course.
+     * @param numberOfGroups The number of groups released.
+     */
+    public void releaseGroups(int index, int numberOfGroups) {
+        setRemainingGroups(index, this.remainingGroups[index] + numberOfGroups);
+    }
+
+    /**
+     * Copies the number of groups of a Course object into the catalog, after it was changed directly with Course.setNumOfGroups.
+     * Nothing is done if the course is not the one stored in the catalog for its ID.
+     *
+     * @param course The course whose number of groups changed.
+     */
+    public void updateRemainingGroups(Course course) {
+        int index = indexOf(course.getId());
+        if (index >= 0 && this.courses[index] == course) {
+            this.remainingGroups[index] = course.getNumOfGroups();
+        }
+    }
+
+    /**
+     * Sets the remaining number of groups of a course in the catalog and in the Course object, and opens or closes the course in the
+     * discipline index when the number of groups goes from or to 0 (the index lock is not taken for the other changes).
+     *
+     * @param index     The index of the course.
+     * @param remaining The new remaining number of groups (not negative).
+     */
+    private void setRemainingGroups(int index, int remaining) {
+
+        int oldRemaining = this.remainingGroups[index];
+        this.remainingGroups[index] = remaining;
+        this.courses[index].updateNumOfGroups(remaining);
+
+        if (this.disciplineIndex != null && (oldRemaining == 0) != (remaining == 0)) {
+            this.disciplineIndex.courseGroupsChanged(this.disciplineIds[index], this.courses[index], oldRemaining, remaining);
+        }
+    }
+
+    /**
+     * Finds the slot of a course ID in the hash table: either the slot holding the course, or the empty slot where it would be added.
+     *
+     * @param id The ID of the course.
+     * @return The slot of the ID.
+     */
+    private int findSlot(String id) {
+
+        int slot = hash(id) & this.mask;
+
+        // Linear probing: the table is at most half full, so an empty slot is always found.
+        while (this.table[slot] != EMPTY && !Objects.equals(this.ids[this.table[slot]], id)) {
+            slot = (slot + 1) & this.mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity of the arrays and rebuilds the hash table.
+     */
+    private void grow() {
+
+        int newCapacity = this.ids.length * 2;
+        this.ids = Arrays.copyOf(this.ids, newCapacity);
+        this.courses = Arrays.copyOf(this.courses, newCapacity);
+        this.numberOfHours = Arrays.copyOf(this.numberOfHours, newCapacity);
+        this.weeklyHours = Arrays.copyOf(this.weeklyHours, newCapacity);
+        this.disciplineIds = Arrays.copyOf(this.disciplineIds, newCapacity);
+        this.remainingGroups = Arrays.copyOf(this.remainingGroups, newCapacity);
+
+        // Keep the table at most half full.
+        this.table = new int[2 * newCapacity];
+        Arrays.fill(this.table, EMPTY);
+        this.mask = this.table.length - 1;
+        for (int index = 0; index < this.size; index++) {
+            this.table[findSlot(this.ids[index])] = index;
+        }
+    }
+
+    /**
+     * Computes the hash of a course ID, spreading the high bits of String.hashCode into the low bits used by the table.
+     *
+     * @param id The ID of the course.
+     * @return The hash of the ID.
+     */
+    private static int hash(String id) {
+        int hash = Objects.hashCode(id) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,57 @@
+package model;
+
+/**
+ * The CourseSelection class represents one line of a professor's selection file: a course the professor would like to teach and the number of groups requested for it.
+ */
+public class CourseSelection {
+
+    /**
+     * The ID of the selected course.
+     */
+    private String courseId;
+
+    /**
+     * The number of groups of the course requested by the professor.
+     */
+    private int requestedNumberOfGroups;
+
+    /**
+     * Parameterized constructor for the CourseSelection class.
+     *
+     * @param courseId                The ID of the selected course.
+     * @param requestedNumberOfGroups The number of groups of the course requested by the professor.
+     */
+    public CourseSelection(String courseId, int requestedNumberOfGroups) {
+        this.courseId = courseId;
+        this.requestedNumberOfGroups = requestedNumberOfGroups;
+    }
+
+    /**
+     * Retrieves the ID of the selected course.
+     *
+     * @return The course ID.
+     */
+    public String getCourseId() {
+        return this.courseId;
+    }
+
+    /**
+     * Retrieves the number of groups of the course requested by the professor.
+     *
+     * @return The requested number of groups.
+     */
+    public int getRequestedNumberOfGroups() {
+        return this.requestedNumberOfGroups;
+    }
+
+    // toString method
+    /**
+     * Returns a string representation of the CourseSelection object.
+     *
+     * @return A string representation of the CourseSelection object.
+     */
+    @Override
+    public String toString() {
+        return "CourseSelection = {" + "courseId = " + this.courseId + ", requestedNumberOfGroups = " + this.requestedNumberOfGroups + "}";
+    }
+}
@@ -1,10 +1,18 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The Department class represents a department in a university. It contains a mapping of courses offered by the department and a list of professors working in the department.
+ * <p>
+ * The courses are held twice: in the course map, which keeps the HashMap iteration order the department is printed in, and in the course
+ * catalog, whose primitive arrays are what the matching algorithm reads. Both only hold references to the same Course objects, so the
+ * duplicate costs one map entry and a few array slots per course (small next to the professors), in exchange for a matching that never
+ * goes through the map. Code that only needs the number of courses should use the catalog.
  */
 public class Department {
 
@@ -13,11 +21,27 @@ public class Department {
      */
     private HashMap<String, Course> courseMap;
 
+    /**
+     * The same courses indexed by dense ints with their attributes in primitive arrays, used by the matching algorithm.
+     */
+    private CourseCatalog courseCatalog;
+
     /**
      * A list of professors working in the department.
      */
     private ArrayList<Professor> listOfProfs;
 
+    /**
+     * Index from each discipline to its qualified professors and to its courses with remaining groups.
+     */
+    private final DisciplineIndex disciplineIndex;
+
+    /**
+     * Listener registered on every course of the department, keeping the catalog and the discipline index up to date when the number of
+     * groups of a course is changed directly (the catalog updates them itself when it assigns or releases groups).
+     */
+    private final GroupCountListener groupCountListener;
+
     // Partially parametrized constructor
     /**
      * Partially parametrized constructor for the Department class.
@@ -26,25 +50,70 @@ public class Department {
      */
     public Department(ArrayList<Professor> listOfProfs) {
         this.courseMap = new HashMap<>();
-        this.listOfProfs = listOfProfs;
+        this.disciplineIndex = new DisciplineIndex();
+        this.courseCatalog = new CourseCatalog(this.disciplineIndex);
+        this.groupCountListener = this::courseGroupsChanged;
+        setListOfProfs(listOfProfs);
     }
 
     /**
      * Retrieves the course mapping of the department.
+     * The mapping cannot be modified: courses are added with addCourse or setCourseMap, so the catalog and the discipline index stay up to date.
      *
-     * @return The mapping of course codes to Course objects.
+     * @return A read-only view of the mapping of course codes to Course objects.
      */
-    public HashMap<String, Course> getCourseMap() {
-        return this.courseMap;
+    public Map<String, Course> getCourseMap() {
+        return Collections.unmodifiableMap(this.courseMap);
     }
 
     /**
-     * Sets the course mapping of the department.
+     * Sets the courses of the department from a course mapping and rebuilds the course catalog from it.
+     * The courses are copied in the iteration order of the mapping, so later changes to the mapping do not change the department.
      *
      * @param courseMap The mapping of course codes to Course objects to be set.
      */
     public void setCourseMap(HashMap<String, Course> courseMap) {
-        this.courseMap = courseMap;
+
+        // Detach the previous courses from the department.
+        for (Course course : this.courseMap.values()) {
+            course.setGroupCountListener(null);
+        }
+        this.disciplineIndex.clearCourses();
+
+        this.courseMap = new HashMap<>();
+        this.courseCatalog = new CourseCatalog(this.disciplineIndex);
+        for (Course course : courseMap.values()) {
+            addCourse(course);
+        }
+    }
+
+    /**
+     * Adds a course to the course mapping and to the course catalog of the department.
+     *
+     * @param course The course to be added.
+     * @throws NullPointerException If the course is null.
+     */
+    public void addCourse(Course course) {
+        this.courseCatalog.add(course);
+
+        // A course with the same ID is replaced, so it leaves the indexes.
+        Course previousCourse = this.courseMap.put(course.getId(), course);
+        if (previousCourse != null) {
+            previousCourse.setGroupCountListener(null);
+            this.disciplineIndex.removeCourse(previousCourse);
+        }
+
+        this.disciplineIndex.addCourse(course);
+        course.setGroupCountListener(this.groupCountListener);
+    }
+
+    /**
+     * Retrieves the course catalog of the department.
+     *
+     * @return The course catalog.
+     */
+    public CourseCatalog getCourseCatalog() {
+        return this.courseCatalog;
     }
 
     /**
@@ -63,6 +132,48 @@ public class Department {
      */
     public void setListOfProfs(ArrayList<Professor> listOfProfs) {
         this.listOfProfs = listOfProfs;
+
+        // Rebuild the index of qualified professors.
+        this.disciplineIndex.clearProfessors();
+        if (listOfProfs != null) {
+            for (Professor professor : listOfProfs) {
+                this.disciplineIndex.addProfessor(professor);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the professors of the department qualified to teach a discipline, without scanning the list of professors.
+     * The index is built when the list of professors is set, so professors added to it later are not included.
+     *
+     * @param discipline The discipline code.
+     * @return A new list with the qualified professors.
+     */
+    public List<Professor> getProfessorsForDiscipline(String discipline) {
+        return this.disciplineIndex.getProfessors(DisciplineDictionary.lookup(discipline));
+    }
+
+    /**
+     * Retrieves the courses of a discipline that still have remaining groups, without scanning the course map.
+     * The index is updated each time the number of groups of a course of the department changes.
+     *
+     * @param discipline The discipline code.
+     * @return A new list with the open courses.
+     */
+    public List<Course> getOpenCoursesForDiscipline(String discipline) {
+        return this.disciplineIndex.getOpenCourses(DisciplineDictionary.lookup(discipline));
+    }
+
+    /**
+     * Called when the number of groups of a course of the department is changed directly with Course.setNumOfGroups.
+     *
+     * @param course         The course whose number of groups changed.
+     * @param oldNumOfGroups The previous number of groups.
+     * @param newNumOfGroups The new number of groups.
+     */
+    private void courseGroupsChanged(Course course, int oldNumOfGroups, int newNumOfGroups) {
+        this.courseCatalog.updateRemainingGroups(course);
+        this.disciplineIndex.courseGroupsChanged(course, oldNumOfGroups, newNumOfGroups);
     }
 
     // toString Method
@@ -0,0 +1,89 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The DisciplineDictionary class maps each discipline code (for example "IN4") to a dense int ID (0, 1, 2, ...).
+ * Courses store the ID of their discipline and professors store their disciplines as a bit set indexed by these IDs,
+ * so checking whether a professor is qualified for a course is a single bit test instead of hashing a String.
+ * <p>
+ * IDs are given in the order in which the codes are first seen and are never removed, so an ID stays valid for the whole run.
+ * The dictionary is shared by every department of the run and is never cleared: reloading the files (for example in watch mode) reuses the
+ * IDs of the codes already seen, so it only grows by the codes that were never seen before, and holds every distinct code seen by the run.
+ * Arrays indexed by discipline ID (such as the union-find of ParallelComponentAssignmentEngine) are sized to that number of codes.
+ * The methods are synchronized because files can be parsed by several threads at the same time.
+ */
+public class DisciplineDictionary {
+
+    /**
+     * The ID of each discipline code.
+     */
+    private static final HashMap<String, Integer> idMap = new HashMap<>();
+
+    /**
+     * The discipline code of each ID (the index in the list is the ID).
+     */
+    private static final ArrayList<String> codeList = new ArrayList<>();
+
+    /**
+     * Private constructor, this class only has static methods.
+     */
+    private DisciplineDictionary() {
+    }
+
+    /**
+     * Retrieves the ID of a discipline code, giving it the next free ID if the code has not been seen before.
+     *
+     * @param code The discipline code.
+     * @return The ID of the discipline code.
+     * @throws NullPointerException If the code is null.
+     */
+    public static synchronized int intern(String code) {
+
+        if (code == null) {
+            System.out.println("Discipline code cannot be null.");
+            throw new NullPointerException("Discipline code cannot be null.");
+        }
+
+        Integer id = idMap.get(code);
+        if (id == null) {
+            id = codeList.size();
+            idMap.put(code, id);
+            codeList.add(code);
+        }
+
+        return id;
+    }
+
+    /**
+     * Retrieves the ID of a discipline code without adding it to the dictionary.
+     *
+     * @param code The discipline code.
+     * @return The ID of the discipline code, or -1 if the code has not been seen before.
+     */
+    public static synchronized int lookup(String code) {
+        Integer id = idMap.get(code);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Retrieves the discipline code of an ID.
+     *
+     * @param id The ID of the discipline.
+     * @return The discipline code.
+     * @throws IndexOutOfBoundsException If no discipline has this ID.
+     */
+    public static synchronized String getCode(int id) {
+        return codeList.get(id);
+    }
+
+    /**
+     * Returns the number of discipline codes in the dictionary.
+     *
+     * @return The number of discipline codes.
+     */
+    public static synchronized int getSize() {
+        return codeList.size();
+    }
+}
@@ -0,0 +1,150 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The DisciplineIndex class is an inverted index of a department by discipline: for each discipline ID (see DisciplineDictionary),
+ * it keeps the professors qualified to teach it and the courses of this discipline that still have remaining groups.
+ * Both queries cost O(result) instead of scanning the whole department.
+ * <p>
+ * The open courses are updated incrementally through courseGroupsChanged, which the course catalog of the department calls when a course
+ * closes or opens again, and the department calls when the number of groups of one of its courses is changed directly. The methods are synchronized so the index can be queried and updated by several threads.
+ */
+public class DisciplineIndex {
+
+    /**
+     * The professors qualified to teach each discipline, indexed by discipline ID.
+     */
+    private final ArrayList<ArrayList<Professor>> professorsByDiscipline;
+
+    /**
+     * The courses with remaining groups of each discipline, indexed by discipline ID.
+     */
+    private final ArrayList<LinkedHashSet<Course>> openCoursesByDiscipline;
+
+    /**
+     * Constructs an empty index.
+     */
+    public DisciplineIndex() {
+        this.professorsByDiscipline = new ArrayList<>();
+        this.openCoursesByDiscipline = new ArrayList<>();
+    }
+
+    /**
+     * Adds a professor under each of the disciplines the professor is qualified to teach.
+     *
+     * @param professor The professor to be added.
+     */
+    public synchronized void addProfessor(Professor professor) {
+        for (int disciplineId = professor.nextDisciplineId(0); disciplineId >= 0; disciplineId = professor.nextDisciplineId(disciplineId + 1)) {
+            while (this.professorsByDiscipline.size() <= disciplineId) {
+                this.professorsByDiscipline.add(new ArrayList<>());
+            }
+            this.professorsByDiscipline.get(disciplineId).add(professor);
+        }
+    }
+
+    /**
+     * Removes every professor from the index.
+     */
+    public synchronized void clearProfessors() {
+        this.professorsByDiscipline.clear();
+    }
+
+    /**
+     * Adds a course to the open courses of its discipline if it has remaining groups.
+     *
+     * @param course The course to be added.
+     */
+    public synchronized void addCourse(Course course) {
+        if (course.getNumOfGroups() > 0) {
+            openCourses(course.getDisciplineId()).add(course);
+        }
+    }
+
+    /**
+     * Removes a course from the open courses of its discipline.
+     *
+     * @param course The course to be removed.
+     */
+    public synchronized void removeCourse(Course course) {
+        openCourses(course.getDisciplineId()).remove(course);
+    }
+
+    /**
+     * Removes every course from the index.
+     */
+    public synchronized void clearCourses() {
+        this.openCoursesByDiscipline.clear();
+    }
+
+    /**
+     * Updates the open courses after the number of groups of a course changed: the course is removed when its last group is assigned,
+     * and added back when groups become available again.
+     *
+     * @param course         The course whose number of groups changed.
+     * @param oldNumOfGroups The previous number of groups.
+     * @param newNumOfGroups The new number of groups.
+     */
+    public void courseGroupsChanged(Course course, int oldNumOfGroups, int newNumOfGroups) {
+        courseGroupsChanged(course.getDisciplineId(), course, oldNumOfGroups, newNumOfGroups);
+    }
+
+    /**
+     * Updates the open courses after the number of groups of a course of a known discipline changed (see courseGroupsChanged).
+     *
+     * @param disciplineId   The ID of the discipline of the course.
+     * @param course         The course whose number of groups changed.
+     * @param oldNumOfGroups The previous number of groups.
+     * @param newNumOfGroups The new number of groups.
+     */
+    public synchronized void courseGroupsChanged(int disciplineId, Course course, int oldNumOfGroups, int newNumOfGroups) {
+        if (oldNumOfGroups > 0 && newNumOfGroups == 0) {
+            openCourses(disciplineId).remove(course);
+        }
+        else if (oldNumOfGroups == 0 && newNumOfGroups > 0) {
+            openCourses(disciplineId).add(course);
+        }
+    }
+
+    /**
+     * Retrieves the professors qualified to teach a discipline.
+     *
+     * @param disciplineId The ID of the discipline.
+     * @return A new list with the qualified professors, in the order they were added.
+     */
+    public synchronized List<Professor> getProfessors(int disciplineId) {
+        if (disciplineId < 0 || disciplineId >= this.professorsByDiscipline.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(this.professorsByDiscipline.get(disciplineId));
+    }
+
+    /**
+     * Retrieves the courses of a discipline that still have remaining groups.
+     *
+     * @param disciplineId The ID of the discipline.
+     * @return A new list with the open courses, in the order they were added.
+     */
+    public synchronized List<Course> getOpenCourses(int disciplineId) {
+        if (disciplineId < 0 || disciplineId >= this.openCoursesByDiscipline.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(this.openCoursesByDiscipline.get(disciplineId));
+    }
+
+    /**
+     * Retrieves the set of open courses of a discipline, creating it if needed.
+     *
+     * @param disciplineId The ID of the discipline.
+     * @return The set of open courses.
+     */
+    private LinkedHashSet<Course> openCourses(int disciplineId) {
+        while (this.openCoursesByDiscipline.size() <= disciplineId) {
+            this.openCoursesByDiscipline.add(new LinkedHashSet<>());
+        }
+        return this.openCoursesByDiscipline.get(disciplineId);
+    }
+}
@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * Listener notified when the number of groups of a course changes (see Course.setNumOfGroups).
+ * It is used by the department to keep its indexes up to date while courses are assigned.
+ */
+@FunctionalInterface
+public interface GroupCountListener {
+
+    /**
+     * Called after the number of groups of a course changed.
+     *
+     * @param course         The course whose number of groups changed.
+     * @param oldNumOfGroups The previous number of groups.
+     * @param newNumOfGroups The new number of groups.
+     */
+    void groupCountChanged(Course course, int oldNumOfGroups, int newNumOfGroups);
+}
@@ -0,0 +1,26 @@
+package model;
+
+/**
+ * GroupCounts holds the remaining number of groups of each course of a course catalog, by course index.
+ * The catalog itself is the group counts of the department; a what-if scenario uses its own copy-on-write counts instead,
+ * so the same matching code can run on both.
+ */
+public interface GroupCounts {
+
+    /**
+     * Retrieves the remaining number of groups of a course.
+     *
+     * @param index The index of the course in the course catalog.
+     * @return The remaining number of groups.
+     */
+    int getRemainingGroups(int index);
+
+    /**
+     * Assigns groups of a course: the remaining number of groups is decreased.
+     *
+     * @param index          The index of the course in the course catalog.
+     * @param numberOfGroups The number of groups assigned.
+     * @throws RuntimeException If the course does not have enough remaining groups.
+     */
+    void assignGroups(int index, int numberOfGroups);
+}
@@ -2,7 +2,11 @@ package model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * The Professor class represents a professor working in a department. It includes attributes such as the professor's ID, name, seniority level, hiring date, set of disciplines they teach, and a list of courses they are associated with.
@@ -30,14 +34,29 @@ public class Professor implements Comparable<Professor> {
     private LocalDate hiringDate;
 
     /**
-     * The set of disciplines the professor is qualified to teach.
+     * The disciplines the professor is qualified to teach, as a bit set indexed by discipline ID (see DisciplineDictionary).
      */
-    private HashSet<String> setOfDisciplines;
+    private BitSet disciplines;
 
     /**
-     * The list of courses the professor is assigned to teach.
+     * Read-only view of the discipline codes in the order of the set they were given in, so they are retrieved and printed in that order.
      */
-    private ArrayList<Course> listOfAffectedCourses;
+    private Set<String> setOfDisciplines;
+
+    /**
+     * The list of courses the professor is assigned to teach, with the number of groups assigned.
+     */
+    private ArrayList<Assignment> listOfAffectedCourses;
+
+    /**
+     * The seniority level, hiring date and ID packed into a single long (see ProfessorPriorityKey).
+     */
+    private long priorityKey;
+
+    /**
+     * Whether the priority key could be packed from the current seniority level and hiring date.
+     */
+    private boolean priorityKeyPacked;
 
     // Constructors
     /**
@@ -78,6 +97,7 @@ public class Professor implements Comparable<Professor> {
             throw new RuntimeException("Invalid ID.");
         }
         this.id = id;
+        updatePriorityKey();
     }
 
     /**
@@ -124,6 +144,7 @@ public class Professor implements Comparable<Professor> {
             throw new RuntimeException("Seniority level must be between 0.00 to 60.00.");
         }
         this.seniorityLevel = seniorityLevel;
+        updatePriorityKey();
     }
 
     /**
@@ -142,14 +163,17 @@ public class Professor implements Comparable<Professor> {
      */
     public void setHiringDate(LocalDate hiringDate) {
         this.hiringDate = hiringDate;
+        updatePriorityKey();
     }
 
     /**
      * Retrieves the set of disciplines the professor is qualified to teach.
+     * The set cannot be modified (the disciplines are changed with setSetOfDisciplines) and is not copied, so it can be called often.
+     * Its iteration order is the order of the set the disciplines were given in.
      *
-     * @return The set of disciplines.
+     * @return A read-only view of the set of disciplines.
      */
-    public HashSet<String> getSetOfDisciplines() {
+    public Set<String> getSetOfDisciplines() {
         return this.setOfDisciplines;
     }
 
@@ -164,27 +188,99 @@ public class Professor implements Comparable<Professor> {
             System.out.println("Set Of Disciplines cannot be null.");
             throw new NullPointerException("Set Of Disciplines cannot be null.");
         }
-        this.setOfDisciplines = setOfDisciplines;
+        BitSet disciplines = new BitSet();
+        for (String discipline : setOfDisciplines) {
+            disciplines.set(DisciplineDictionary.intern(discipline));
+        }
+        this.disciplines = disciplines;
+        this.setOfDisciplines = Collections.unmodifiableSet(new LinkedHashSet<>(setOfDisciplines));
+    }
+
+    /**
+     * Retrieves the IDs of the disciplines the professor is qualified to teach.
+     *
+     * @return A new array with the discipline IDs (see DisciplineDictionary), in increasing order.
+     */
+    public int[] getDisciplineIds() {
+        return this.disciplines.stream().toArray();
+    }
+
+    /**
+     * Finds the next discipline the professor is qualified to teach, to iterate the discipline bit set without copying it.
+     *
+     * @param fromId The discipline ID to start from (inclusive).
+     * @return The first discipline ID of the professor greater than or equal to fromId, or -1 if there is none.
+     */
+    int nextDisciplineId(int fromId) {
+        return this.disciplines.nextSetBit(fromId);
+    }
+
+    /**
+     * Checks if the professor is qualified to teach the discipline with the specified ID.
+     *
+     * @param disciplineId The ID of the discipline (see DisciplineDictionary).
+     * @return true if the professor is qualified to teach the discipline, false otherwise.
+     */
+    public boolean hasDiscipline(int disciplineId) {
+        return disciplineId >= 0 && this.disciplines.get(disciplineId);
+    }
+
+    /**
+     * Checks if the professor is qualified to teach the specified course.
+     *
+     * @param course The course.
+     * @return true if the professor is qualified to teach the discipline of the course, false otherwise.
+     */
+    public boolean isQualifiedFor(Course course) {
+        return this.disciplines.get(course.getDisciplineId());
     }
 
     /**
      * Retrieves the list of courses the professor is assigned to teach.
      *
-     * @return The list of courses.
+     * @return The list of assignments (course and number of groups assigned).
      */
-    public ArrayList<Course> getListOfAffectedCourses() {
+    public ArrayList<Assignment> getListOfAffectedCourses() {
         return this.listOfAffectedCourses;
     }
 
     /**
      * Sets the list of courses the professor is assigned to teach.
      *
-     * @param listOfAffectedCourses The list of courses to be set.
+     * @param listOfAffectedCourses The list of assignments to be set.
      */
-    public void setListOfAffectedCourses(ArrayList<Course> listOfAffectedCourses) {
+    public void setListOfAffectedCourses(ArrayList<Assignment> listOfAffectedCourses) {
         this.listOfAffectedCourses = listOfAffectedCourses;
     }
 
+    /**
+     * Retrieves the packed priority key of the professor.
+     * Comparing two packed keys with Long.compare gives the same order as compareTo.
+     * The key is only meaningful if hasPackedPriorityKey returns true.
+     *
+     * @return The packed priority key.
+     */
+    public long getPriorityKey() {
+        return this.priorityKey;
+    }
+
+    /**
+     * Checks if the priority key could be packed from the seniority level and hiring date of the professor.
+     *
+     * @return true if the priority key is packed, false otherwise.
+     */
+    public boolean hasPackedPriorityKey() {
+        return this.priorityKeyPacked;
+    }
+
+    /**
+     * Recomputes the packed priority key after the ID, seniority level or hiring date changed.
+     */
+    private void updatePriorityKey() {
+        this.priorityKeyPacked = ProfessorPriorityKey.canPack(this.seniorityLevel, this.hiringDate);
+        this.priorityKey = this.priorityKeyPacked ? ProfessorPriorityKey.pack(this.seniorityLevel, this.hiringDate, this.id) : 0;
+    }
+
     // CompareTo method
     /**
      * Compares this professor with another professor based on seniority level, hiring date and id.
@@ -196,6 +292,11 @@ public class Professor implements Comparable<Professor> {
     @Override
     public int compareTo(Professor other) {
 
+        // If both keys are packed then comparing the keys gives the same result without reading the hiring dates.
+        if (this.priorityKeyPacked && other.priorityKeyPacked) {
+            return Long.compare(this.priorityKey, other.priorityKey);
+        }
+
         if (this.seniorityLevel > other.seniorityLevel) {
             return 1;
         }
@@ -222,7 +323,7 @@ public class Professor implements Comparable<Professor> {
      */
     @Override
     public String toString() {
-        return "Professor = {" + "id = " + this.id + ", name = '" + this.name + "'" + ", seniorityLevel = " + this.seniorityLevel + ", hiringDate = " + this.hiringDate + ", setOfDisciplines = " + this.setOfDisciplines + ", \nlistOfAffectedCourses = " + this.listOfAffectedCourses + "}\n";
+        return "Professor = {" + "id = " + this.id + ", name = '" + this.name + "'" + ", seniorityLevel = " + this.seniorityLevel + ", hiringDate = " + this.hiringDate + ", setOfDisciplines = " + getSetOfDisciplines() + ", \nlistOfAffectedCourses = " + this.listOfAffectedCourses + "}\n";
     }
 
     /**
@@ -0,0 +1,128 @@
+package model;
+
+import datastructures.sort.RadixSort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ProfessorPriorityKey class packs the fields used to order professors (seniority level, hiring date and ID) into a single long.
+ * Comparing two packed keys with Long.compare gives the same order as Professor.compareTo, without reading the LocalDate objects.
+ * <p>
+ * Layout of the key, from the most significant bit to the least significant bit:
+ * <ul>
+ *     <li>16 bits: seniority level in fixed point with 3 decimals (0.001 to 60.000). A higher seniority gives a higher key.</li>
+ *     <li>17 bits: hiring date as days since 1900-01-01, inverted so that an earlier hiring date gives a higher key.</li>
+ *     <li>31 bits: ID, inverted so that a smaller ID gives a higher key.</li>
+ * </ul>
+ * The sign bit is flipped at the end, so that the signed comparison of two keys matches the unsigned comparison of the layout.
+ * A key can only be packed when the seniority level has at most 3 decimals and the hiring date is between 1900-01-01 and 2258-11-11.
+ */
+public class ProfessorPriorityKey {
+
+    /**
+     * Scale of the fixed point seniority level (3 decimals).
+     */
+    public static final int SENIORITY_SCALE = 1000;
+
+    /**
+     * Number of bits used by the hiring date.
+     */
+    private static final int DATE_BITS = 17;
+
+    /**
+     * Number of bits used by the ID.
+     */
+    private static final int ID_BITS = 31;
+
+    /**
+     * Largest value that can be stored in the hiring date bits.
+     */
+    private static final long MAX_DATE_OFFSET = (1L << DATE_BITS) - 1;
+
+    /**
+     * Epoch day of the earliest hiring date that can be packed (1900-01-01).
+     */
+    private static final long FIRST_EPOCH_DAY = LocalDate.of(1900, 1, 1).toEpochDay();
+
+    /**
+     * Private constructor, this class only has static methods.
+     */
+    private ProfessorPriorityKey() {
+    }
+
+    /**
+     * Checks if the seniority level and hiring date of a professor can be packed into a key without changing their order.
+     *
+     * @param seniorityLevel The seniority level of the professor.
+     * @param hiringDate     The hiring date of the professor.
+     * @return true if the key can be packed, false otherwise.
+     */
+    public static boolean canPack(double seniorityLevel, LocalDate hiringDate) {
+
+        if (hiringDate == null) {
+            return false;
+        }
+
+        // The seniority level must be exactly representable with 3 decimals (this is also false for NaN).
+        long fixedSeniority = Math.round(seniorityLevel * SENIORITY_SCALE);
+        if (fixedSeniority <= 0 || fixedSeniority >= (1 << 16) || fixedSeniority / (double) SENIORITY_SCALE != seniorityLevel) {
+            return false;
+        }
+
+        // The hiring date must fit in the date bits.
+        long dateOffset = hiringDate.toEpochDay() - FIRST_EPOCH_DAY;
+        return dateOffset >= 0 && dateOffset <= MAX_DATE_OFFSET;
+    }
+
+    /**
+     * Packs the seniority level, hiring date and ID of a professor into a key.
+     * The result is only meaningful if canPack returned true for the seniority level and hiring date.
+     *
+     * @param seniorityLevel The seniority level of the professor.
+     * @param hiringDate     The hiring date of the professor.
+     * @param id             The ID of the professor (positive).
+     * @return The packed key.
+     */
+    public static long pack(double seniorityLevel, LocalDate hiringDate, int id) {
+
+        long fixedSeniority = Math.round(seniorityLevel * SENIORITY_SCALE);
+        long invertedDate = MAX_DATE_OFFSET - (hiringDate.toEpochDay() - FIRST_EPOCH_DAY);
+        long invertedId = Integer.MAX_VALUE - (long) id;
+
+        long key = (fixedSeniority << (DATE_BITS + ID_BITS)) | (invertedDate << ID_BITS) | invertedId;
+
+        // Flip the sign bit so that signed comparison gives the unsigned order of the layout.
+        return key ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the professors ordered from the highest to the lowest priority, which is the order in which a priority queue dequeues them.
+     * When every professor has a packed key, the professors are ordered with a radix sort on the keys.
+     * Otherwise, they are sorted with compareTo.
+     *
+     * @param professors The professors to be ordered (the list is not modified).
+     * @return A new list with the professors in priority order.
+     */
+    public static ArrayList<Professor> sortByPriority(List<Professor> professors) {
+
+        Professor[] professorArray = professors.toArray(new Professor[0]);
+
+        // Collect the packed keys, or fall back to compareTo if one of the keys is not packed.
+        long[] keys = new long[professorArray.length];
+        for (int i = 0; i < professorArray.length; i++) {
+            if (!professorArray[i].hasPackedPriorityKey()) {
+                Arrays.sort(professorArray, Collections.reverseOrder());
+                return new ArrayList<>(Arrays.asList(professorArray));
+            }
+            keys[i] = professorArray[i].getPriorityKey();
+        }
+
+        RadixSort.sortDescending(keys, professorArray);
+
+        return new ArrayList<>(Arrays.asList(professorArray));
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import java.util.ArrayList;
+
+/**
+ * The ProfessorSelection class represents the content of a professor's selection file: the maximum number of hours per week the professor requests
+ * and the courses the professor would like to teach, in order of preference.
+ */
+public class ProfessorSelection {
+
+    /**
+     * The ID of the professor.
+     */
+    private int professorId;
+
+    /**
+     * The maximum number of hours per week requested by the professor.
+     */
+    private int maxRequestedHours;
+
+    /**
+     * The courses selected by the professor, in order of preference.
+     */
+    private ArrayList<CourseSelection> courseSelections;
+
+    /**
+     * Parameterized constructor for the ProfessorSelection class.
+     *
+     * @param professorId       The ID of the professor.
+     * @param maxRequestedHours The maximum number of hours per week requested by the professor.
+     * @param courseSelections  The courses selected by the professor, in order of preference.
+     * @throws NullPointerException If the list of course selections is null.
+     */
+    public ProfessorSelection(int professorId, int maxRequestedHours, ArrayList<CourseSelection> courseSelections) {
+        if (courseSelections == null) {
+            System.out.println("Course selections cannot be null.");
+            throw new NullPointerException("Course selections cannot be null.");
+        }
+        this.professorId = professorId;
+        this.maxRequestedHours = maxRequestedHours;
+        this.courseSelections = courseSelections;
+    }
+
+    /**
+     * Retrieves the ID of the professor.
+     *
+     * @return The professor's ID.
+     */
+    public int getProfessorId() {
+        return this.professorId;
+    }
+
+    /**
+     * Retrieves the maximum number of hours per week requested by the professor.
+     *
+     * @return The maximum requested hours.
+     */
+    public int getMaxRequestedHours() {
+        return this.maxRequestedHours;
+    }
+
+    /**
+     * Retrieves the courses selected by the professor, in order of preference.
+     *
+     * @return The list of course selections.
+     */
+    public ArrayList<CourseSelection> getCourseSelections() {
+        return this.courseSelections;
+    }
+
+    // toString method
+    /**
+     * Returns a string representation of the ProfessorSelection object.
+     *
+     * @return A string representation of the ProfessorSelection object.
+     */
+    @Override
+    public String toString() {
+        return "ProfessorSelection = {" + "professorId = " + this.professorId + ", maxRequestedHours = " + this.maxRequestedHours + ", courseSelections = " + this.courseSelections + "}";
+    }
+}
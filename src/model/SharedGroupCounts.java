@@ -0,0 +1,75 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * SharedGroupCounts holds the remaining number of groups of each course of a course catalog in an AtomicIntegerArray, so other threads
+ * can read the counts without a lock while one thread assigns groups.
+ * <p>
+ * Only one thread may assign groups (the counts are not claimed with compare-and-set, so writers are not arbitrated); every count it writes is visible to the reading
+ * threads as soon as it is written. The counts are a copy: the counts of the catalog (and of its Course objects) are not changed by them.
+ */
+public class SharedGroupCounts implements GroupCounts {
+
+    private final CourseCatalog courseCatalog; // The catalog whose courses are counted (only read, for the course IDs).
+    private final AtomicIntegerArray remainingGroups; // Remaining number of groups of each course, by catalog index.
+
+    /**
+     * Constructs the shared counts starting from the current remaining number of groups of every course of a catalog.
+     *
+     * @param courseCatalog The course catalog.
+     * @throws NullPointerException If the course catalog is null.
+     */
+    public SharedGroupCounts(CourseCatalog courseCatalog) {
+
+        if (courseCatalog == null) {
+            System.out.println("Course catalog cannot be null.");
+            throw new NullPointerException("Course catalog cannot be null.");
+        }
+
+        this.courseCatalog = courseCatalog;
+        this.remainingGroups = new AtomicIntegerArray(courseCatalog.getSize());
+        for (int index = 0; index < courseCatalog.getSize(); index++) {
+            this.remainingGroups.set(index, courseCatalog.getRemainingGroups(index));
+        }
+    }
+
+    /**
+     * Returns the number of courses counted.
+     *
+     * @return The number of courses.
+     */
+    public int getSize() {
+        return this.remainingGroups.length();
+    }
+
+    /**
+     * Retrieves the remaining number of groups of a course.
+     *
+     * @param index The index of the course in the course catalog.
+     * @return The remaining number of groups.
+     */
+    @Override
+    public int getRemainingGroups(int index) {
+        return this.remainingGroups.get(index);
+    }
+
+    /**
+     * Assigns groups of a course. Must only be called by the thread assigning the groups.
+     *
+     * @param index          The index of the course in the course catalog.
+     * @param numberOfGroups The number of groups assigned.
+     * @throws RuntimeException If the course does not have enough remaining groups.
+     */
+    @Override
+    public void assignGroups(int index, int numberOfGroups) {
+
+        int remaining = this.remainingGroups.get(index) - numberOfGroups;
+        if (remaining < 0) {
+            System.out.println("Not enough groups remaining for course " + this.courseCatalog.getCourse(index).getId() + ".");
+            throw new RuntimeException("Invalid number of groups.");
+        }
+
+        this.remainingGroups.set(index, remaining);
+    }
+}
@@ -0,0 +1,88 @@
+package scenario;
+
+import model.GroupCounts;
+
+/**
+ * GroupCountOverlay is a copy-on-write array of group counts. Forking an overlay is free: both overlays share the same array until
+ * one of them assigns or changes groups, and then only this one copies the array (a single primitive array copy, no Course object).
+ * <p>
+ * An overlay is not thread-safe, but overlays sharing an array can be used by different threads, since a shared array is never written.
+ */
+public class GroupCountOverlay implements GroupCounts {
+
+    private int[] groups; // Remaining number of groups of each course, by course index.
+    private boolean owned; // true if the array belongs to this overlay only and can be written.
+
+    /**
+     * Constructs an overlay over an array of group counts, which is never written (it is copied on the first change).
+     *
+     * @param baseGroups The remaining number of groups of each course, by course index.
+     */
+    public GroupCountOverlay(int[] baseGroups) {
+        this.groups = baseGroups;
+        this.owned = false;
+    }
+
+    /**
+     * Creates an overlay starting from the current group counts of this one. Later changes of either overlay are not seen by the other.
+     *
+     * @return The new overlay.
+     */
+    public GroupCountOverlay fork() {
+        // From now on, the array is shared: the next change of this overlay copies it too.
+        this.owned = false;
+        return new GroupCountOverlay(this.groups);
+    }
+
+    /**
+     * Retrieves the remaining number of groups of a course.
+     *
+     * @param index The index of the course in the course catalog.
+     * @return The remaining number of groups.
+     */
+    @Override
+    public int getRemainingGroups(int index) {
+        return this.groups[index];
+    }
+
+    /**
+     * Assigns groups of a course: the remaining number of groups is decreased.
+     *
+     * @param index          The index of the course in the course catalog.
+     * @param numberOfGroups The number of groups assigned.
+     * @throws RuntimeException If the course does not have enough remaining groups.
+     */
+    @Override
+    public void assignGroups(int index, int numberOfGroups) {
+
+        int remaining = this.groups[index] - numberOfGroups;
+        if (remaining < 0) {
+            System.out.println("Not enough groups remaining for course index " + index + ".");
+            throw new RuntimeException("Invalid number of groups.");
+        }
+
+        setRemainingGroups(index, remaining);
+    }
+
+    /**
+     * Sets the remaining number of groups of a course.
+     *
+     * @param index          The index of the course in the course catalog.
+     * @param numberOfGroups The remaining number of groups.
+     * @throws RuntimeException If the number of groups is negative.
+     */
+    public void setRemainingGroups(int index, int numberOfGroups) {
+
+        if (numberOfGroups < 0) {
+            System.out.println("Number of groups cannot be negative.");
+            throw new RuntimeException("Invalid number of groups.");
+        }
+
+        // Copy the shared array before the first change.
+        if (!this.owned) {
+            this.groups = this.groups.clone();
+            this.owned = true;
+        }
+        this.groups[index] = numberOfGroups;
+    }
+}
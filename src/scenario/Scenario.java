@@ -0,0 +1,151 @@
+package scenario;
+
+import matching.GreedyAssignmentEngine;
+import model.Assignment;
+import model.CourseCatalog;
+import model.Professor;
+import model.ProfessorSelection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A Scenario is a what-if variant of a ScenarioBase: some courses get a different number of groups and some professors a different
+ * maximum number of hours per week. Running the scenario applies the greedy algorithm to these changes and returns the assignment,
+ * without changing the department or the Course objects of the catalog.
+ * <p>
+ * A scenario only stores its own changes (the group counts are a copy-on-write overlay of the base), so creating one is cheap.
+ * A scenario is meant to be used by one thread, but different scenarios of the same base can run concurrently.
+ */
+public class Scenario {
+
+    private final ScenarioBase base; // The base of the scenario.
+    private final GroupCountOverlay groupCounts; // Group counts of the courses with the changes of the scenario.
+    private final HashMap<Integer, Integer> maxHoursById; // Maximum number of hours per week of the professors whose limit changed.
+
+    /**
+     * Constructs a scenario without any change from its base.
+     *
+     * @param base The base of the scenario.
+     */
+    Scenario(ScenarioBase base) {
+        this.base = base;
+        this.groupCounts = base.newGroupCounts();
+        this.maxHoursById = new HashMap<>();
+    }
+
+    /**
+     * Constructs a copy of a scenario, which can then be changed independently.
+     *
+     * @param copyScenario The scenario to be copied.
+     */
+    public Scenario(Scenario copyScenario) {
+        this.base = copyScenario.base;
+        this.groupCounts = copyScenario.groupCounts.fork();
+        this.maxHoursById = new HashMap<>(copyScenario.maxHoursById);
+    }
+
+    /**
+     * Sets the number of groups of a course in this scenario.
+     *
+     * @param courseId       The ID of the course.
+     * @param numberOfGroups The number of groups of the course.
+     * @throws RuntimeException If the course is unknown or the number of groups is negative.
+     */
+    public void setNumOfGroups(String courseId, int numberOfGroups) {
+        this.groupCounts.setRemainingGroups(indexOf(courseId), numberOfGroups);
+    }
+
+    /**
+     * Adds groups to a course in this scenario (a negative number removes groups).
+     *
+     * @param courseId       The ID of the course.
+     * @param numberOfGroups The number of groups to be added.
+     * @throws RuntimeException If the course is unknown or it would have a negative number of groups.
+     */
+    public void addGroups(String courseId, int numberOfGroups) {
+        int index = indexOf(courseId);
+        this.groupCounts.setRemainingGroups(index, this.groupCounts.getRemainingGroups(index) + numberOfGroups);
+    }
+
+    /**
+     * Retrieves the number of groups of a course in this scenario, before the assignment.
+     *
+     * @param courseId The ID of the course.
+     * @return The number of groups of the course.
+     * @throws RuntimeException If the course is unknown.
+     */
+    public int getNumOfGroups(String courseId) {
+        return this.groupCounts.getRemainingGroups(indexOf(courseId));
+    }
+
+    /**
+     * Sets the maximum number of hours per week a professor can be assigned in this scenario (GreedyAssignmentEngine.MAX_HOURS otherwise).
+     *
+     * @param professorId The ID of the professor.
+     * @param maxHours    The maximum number of hours per week.
+     * @throws RuntimeException If the maximum number of hours is negative.
+     */
+    public void setMaxHours(int professorId, int maxHours) {
+
+        if (maxHours < 0) {
+            System.out.println("Maximum number of hours cannot be negative.");
+            throw new RuntimeException("Invalid number of hours.");
+        }
+
+        this.maxHoursById.put(professorId, maxHours);
+    }
+
+    /**
+     * Runs the greedy algorithm on this scenario. The scenario itself is not changed, so it can be run again or copied and changed.
+     *
+     * @return The assignment of the scenario.
+     * @throws RuntimeException If there is an error while matching courses to professors.
+     */
+    public ScenarioResult run() {
+
+        CourseCatalog courseCatalog = this.base.getCourseCatalog();
+        GroupCountOverlay remainingGroups = this.groupCounts.fork();
+        HashMap<Integer, ArrayList<Assignment>> affectedCourses = new HashMap<>();
+
+        for (Professor professor : this.base.getOrderedProfessors()) {
+
+            try {
+                ProfessorSelection selection = this.base.getSelection(professor.getId());
+                if (selection == null) {
+                    continue;
+                }
+
+                int maxHours = this.maxHoursById.getOrDefault(professor.getId(), GreedyAssignmentEngine.MAX_HOURS);
+                ArrayList<Assignment> listOfAffectedCourses = GreedyAssignmentEngine.selectCourses(professor, courseCatalog, remainingGroups, selection, maxHours);
+                if (listOfAffectedCourses != null) {
+                    affectedCourses.put(professor.getId(), listOfAffectedCourses);
+                }
+            } catch (Exception exception) {
+                // Catch any exceptions that occur during the process.
+                System.out.println("Error: " + exception.getMessage());
+                throw new RuntimeException(exception.getMessage());
+            }
+        }
+
+        return new ScenarioResult(courseCatalog, remainingGroups, affectedCourses);
+    }
+
+    /**
+     * Retrieves the index of a course in the course catalog.
+     *
+     * @param courseId The ID of the course.
+     * @return The index of the course.
+     * @throws RuntimeException If the course is unknown.
+     */
+    private int indexOf(String courseId) {
+
+        int index = this.base.getCourseCatalog().indexOf(courseId);
+        if (index < 0) {
+            System.out.println("Unknown course ID: " + courseId);
+            throw new RuntimeException("Unknown course ID: " + courseId);
+        }
+
+        return index;
+    }
+}
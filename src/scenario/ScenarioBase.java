@@ -0,0 +1,107 @@
+package scenario;
+
+import io.SelectionSource;
+import model.CourseCatalog;
+import model.Department;
+import model.Professor;
+import model.ProfessorPriorityKey;
+import model.ProfessorSelection;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * ScenarioBase is the immutable starting point of what-if scenarios: the group counts of the courses before any assignment,
+ * the professors in priority order and their selections, all captured once from a loaded department.
+ * <p>
+ * Any number of scenarios (see Scenario) can be created from the same base and run concurrently: a scenario never writes to the base,
+ * it keeps its own changes in copy-on-write overlays. The department must not be changed or assigned while scenarios are running,
+ * since the scenarios read its course catalog and professors.
+ */
+public class ScenarioBase {
+
+    private final CourseCatalog courseCatalog; // The catalog of the courses (only read).
+    private final int[] baseGroups; // Remaining number of groups of each course when the base was created (never written).
+    private final List<Professor> orderedProfessors; // The professors in priority order.
+    private final HashMap<Integer, ProfessorSelection> selections; // Selection of each professor, keyed by ID (missing if no selection).
+
+    /**
+     * Captures the base of the scenarios from a department whose courses are not assigned yet.
+     * Every selection is read once here, so running a scenario does not read any file.
+     *
+     * @param department      The department containing the courses and professors.
+     * @param selectionSource The source providing the selection of each professor.
+     * @throws RuntimeException If a selection cannot be read.
+     */
+    public ScenarioBase(Department department, SelectionSource selectionSource) {
+
+        this.courseCatalog = department.getCourseCatalog();
+        this.baseGroups = new int[this.courseCatalog.getSize()];
+        for (int index = 0; index < this.baseGroups.length; index++) {
+            this.baseGroups[index] = this.courseCatalog.getRemainingGroups(index);
+        }
+
+        this.orderedProfessors = Collections.unmodifiableList(ProfessorPriorityKey.sortByPriority(department.getListOfProfs()));
+        this.selections = new HashMap<>();
+
+        try {
+            for (Professor professor : this.orderedProfessors) {
+                ProfessorSelection selection = selectionSource.getSelection(professor.getId());
+                if (selection != null) {
+                    this.selections.put(professor.getId(), selection);
+                }
+            }
+        } catch (Exception exception) {
+            // Catch any exceptions that occur during the process.
+            System.out.println("Error: " + exception.getMessage());
+            throw new RuntimeException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Creates a new scenario without any change from the base.
+     *
+     * @return The new scenario.
+     */
+    public Scenario newScenario() {
+        return new Scenario(this);
+    }
+
+    /**
+     * Retrieves the course catalog of the department.
+     *
+     * @return The course catalog (only to be read).
+     */
+    public CourseCatalog getCourseCatalog() {
+        return this.courseCatalog;
+    }
+
+    /**
+     * Retrieves the professors in priority order.
+     *
+     * @return The unmodifiable list of professors.
+     */
+    public List<Professor> getOrderedProfessors() {
+        return this.orderedProfessors;
+    }
+
+    /**
+     * Retrieves the selection of a professor.
+     *
+     * @param professorId The ID of the professor.
+     * @return The selection, or null if the professor has no selection.
+     */
+    public ProfessorSelection getSelection(int professorId) {
+        return this.selections.get(professorId);
+    }
+
+    /**
+     * Creates copy-on-write group counts starting from the base group counts.
+     *
+     * @return The new group counts.
+     */
+    GroupCountOverlay newGroupCounts() {
+        return new GroupCountOverlay(this.baseGroups);
+    }
+}
@@ -0,0 +1,68 @@
+package scenario;
+
+import model.Assignment;
+import model.CourseCatalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * ScenarioResult is the assignment computed by running a scenario: the courses assigned to each professor and the groups left in
+ * each course. It plays the role of the listOfAffectedCourses of the professors and of the numOfGroups of the courses, which are
+ * shared by all the scenarios and therefore never changed by them.
+ */
+public class ScenarioResult {
+
+    private final CourseCatalog courseCatalog; // The catalog of the courses (only read).
+    private final GroupCountOverlay remainingGroups; // Groups left in each course after the assignment.
+    private final HashMap<Integer, ArrayList<Assignment>> affectedCourses; // Courses assigned to each professor, keyed by ID (missing if none).
+
+    /**
+     * Constructs the result of a scenario.
+     *
+     * @param courseCatalog   The catalog of the courses.
+     * @param remainingGroups The groups left in each course after the assignment.
+     * @param affectedCourses The courses assigned to each professor, keyed by ID.
+     */
+    ScenarioResult(CourseCatalog courseCatalog, GroupCountOverlay remainingGroups, HashMap<Integer, ArrayList<Assignment>> affectedCourses) {
+        this.courseCatalog = courseCatalog;
+        this.remainingGroups = remainingGroups;
+        this.affectedCourses = affectedCourses;
+    }
+
+    /**
+     * Retrieves the courses assigned to a professor in the scenario.
+     *
+     * @param professorId The ID of the professor.
+     * @return The assignments (course and number of groups assigned), or null if no course is assigned.
+     */
+    public ArrayList<Assignment> getListOfAffectedCourses(int professorId) {
+        return this.affectedCourses.get(professorId);
+    }
+
+    /**
+     * Retrieves the number of groups left in a course after the assignment of the scenario.
+     *
+     * @param courseId The ID of the course.
+     * @return The remaining number of groups, or -1 if the course is unknown.
+     */
+    public int getRemainingGroups(String courseId) {
+        int index = this.courseCatalog.indexOf(courseId);
+        return index < 0 ? -1 : this.remainingGroups.getRemainingGroups(index);
+    }
+
+    /**
+     * Computes the total number of groups assigned in the scenario.
+     *
+     * @return The number of groups assigned.
+     */
+    public int getAssignedGroups() {
+        int assignedGroups = 0;
+        for (ArrayList<Assignment> listOfAffectedCourses : this.affectedCourses.values()) {
+            for (Assignment assignment : listOfAffectedCourses) {
+                assignedGroups += assignment.getNumOfGroups();
+            }
+        }
+        return assignedGroups;
+    }
+}
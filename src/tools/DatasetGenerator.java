@@ -0,0 +1,301 @@
+package tools;
+
+import io.TextSelectionSource;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * DatasetGenerator writes a large synthetic department in the formats of the Text_files directory: Professors.txt, Courses.txt and
+ * one {@code <professorId>_select.txt} file per professor. The same seed always gives the same files, so a slowdown can be reproduced.
+ * <p>
+ * The data is skewed like a real department: the disciplines follow a Zipf distribution (a few disciplines have most of the courses
+ * and professors), and inside a discipline a few popular courses appear in most selections, so professors compete for their groups.
+ * A few professors have no selection file, and some selected courses are outside the professor's disciplines, as in real selections.
+ * <p>
+ * The files are written one line at a time, so 1,000,000 professors do not need to fit in memory.
+ * <p>
+ * Run with: {@code java -cp <classes> tools.DatasetGenerator <outputDirectory> [professors] [courses] [disciplines] [skew] [seed]}
+ */
+public class DatasetGenerator {
+
+    private static final int FIRST_PROFESSOR_ID = 1000; // ID of the first professor.
+    private static final int[] TOTAL_HOURS = {45, 60, 75, 90}; // Possible total numbers of hours of a course.
+    private static final LocalDate FIRST_HIRING_DATE = LocalDate.of(1980, 1, 1); // Earliest hiring date.
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 1, 1); // Date at which the seniority is computed.
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy"); // Format of the hiring dates.
+    private static final double SELECTION_FILE_RATE = 0.97; // Fraction of the professors having a selection file.
+    private static final double OWN_DISCIPLINE_RATE = 0.85; // Fraction of the selected courses in the professor's disciplines.
+    private static final String[] FIRST_NAMES = {"Michelle", "Mihai", "Salar", "Sophie", "Karim", "Julie", "Antoine", "Mei", "Omar", "Lucie",
+            "David", "Nadia", "Pierre", "Fatima", "Marc", "Elena", "Samuel", "Amira", "Hugo", "Ines"};
+    private static final String[] LAST_NAMES = {"Khalife", "Maftei", "Nasr Azadi", "Tremblay", "Gagnon", "Roy", "Nguyen", "Haddad", "Cote",
+            "Bouchard", "Singh", "Lavoie", "Fortin", "Chen", "Morin", "Pelletier", "Diallo", "Girard", "Lopez", "Caron"};
+    private static final String[] TITLE_WORDS = {"Programming", "Databases", "Networks", "Web Development", "Algorithms", "Operating Systems",
+            "Security", "Mobile Applications", "Information Systems", "Data Structures", "Software Testing", "Cloud Computing"};
+    private static final String[] TITLE_LEVELS = {"Introduction to", "Advanced", "Applied", "Topics in", "Fundamentals of"};
+
+    private final int professorCount; // Number of professors.
+    private final int courseCount; // Number of courses.
+    private final int disciplineCount; // Number of disciplines (IN1, IN2, ...).
+    private final double skew; // Exponent of the Zipf distributions (0 is uniform, larger values are more skewed).
+    private final long seed; // Seed of the random number generator.
+
+    public static void main(String[] args) {
+
+        if (args.length < 1) {
+            System.out.println("Usage: java tools.DatasetGenerator <outputDirectory> [professors] [courses] [disciplines] [skew] [seed]");
+            return;
+        }
+
+        int professorCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int courseCount = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(1, professorCount / 2);
+        int disciplineCount = args.length > 3 ? Integer.parseInt(args[3]) : 40;
+        double skew = args.length > 4 ? Double.parseDouble(args[4]) : 1.0;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+
+        try {
+            long start = System.nanoTime();
+            new DatasetGenerator(professorCount, courseCount, disciplineCount, skew, seed).write(Path.of(args[0]));
+            System.out.printf("Wrote %d professors and %d courses to %s in %.1f s.%n", professorCount, courseCount, args[0], (System.nanoTime() - start) / 1e9);
+        } catch (Exception exception) {
+            System.out.println("Error = " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Constructs a generator.
+     *
+     * @param professorCount  The number of professors.
+     * @param courseCount     The number of courses.
+     * @param disciplineCount The number of disciplines.
+     * @param skew            The exponent of the Zipf distributions of the disciplines and of the course popularity (0 is uniform).
+     * @param seed            The seed of the random number generator.
+     * @throws RuntimeException If a count is not positive or the skew is negative.
+     */
+    public DatasetGenerator(int professorCount, int courseCount, int disciplineCount, double skew, long seed) {
+
+        if (professorCount <= 0 || courseCount <= 0 || disciplineCount <= 0) {
+            System.out.println("The numbers of professors, courses and disciplines must be positive.");
+            throw new RuntimeException("Invalid dataset size.");
+        }
+        if (skew < 0) {
+            System.out.println("The skew cannot be negative.");
+            throw new RuntimeException("Invalid skew.");
+        }
+
+        this.professorCount = professorCount;
+        this.courseCount = courseCount;
+        this.disciplineCount = disciplineCount;
+        this.skew = skew;
+        this.seed = seed;
+    }
+
+    /**
+     * Retrieves the ID of a generated professor.
+     *
+     * @param index The index of the professor (0 for the first one).
+     * @return The ID of the professor.
+     */
+    public static int professorId(int index) {
+        return FIRST_PROFESSOR_ID + index;
+    }
+
+    /**
+     * Retrieves the ID of a generated course, in the style of the college course codes (for example 420AB0AS).
+     *
+     * @param index The index of the course (0 for the first one).
+     * @return The ID of the course.
+     */
+    public static String courseId(int index) {
+        int letters = index % 676;
+        return "420" + (char) ('A' + letters / 26) + (char) ('A' + letters % 26) + (index / 676) + "AS";
+    }
+
+    /**
+     * Writes the files of the dataset into a directory, which is created if needed.
+     * To avoid mixing datasets (or overwriting the sample files), the directory must not contain any file.
+     *
+     * @param directory The output directory.
+     * @throws IOException      If a file cannot be written.
+     * @throws RuntimeException If the directory is not empty.
+     */
+    public void write(Path directory) throws IOException {
+
+        Files.createDirectories(directory);
+        String[] existingFiles = directory.toFile().list();
+        if (existingFiles != null && existingFiles.length > 0) {
+            System.out.println("The output directory must be empty: " + directory);
+            throw new RuntimeException("The output directory must be empty: " + directory);
+        }
+
+        Random random = new Random(this.seed);
+        ZipfSampler disciplineSampler = new ZipfSampler(this.disciplineCount, this.skew);
+
+        // Courses: the discipline of each course follows the Zipf distribution.
+        int[] courseDisciplines = new int[this.courseCount];
+        int[] coursesPerDiscipline = new int[this.disciplineCount];
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("Courses.txt"), Charset.defaultCharset())) {
+            for (int c = 0; c < this.courseCount; c++) {
+                int discipline = disciplineSampler.sample(random);
+                courseDisciplines[c] = discipline;
+                coursesPerDiscipline[discipline]++;
+
+                String title = TITLE_LEVELS[random.nextInt(TITLE_LEVELS.length)] + " " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + (c + 1);
+                writer.write(courseId(c) + " : " + title + " : " + disciplineCode(discipline) + " : "
+                        + TOTAL_HOURS[random.nextInt(TOTAL_HOURS.length)] + " : " + (1 + random.nextInt(6)));
+                writer.newLine();
+            }
+        }
+
+        // Courses of each discipline, the first ones being the most popular.
+        int[][] disciplineCourses = new int[this.disciplineCount][];
+        ZipfSampler[] popularitySamplers = new ZipfSampler[this.disciplineCount];
+        for (int d = 0; d < this.disciplineCount; d++) {
+            disciplineCourses[d] = new int[coursesPerDiscipline[d]];
+            popularitySamplers[d] = coursesPerDiscipline[d] == 0 ? null : new ZipfSampler(coursesPerDiscipline[d], this.skew);
+        }
+        int[] filled = new int[this.disciplineCount];
+        for (int c = 0; c < this.courseCount; c++) {
+            disciplineCourses[courseDisciplines[c]][filled[courseDisciplines[c]]++] = c;
+        }
+        ZipfSampler coursePopularitySampler = new ZipfSampler(this.courseCount, this.skew);
+
+        // Professors and their selection files.
+        long referenceDay = REFERENCE_DATE.toEpochDay();
+        int hiringDays = (int) ChronoUnit.DAYS.between(FIRST_HIRING_DATE, REFERENCE_DATE);
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("Professors.txt"), Charset.defaultCharset())) {
+            for (int p = 0; p < this.professorCount; p++) {
+
+                int id = professorId(p);
+                String name = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                LocalDate hiringDate = FIRST_HIRING_DATE.plusDays(random.nextInt(hiringDays));
+
+                // The seniority is close to the years of service (part-time years count less), with two decimals.
+                double years = (referenceDay - hiringDate.toEpochDay()) / 365.25;
+                double seniorityLevel = Math.max(0.01, Math.round(years * (0.8 + 0.2 * random.nextDouble()) * 100) / 100.0);
+
+                int[] disciplines = sampleDistinct(disciplineSampler, Math.min(this.disciplineCount, 1 + random.nextInt(6)), random);
+                StringBuilder disciplineCodes = new StringBuilder();
+                for (int discipline : disciplines) {
+                    disciplineCodes.append(disciplineCodes.length() == 0 ? "" : ",").append(disciplineCode(discipline));
+                }
+
+                writer.write(id + ": " + name + " : " + seniorityLevel + " : " + hiringDate.format(DATE_FORMATTER) + " : " + disciplineCodes);
+                writer.newLine();
+
+                if (random.nextDouble() < SELECTION_FILE_RATE) {
+                    writeSelection(TextSelectionSource.getSelectionFile(directory.toString(), id), disciplines, disciplineCourses,
+                            popularitySamplers, coursePopularitySampler, random);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the selection file of a professor: the maximum number of hours, then one {@code courseId,groups} line per selected course.
+     *
+     * @param file                    The selection file.
+     * @param disciplines             The disciplines of the professor.
+     * @param disciplineCourses       The courses of each discipline, the most popular first.
+     * @param popularitySamplers      The popularity distribution of the courses of each discipline (null if it has no course).
+     * @param coursePopularitySampler The popularity distribution of all the courses.
+     * @param random                  The random number generator.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeSelection(File file, int[] disciplines, int[][] disciplineCourses, ZipfSampler[] popularitySamplers,
+                                ZipfSampler coursePopularitySampler, Random random) throws IOException {
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset())) {
+            writer.write(String.valueOf(10 + random.nextInt(31)));
+            writer.newLine();
+
+            int lineCount = 3 + random.nextInt(10);
+            for (int line = 0; line < lineCount; line++) {
+                int discipline = disciplines[random.nextInt(disciplines.length)];
+                int course;
+                if (random.nextDouble() < OWN_DISCIPLINE_RATE && popularitySamplers[discipline] != null) {
+                    course = disciplineCourses[discipline][popularitySamplers[discipline].sample(random)];
+                }
+                else {
+                    course = coursePopularitySampler.sample(random);
+                }
+
+                // Most professors request one or two groups.
+                int requestedGroups = random.nextInt(10) < 7 ? 1 + random.nextInt(2) : 3;
+                writer.write(courseId(course) + "," + requestedGroups);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Samples distinct values from a distribution, sorted in increasing order.
+     *
+     * @param sampler The distribution.
+     * @param count   The number of distinct values (at most the number of values of the distribution).
+     * @param random  The random number generator.
+     * @return The distinct values.
+     */
+    private static int[] sampleDistinct(ZipfSampler sampler, int count, Random random) {
+
+        int[] values = new int[count];
+        int size = 0;
+        while (size < count) {
+            int value = sampler.sample(random);
+            boolean found = false;
+            for (int i = 0; i < size; i++) {
+                found |= values[i] == value;
+            }
+            if (!found) {
+                values[size++] = value;
+            }
+        }
+        Arrays.sort(values);
+
+        return values;
+    }
+
+    /**
+     * Retrieves the code of a discipline.
+     *
+     * @param discipline The index of the discipline (0 for the first one).
+     * @return The code of the discipline (IN1 for the first one).
+     */
+    private static String disciplineCode(int discipline) {
+        return "IN" + (discipline + 1);
+    }
+
+    /**
+     * Zipf distribution over the values 0 to n - 1: the probability of value k is proportional to 1 / (k + 1)^skew.
+     * A value is sampled with a binary search in the cumulative weights.
+     */
+    private static class ZipfSampler {
+
+        private final double[] cumulativeWeights; // Sum of the weights of the values 0 to k.
+
+        ZipfSampler(int n, double skew) {
+            this.cumulativeWeights = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, skew);
+                this.cumulativeWeights[k] = sum;
+            }
+        }
+
+        int sample(Random random) {
+            double target = random.nextDouble() * this.cumulativeWeights[this.cumulativeWeights.length - 1];
+            int index = Arrays.binarySearch(this.cumulativeWeights, target);
+            // Not found: the insertion point is the first value whose cumulative weight is larger than the target.
+            return index >= 0 ? index : Math.min(-index - 1, this.cumulativeWeights.length - 1);
+        }
+    }
+}